@@ -0,0 +1,118 @@
+package com.ktpm.backend.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+// So sánh kết quả JMH (-rf json) với baseline đã commit: thời gian (primaryMetric) và byte cấp phát mỗi lần gọi
+// (gc.alloc.rate.norm). Chỉ tính là chậm đi khi chênh lệch vượt cả ngưỡng lẫn sai số của hai lần đo.
+// Chạy sau benchmark trong profile jmh; chưa có baseline thì chỉ in hướng dẫn tạo
+public class BaselineComparator {
+    // JMH cũ đặt tiền tố "·" trước tên metric của profiler
+    private static final String[] ALLOCATION = {"gc.alloc.rate.norm", "·gc.alloc.rate.norm"};
+
+    public static void main(String[] args) throws IOException {
+        Path baselineFile = Path.of(args[0]);
+        Path resultFile = Path.of(args[1]);
+        double threshold = Double.parseDouble(args[2]);
+        boolean failOnRegression = Boolean.parseBoolean(args[3]);
+
+        if (!Files.exists(resultFile)) {
+            System.out.println("Không có kết quả JMH: " + resultFile);
+            return;
+        }
+        if (!Files.exists(baselineFile)) {
+            System.out.printf("Chưa có baseline. Lưu lần chạy này làm baseline:%n  cp %s %s%n", resultFile, baselineFile);
+            return;
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(mapper.readTree(baselineFile.toFile()));
+        Map<String, JsonNode> current = index(mapper.readTree(resultFile.toFile()));
+
+        int regressions = 0;
+        System.out.printf("%n%-90s %14s %14s %8s %12s%n", "Benchmark", "Baseline", "Hiện tại", "Δ", "Δ alloc");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14s%n", entry.getKey(), "(mới)", format(after.path("primaryMetric")));
+                continue;
+            }
+
+            JsonNode beforeMetric = before.path("primaryMetric");
+            JsonNode afterMetric = after.path("primaryMetric");
+            double change = relativeChange(beforeMetric, afterMetric);
+            double allocationChange = relativeChange(allocationOf(before), allocationOf(after));
+            boolean slower = change > threshold && exceedsError(beforeMetric, afterMetric);
+            boolean allocatesMore = allocationChange > threshold;
+            if (slower || allocatesMore) {
+                regressions++;
+            }
+
+            System.out.printf("%-90s %14s %14s %+7.1f%% %+11.1f%%%s%n", entry.getKey(), format(beforeMetric),
+                    format(afterMetric), change * 100, allocationChange * 100, slower || allocatesMore ? "  <-- chậm đi" : "");
+        }
+
+        System.out.printf("%n%d benchmark chậm đi hoặc cấp phát nhiều hơn quá %.0f%% so với %s%n",
+                regressions, threshold * 100, baselineFile);
+        if (regressions > 0 && failOnRegression) {
+            System.exit(1);
+        }
+    }
+
+    // Khóa: tên benchmark + tham số, vd ValidatorBenchmark.sanitizeInput {input=xss}
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> indexed = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            String name = result.path("benchmark").asText().replace("com.ktpm.backend.benchmark.", "");
+            Map<String, String> params = new TreeMap<>();
+            result.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            indexed.put(params.isEmpty() ? name : name + " " + params, result);
+        }
+        return indexed;
+    }
+
+    private static JsonNode allocationOf(JsonNode result) {
+        JsonNode secondary = result.path("secondaryMetrics");
+        for (String name : ALLOCATION) {
+            if (secondary.has(name)) {
+                return secondary.get(name);
+            }
+        }
+        return secondary.path(ALLOCATION[0]);
+    }
+
+    // Mode.AverageTime: score càng lớn càng chậm
+    private static double relativeChange(JsonNode before, JsonNode after) {
+        double baseline = before.path("score").asDouble(Double.NaN);
+        double score = after.path("score").asDouble(Double.NaN);
+        if (Double.isNaN(baseline) || Double.isNaN(score) || baseline == 0) {
+            return 0;
+        }
+        return (score - baseline) / baseline;
+    }
+
+    private static boolean exceedsError(JsonNode before, JsonNode after) {
+        double difference = after.path("score").asDouble() - before.path("score").asDouble();
+        double error = errorOf(before) + errorOf(after);
+        return difference > error;
+    }
+
+    // scoreError là NaN khi chỉ có một lần đo
+    private static double errorOf(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static String format(JsonNode metric) {
+        return String.format(Locale.ROOT, "%.3f %s", metric.path("score").asDouble(), metric.path("scoreUnit").asText());
+    }
+}
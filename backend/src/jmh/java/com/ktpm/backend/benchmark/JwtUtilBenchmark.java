@@ -0,0 +1,54 @@
+package com.ktpm.backend.benchmark;
+
+import com.ktpm.backend.utils.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// JwtUtil: ký token khi đăng nhập, xác thực ở mọi request qua JwtAuthFilter.
+// Token sai chữ ký và chuỗi rác đi qua nhánh exception của jjwt
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+    private static final String SECRET = "VGhpcy1pcy1hLXNlY3JldC1rZXktZm9yLUpXVC0yNTYtYml0IQ==";
+
+    private JwtUtil jwtUtil;
+    private UUID userId;
+    private String validToken;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET);
+        userId = UUID.randomUUID();
+        validToken = jwtUtil.generateToken(userId, "mindang1");
+        String signature = validToken.substring(validToken.lastIndexOf('.') + 1);
+        char flipped = signature.charAt(0) == 'A' ? 'B' : 'A';
+        tamperedToken = validToken.substring(0, validToken.lastIndexOf('.') + 1) + flipped + signature.substring(1);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(userId, "mindang1");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(validToken);
+    }
+
+    @Benchmark
+    public boolean validateTamperedToken() {
+        return jwtUtil.validateToken(tamperedToken);
+    }
+
+    @Benchmark
+    public boolean validateGarbage() {
+        return jwtUtil.validateToken("eyJhbGciOiJIUzI1NiJ9.not-a-token");
+    }
+}
@@ -0,0 +1,69 @@
+package com.ktpm.backend.benchmark;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Chi phí instrumentation trên mỗi lời gọi, so với gọi thẳng (baseline):
+// timer có/không percentile histogram (http.server.requests, app.service, auth.password.matches)
+// và LongAdder sau FunctionCounter (auth.jwt.verifications). Chạy nhiều thread để thấy tranh chấp
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    private Timer plainTimer;
+    private Timer histogramTimer;
+    private final LongAdder counter = new LongAdder();
+
+    @Setup
+    public void setUp() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        plainTimer = Timer.builder("benchmark.plain").register(registry);
+        histogramTimer = Timer.builder("benchmark.histogram")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+    }
+
+    @State(Scope.Thread)
+    public static class Work {
+        long value = 42;
+
+        long run() {
+            value = value * 6364136223846793005L + 1442695040888963407L;
+            return value;
+        }
+    }
+
+    @Benchmark
+    public long baseline(Work work) {
+        return work.run();
+    }
+
+    @Benchmark
+    public long timer(Work work) {
+        return plainTimer.record(work::run);
+    }
+
+    @Benchmark
+    public long timerWithHistogram(Work work) {
+        return histogramTimer.record(work::run);
+    }
+
+    @Benchmark
+    public long counter(Work work) {
+        counter.increment();
+        return work.run();
+    }
+}
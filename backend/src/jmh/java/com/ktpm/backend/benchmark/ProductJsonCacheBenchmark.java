@@ -0,0 +1,68 @@
+package com.ktpm.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktpm.backend.entity.Product;
+import com.ktpm.backend.entity.enums.Category;
+import com.ktpm.backend.utils.CachedJson;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// GET /api/products/{id}: serialize mỗi request (trước) so với copy byte đã cache (sau).
+// Cấp phát mỗi request xem ở cột gc.alloc.rate.norm (profiler gc bật sẵn trong profile jmh)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductJsonCacheBenchmark {
+
+    private ObjectMapper mapper;
+    private Product product;
+    private CachedJson cached;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = new ObjectMapper();
+        product = Product.builder()
+                .id(UUID.randomUUID())
+                .productName("Laptop Dell XPS 13")
+                .price(32_990_000)
+                .quantity(42)
+                .description("Laptop mỏng nhẹ, màn hình 13.4 inch, pin 12 giờ. ".repeat(6))
+                .category(Category.LAPTOPS)
+                .build();
+        cached = CachedJson.of(mapper.writeValueAsBytes(product));
+    }
+
+    // Buffer của servlet output stream được tái sử dụng giữa các request nên không tính vào cấp phát
+    @State(Scope.Thread)
+    public static class ResponseBody {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+    }
+
+    @Benchmark
+    public int serializeEachRequest(ResponseBody body) throws IOException {
+        body.out.reset();
+        mapper.writeValue(body.out, product);
+        return body.out.size();
+    }
+
+    @Benchmark
+    public int writeCachedJson(ResponseBody body) {
+        body.out.reset();
+        body.out.writeBytes(cached.getJson());
+        return body.out.size();
+    }
+
+    @Benchmark
+    public int writeCachedGzip(ResponseBody body) {
+        body.out.reset();
+        body.out.writeBytes(cached.getGzip());
+        return body.out.size();
+    }
+}
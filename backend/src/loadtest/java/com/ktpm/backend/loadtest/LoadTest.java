@@ -0,0 +1,93 @@
+package com.ktpm.backend.loadtest;
+
+import com.ktpm.backend.BackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+// Chạy lại các scenario k6 trong JVM: ./mvnw -Ploadtest verify -DskipTests -Dloadtest.scenario=login-load
+// Exit code 99 khi có threshold không đạt (giống k6)
+public class LoadTest {
+    private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(10);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+        Scenario scenario = Scenario.of(options);
+
+        ConfigurableApplicationContext server = options.isEmbedded() ? startServer(options.database()) : null;
+        String baseUrl = server == null ? options.baseUrl()
+                : "http://localhost:" + server.getEnvironment().getProperty("local.server.port");
+        boolean passed;
+        try (HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build()) {
+            System.out.printf("%s -> %s%n", scenario.name(), baseUrl);
+            scenario.setup(new VirtualUser(http, baseUrl, null, "setup", scenario.thinkTime()));
+
+            Metrics metrics = new Metrics();
+            List<WorkloadRunner> runners = new ArrayList<>();
+            List<Thread> threads = new ArrayList<>();
+            Instant startedAt = Instant.now();
+            long start = System.nanoTime();
+            for (Workload workload : scenario.workloads()) {
+                WorkloadRunner runner = new WorkloadRunner(workload, scenario, http, baseUrl, metrics);
+                runners.add(runner);
+                threads.add(Thread.ofPlatform().name("workload-" + workload.name()).start(runner));
+            }
+            for (Thread thread : threads) {
+                while (!thread.join(PROGRESS_INTERVAL)) {
+                    printProgress(runners, metrics, Duration.ofNanos(System.nanoTime() - start));
+                }
+            }
+
+            LoadTestReport report = new LoadTestReport(scenario, metrics,
+                    scenario.thresholds().stream().map(threshold -> threshold.evaluate(metrics)).toList(),
+                    startedAt, Duration.ofNanos(System.nanoTime() - start));
+            report.print(System.out);
+            report.write(options.reportDir());
+            System.out.printf("%nBáo cáo: %s%n", options.reportDir().toAbsolutePath());
+            passed = report.isPassed();
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+        System.exit(passed ? 0 : 99);
+    }
+
+    // h2: database in-memory tạo mới mỗi lần chạy; postgres: datasource trong application.yml
+    private static ConfigurableApplicationContext startServer(String database) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("logging.level.root", "WARN");
+        if (database.equals("h2")) {
+            properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+            properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            properties.put("spring.datasource.username", "sa");
+            properties.put("spring.datasource.password", "");
+            properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+            properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+            properties.put("spring.sql.init.mode", "never");
+        } else if (!database.equals("postgres")) {
+            throw new IllegalArgumentException("loadtest.database không hợp lệ: " + database + " (h2 | postgres)");
+        }
+        return new SpringApplicationBuilder(BackendApplication.class).properties(properties).run();
+    }
+
+    private static void printProgress(List<WorkloadRunner> runners, Metrics metrics, Duration elapsed) {
+        int vus = runners.stream().mapToInt(WorkloadRunner::getActiveVus).sum();
+        long failedIterations = runners.stream().mapToLong(WorkloadRunner::getFailedIterations).sum();
+        System.out.printf("[%4ds] VU: %d, request: %d, iteration lỗi: %d%n", elapsed.toSeconds(), vus,
+                metrics.counter("http_reqs").getCount(), failedIterations);
+    }
+}
@@ -0,0 +1,24 @@
+package com.ktpm.backend.loadtest;
+
+import java.nio.file.Path;
+
+// Đọc từ system property (profile loadtest truyền -Dloadtest.*):
+// scenario: login-load | login-stress | product-load
+// baseUrl: để trống thì tự khởi động backend trong cùng JVM với database = h2 (in-memory) hoặc postgres (application.yml)
+public record LoadTestOptions(String scenario, String baseUrl, String database, double vuScale, double timeScale,
+                              Path reportDir) {
+
+    public static LoadTestOptions fromSystemProperties() {
+        return new LoadTestOptions(
+                System.getProperty("loadtest.scenario", "login-load"),
+                System.getProperty("loadtest.baseUrl", ""),
+                System.getProperty("loadtest.database", "h2"),
+                Double.parseDouble(System.getProperty("loadtest.vuScale", "1")),
+                Double.parseDouble(System.getProperty("loadtest.timeScale", "1")),
+                Path.of(System.getProperty("loadtest.reportDir", "target/loadtest")));
+    }
+
+    public boolean isEmbedded() {
+        return baseUrl.isBlank();
+    }
+}
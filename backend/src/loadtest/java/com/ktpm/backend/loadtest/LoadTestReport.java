@@ -0,0 +1,182 @@
+package com.ktpm.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Kết quả một lần chạy: tóm tắt ra stdout (giống textSummary của k6), <scenario>.json, <scenario>.html
+// và phân phối đầy đủ của từng Trend dạng .hgrm (mở bằng HdrHistogram plotter)
+public class LoadTestReport {
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    private final Scenario scenario;
+    private final Metrics metrics;
+    private final List<Threshold.Result> results;
+    private final Instant startedAt;
+    private final Duration elapsed;
+
+    public LoadTestReport(Scenario scenario, Metrics metrics, List<Threshold.Result> results, Instant startedAt, Duration elapsed) {
+        this.scenario = scenario;
+        this.metrics = metrics;
+        this.results = results;
+        this.startedAt = startedAt;
+        this.elapsed = elapsed;
+    }
+
+    public boolean isPassed() {
+        return results.stream().allMatch(Threshold.Result::passed);
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%n%s - %s, %.1fs%n%n", scenario.name(), isPassed() ? "ĐẠT" : "KHÔNG ĐẠT", elapsed.toMillis() / 1000.0);
+        metrics.getTrends().forEach((name, trend) -> {
+            out.printf(Locale.ROOT, "  %-60s %s%n", name, summary(trend.getRaw()));
+            out.printf(Locale.ROOT, "  %-60s %s%n", "  (bù coordinated omission)", summary(trend.getCorrected()));
+        });
+        metrics.getRates().forEach((name, rate) -> out.printf(Locale.ROOT, "  %-60s %.2f%% (%d/%d)%n",
+                name, rate.getRate() * 100, rate.getPasses(), rate.getTotal()));
+        metrics.getCounters().forEach((name, counter) -> out.printf(Locale.ROOT, "  %-60s %d (%.1f/s)%n",
+                name, counter.getCount(), counter.getCount() / Math.max(0.001, elapsed.toMillis() / 1000.0)));
+
+        out.println();
+        for (Threshold.Result result : results) {
+            out.printf(Locale.ROOT, "  %s %-70s %.3f%n", result.passed() ? "✓" : "✗", result.threshold(), result.actual());
+        }
+    }
+
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory.resolve("hgrm"));
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve(scenario.name() + ".json").toFile(), toJson());
+        Files.writeString(directory.resolve(scenario.name() + ".html"), toHtml(), StandardCharsets.UTF_8);
+
+        for (Map.Entry<String, Metrics.Trend> entry : metrics.getTrends().entrySet()) {
+            String file = entry.getKey().replaceAll("[^A-Za-z0-9_.-]+", "_");
+            writeDistribution(directory.resolve("hgrm").resolve(file + ".hgrm"), entry.getValue().getRaw());
+            writeDistribution(directory.resolve("hgrm").resolve(file + ".corrected.hgrm"), entry.getValue().getCorrected());
+        }
+    }
+
+    private Map<String, Object> toJson() {
+        Map<String, Object> trends = new LinkedHashMap<>();
+        metrics.getTrends().forEach((name, trend) -> trends.put(name, Map.of(
+                "raw", stats(trend.getRaw()),
+                "corrected", stats(trend.getCorrected()))));
+        Map<String, Object> rates = new LinkedHashMap<>();
+        metrics.getRates().forEach((name, rate) -> rates.put(name, Map.of(
+                "rate", rate.getRate(), "passes", rate.getPasses(), "total", rate.getTotal())));
+        Map<String, Object> counters = new LinkedHashMap<>();
+        metrics.getCounters().forEach((name, counter) -> counters.put(name, counter.getCount()));
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("scenario", scenario.name());
+        json.put("startedAt", startedAt.toString());
+        json.put("durationSeconds", elapsed.toMillis() / 1000.0);
+        json.put("passed", isPassed());
+        json.put("thresholds", results.stream().map(result -> {
+            Map<String, Object> threshold = new LinkedHashMap<>();
+            threshold.put("metric", result.threshold().metric());
+            threshold.put("expression", result.threshold().expression());
+            threshold.put("actual", Double.isNaN(result.actual()) ? "NaN" : result.actual());
+            threshold.put("passed", result.passed());
+            return threshold;
+        }).toList());
+        json.put("trends", trends);
+        json.put("rates", rates);
+        json.put("counters", counters);
+        return json;
+    }
+
+    // Đơn vị ms như k6
+    private static Map<String, Object> stats(Histogram histogram) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", histogram.getTotalCount());
+        stats.put("avg", histogram.getMean() / 1000);
+        stats.put("min", histogram.getTotalCount() == 0 ? 0 : histogram.getMinValue() / 1000.0);
+        for (double percentile : PERCENTILES) {
+            stats.put(String.format(Locale.ROOT, "p(%s)", trim(percentile)), histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+        stats.put("max", histogram.getMaxValue() / 1000.0);
+        return stats;
+    }
+
+    private static String summary(Histogram histogram) {
+        StringBuilder summary = new StringBuilder(String.format(Locale.ROOT, "count=%d avg=%.2fms",
+                histogram.getTotalCount(), histogram.getMean() / 1000));
+        for (double percentile : PERCENTILES) {
+            summary.append(String.format(Locale.ROOT, " p(%s)=%.2fms", trim(percentile), histogram.getValueAtPercentile(percentile) / 1000.0));
+        }
+        return summary.append(String.format(Locale.ROOT, " max=%.2fms", histogram.getMaxValue() / 1000.0)).toString();
+    }
+
+    private String toHtml() {
+        StringBuilder html = new StringBuilder()
+                .append("<!DOCTYPE html>\n<html lang=\"vi\">\n<head>\n<meta charset=\"UTF-8\">\n<title>")
+                .append(scenario.name()).append("</title>\n<style>")
+                .append("body{font-family:sans-serif;margin:2em}table{border-collapse:collapse;margin-bottom:2em}")
+                .append("th,td{border:1px solid #ccc;padding:4px 8px;text-align:right}th:first-child,td:first-child{text-align:left}")
+                .append(".pass{color:#2e7d32}.fail{color:#c62828;font-weight:bold}</style>\n</head>\n<body>\n")
+                .append(String.format(Locale.ROOT, "<h1>%s <span class=\"%s\">%s</span></h1>\n<p>Bắt đầu %s, %.1fs</p>\n",
+                        scenario.name(), isPassed() ? "pass" : "fail", isPassed() ? "ĐẠT" : "KHÔNG ĐẠT",
+                        startedAt, elapsed.toMillis() / 1000.0));
+
+        html.append("<h2>Thresholds</h2>\n<table>\n<tr><th>Threshold</th><th>Thực tế</th><th></th></tr>\n");
+        for (Threshold.Result result : results) {
+            html.append(String.format(Locale.ROOT, "<tr><td>%s</td><td>%.3f</td><td class=\"%s\">%s</td></tr>\n",
+                    escape(result.threshold().toString()), result.actual(),
+                    result.passed() ? "pass" : "fail", result.passed() ? "✓" : "✗"));
+        }
+
+        html.append("</table>\n<h2>Độ trễ (ms)</h2>\n<table>\n<tr><th>Trend</th><th>count</th><th>avg</th>");
+        for (double percentile : PERCENTILES) {
+            html.append("<th>p(").append(trim(percentile)).append(")</th>");
+        }
+        html.append("<th>max</th></tr>\n");
+        metrics.getTrends().forEach((name, trend) -> {
+            html.append(row(escape(name), trend.getRaw()));
+            html.append(row("&nbsp;&nbsp;bù coordinated omission", trend.getCorrected()));
+        });
+
+        html.append("</table>\n<h2>Rate / Counter</h2>\n<table>\n<tr><th>Metric</th><th>Giá trị</th></tr>\n");
+        metrics.getRates().forEach((name, rate) -> html.append(String.format(Locale.ROOT,
+                "<tr><td>%s</td><td>%.2f%% (%d/%d)</td></tr>\n", escape(name), rate.getRate() * 100, rate.getPasses(), rate.getTotal())));
+        metrics.getCounters().forEach((name, counter) -> html.append(String.format(Locale.ROOT,
+                "<tr><td>%s</td><td>%d</td></tr>\n", escape(name), counter.getCount())));
+        return html.append("</table>\n</body>\n</html>\n").toString();
+    }
+
+    private static String row(String label, Histogram histogram) {
+        StringBuilder row = new StringBuilder(String.format(Locale.ROOT, "<tr><td>%s</td><td>%d</td><td>%.2f</td>",
+                label, histogram.getTotalCount(), histogram.getMean() / 1000));
+        for (double percentile : PERCENTILES) {
+            row.append(String.format(Locale.ROOT, "<td>%.2f</td>", histogram.getValueAtPercentile(percentile) / 1000.0));
+        }
+        return row.append(String.format(Locale.ROOT, "<td>%.2f</td></tr>\n", histogram.getMaxValue() / 1000.0)).toString();
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static String trim(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -0,0 +1,68 @@
+package com.ktpm.backend.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// k6/tests/performance/login/login-load-test.js: 100, 500 rồi 1000 VU login liên tục, mỗi mức 1 phút
+public class LoginLoadScenario implements Scenario {
+    private static final int[] LEVELS = {100, 500, 1000};
+    private static final long[] P95_DURATION = {1000, 2000, 3000};
+    private static final double[] FAILED_RATE = {0.01, 0.02, 0.03};
+    private static final long[] P95_WAITING = {800, 1500, 2500};
+
+    private final List<Workload> workloads = new ArrayList<>();
+    private final List<Threshold> thresholds = new ArrayList<>();
+    private final int userCount;
+    private List<Map<String, String>> users;
+
+    public LoginLoadScenario(LoadTestOptions options) {
+        for (int i = 0; i < LEVELS.length; i++) {
+            String name = "load_" + LEVELS[i] + "_users";
+            workloads.add(Workload.constant(name, LEVELS[i], Duration.ofMinutes(1), Duration.ofSeconds(90L * i))
+                    .scaled(options.vuScale(), options.timeScale()));
+            thresholds.add(Threshold.of(Metrics.tagged("http_req_duration", name), "p(95)<" + P95_DURATION[i]));
+            thresholds.add(Threshold.of(Metrics.tagged("http_req_failed", name), "rate<" + FAILED_RATE[i]));
+            thresholds.add(Threshold.of(Metrics.tagged("http_req_waiting", name), "p(95)<" + P95_WAITING[i]));
+            thresholds.add(Threshold.of(Metrics.tagged("scenario_requests", name), "count>0"));
+        }
+        thresholds.add(Threshold.of("total_requests", "count>0"));
+        userCount = Workload.scale(1000, options.vuScale());
+    }
+
+    @Override
+    public String name() {
+        return "login-load";
+    }
+
+    @Override
+    public List<Workload> workloads() {
+        return workloads;
+    }
+
+    @Override
+    public List<Threshold> thresholds() {
+        return thresholds;
+    }
+
+    @Override
+    public Duration thinkTime() {
+        return Duration.ofSeconds(1);
+    }
+
+    @Override
+    public void setup(VirtualUser client) throws InterruptedException {
+        users = Scenario.registerUsers(client, "usertest", userCount);
+    }
+
+    @Override
+    public void iteration(VirtualUser vu) throws InterruptedException {
+        Map<String, String> user = users.get(ThreadLocalRandom.current().nextInt(users.size()));
+        vu.post("/api/auth/login", user, Duration.ofSeconds(10));
+        vu.count("total_requests");
+        vu.count("scenario_requests");
+        vu.sleep(thinkTime());
+    }
+}
@@ -0,0 +1,70 @@
+package com.ktpm.backend.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// k6/tests/performance/login/login-stress-test.js: tăng dần tới 2500 VU trong 4 phút rồi giảm về 0.
+// successful_logins là goodput, shed là tỉ lệ bị AdaptiveConcurrencyFilter trả 503 ngay
+public class LoginStressScenario implements Scenario {
+    private static final String NAME = "stress_test";
+
+    private final Workload workload;
+    private final int userCount;
+    private List<Map<String, String>> users;
+
+    public LoginStressScenario(LoadTestOptions options) {
+        workload = Workload.ramping(NAME, List.of(
+                new Workload.Stage(Duration.ofMinutes(1), 1000),
+                new Workload.Stage(Duration.ofMinutes(1), 1500),
+                new Workload.Stage(Duration.ofMinutes(1), 2000),
+                new Workload.Stage(Duration.ofMinutes(1), 2500),
+                new Workload.Stage(Duration.ofMinutes(1), 0)))
+                .scaled(options.vuScale(), options.timeScale());
+        userCount = Workload.scale(2000, options.vuScale());
+    }
+
+    @Override
+    public String name() {
+        return "login-stress";
+    }
+
+    @Override
+    public List<Workload> workloads() {
+        return List.of(workload);
+    }
+
+    @Override
+    public List<Threshold> thresholds() {
+        return List.of(
+                Threshold.of(Metrics.tagged("http_req_duration", NAME), "p(95)<5000"),
+                Threshold.of("successful_login_duration", "p(95)<2000"),
+                Threshold.of(Metrics.tagged("http_req_failed", NAME), "rate<0.05"),
+                Threshold.of(Metrics.tagged("http_req_waiting", NAME), "p(95)<4000"),
+                Threshold.of("total_requests", "count>0"));
+    }
+
+    @Override
+    public Duration thinkTime() {
+        return Duration.ofSeconds(1);
+    }
+
+    @Override
+    public void setup(VirtualUser client) throws InterruptedException {
+        users = Scenario.registerUsers(client, "stresstest", userCount);
+    }
+
+    @Override
+    public void iteration(VirtualUser vu) throws InterruptedException {
+        Map<String, String> user = users.get(ThreadLocalRandom.current().nextInt(users.size()));
+        VirtualUser.Response response = vu.post("/api/auth/login", user, Duration.ofSeconds(15));
+        vu.count("total_requests");
+        vu.rate("shed", response.status() == 503);
+        if (response.status() == 200) {
+            vu.count("successful_logins");
+            vu.trend("successful_login_duration", response.durationMicros());
+        }
+        vu.sleep(thinkTime());
+    }
+}
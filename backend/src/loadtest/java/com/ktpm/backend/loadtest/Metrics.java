@@ -0,0 +1,103 @@
+package com.ktpm.backend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Metric theo kiểu k6: Trend (histogram, đơn vị µs), Rate (tỉ lệ true), Counter.
+// Tên có tag viết giống threshold của k6: http_req_duration{scenario_name:load_100_users}
+public class Metrics {
+    private final Map<String, Trend> trends = new ConcurrentHashMap<>();
+    private final Map<String, Rate> rates = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public static String tagged(String name, String scenarioName) {
+        return name + "{scenario_name:" + scenarioName + "}";
+    }
+
+    public Trend trend(String name) {
+        return trends.computeIfAbsent(name, key -> new Trend());
+    }
+
+    public Rate rate(String name) {
+        return rates.computeIfAbsent(name, key -> new Rate());
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    public Map<String, Trend> getTrends() {
+        return new TreeMap<>(trends);
+    }
+
+    public Map<String, Rate> getRates() {
+        return new TreeMap<>(rates);
+    }
+
+    public Map<String, Counter> getCounters() {
+        return new TreeMap<>(counters);
+    }
+
+    // raw: đúng giá trị đo được (như k6). corrected: bù coordinated omission - VU bị treo trong request chậm
+    // đã bỏ lỡ các request lẽ ra gửi mỗi expectedInterval, HdrHistogram thêm các giá trị mẫu cho những lần đó
+    public static class Trend {
+        private final Histogram raw = new ConcurrentHistogram(3);
+        private final Histogram corrected = new ConcurrentHistogram(3);
+
+        public void record(long micros, long expectedIntervalMicros) {
+            long value = Math.max(0, micros);
+            raw.recordValue(value);
+            corrected.recordValueWithExpectedInterval(value, expectedIntervalMicros);
+        }
+
+        public Histogram getRaw() {
+            return raw;
+        }
+
+        public Histogram getCorrected() {
+            return corrected;
+        }
+    }
+
+    public static class Rate {
+        private final LongAdder passes = new LongAdder();
+        private final LongAdder total = new LongAdder();
+
+        public void add(boolean value) {
+            if (value) {
+                passes.increment();
+            }
+            total.increment();
+        }
+
+        public long getPasses() {
+            return passes.sum();
+        }
+
+        public long getTotal() {
+            return total.sum();
+        }
+
+        public double getRate() {
+            long count = total.sum();
+            return count == 0 ? 0 : (double) passes.sum() / count;
+        }
+    }
+
+    public static class Counter {
+        private final LongAdder count = new LongAdder();
+
+        public void add(long value) {
+            count.add(value);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+    }
+}
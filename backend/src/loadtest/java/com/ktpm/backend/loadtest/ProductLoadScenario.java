@@ -0,0 +1,116 @@
+package com.ktpm.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// k6/tests/performance/product/product-load-test.js: mỗi iteration login rồi list, tạo, xem, sửa, xóa một sản phẩm,
+// nghỉ 1s giữa các bước; tăng dần tới 1000 VU.
+// errors ghi cả lần thành công (k6 chỉ add(1) khi lỗi nên rate của nó luôn là 1 hoặc không có dữ liệu)
+public class ProductLoadScenario implements Scenario {
+    private static final String NAME = "default";
+    private static final Map<String, String> USER = Map.of("username", "mindang1", "password", "mindang1");
+    private static final String[] CATEGORIES = {"SMARTPHONE", "LAPTOPS", "HEADPHONES", "CAMERAS"};
+    private static final int[] LIMITS = {10, 20, 50};
+    private static final String[] SORT_BY = {"id", "productName", "price"};
+
+    private final Workload workload;
+
+    public ProductLoadScenario(LoadTestOptions options) {
+        Duration stage = Duration.ofSeconds(30);
+        workload = Workload.ramping(NAME, List.of(
+                new Workload.Stage(stage, 100),
+                new Workload.Stage(stage, 200),
+                new Workload.Stage(stage, 400),
+                new Workload.Stage(stage, 600),
+                new Workload.Stage(stage, 800),
+                new Workload.Stage(stage, 1000),
+                new Workload.Stage(stage, 0)))
+                .scaled(options.vuScale(), options.timeScale());
+    }
+
+    @Override
+    public String name() {
+        return "product-load";
+    }
+
+    @Override
+    public List<Workload> workloads() {
+        return List.of(workload);
+    }
+
+    @Override
+    public List<Threshold> thresholds() {
+        return List.of(
+                Threshold.of("http_req_duration", "p(95)<1000"),
+                Threshold.of("http_req_waiting", "p(95)<900"),
+                Threshold.of("http_req_failed", "rate<0.05"),
+                Threshold.of("errors", "rate<0.1"));
+    }
+
+    @Override
+    public Duration thinkTime() {
+        return Duration.ofSeconds(1);
+    }
+
+    @Override
+    public void setup(VirtualUser client) throws InterruptedException {
+        client.post("/api/auth/register", Map.of(
+                "username", USER.get("username"),
+                "password", USER.get("password"),
+                "verifyPassword", USER.get("password")), Duration.ofSeconds(30));
+    }
+
+    @Override
+    public void iteration(VirtualUser vu) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        VirtualUser.Response login = vu.post("/api/auth/login", USER, Duration.ofSeconds(30));
+        if (login.status() != 200 || vu.getCookie("token") == null) {
+            vu.rate("errors", true);
+            return;
+        }
+
+        VirtualUser.Response list = vu.get("/api/products?page=" + random.nextInt(5)
+                + "&limit=" + LIMITS[random.nextInt(LIMITS.length)]
+                + "&sortBy=" + SORT_BY[random.nextInt(SORT_BY.length)]
+                + "&sortDir=" + (random.nextBoolean() ? "asc" : "desc"));
+        check(vu, list, "product_get_duration");
+        vu.sleep(thinkTime());
+
+        VirtualUser.Response created = vu.post("/api/products", randomProduct(random));
+        JsonNode body = created.status() == 200 ? created.json() : null;
+        String productId = body != null && body.hasNonNull("id") ? body.get("id").asText() : null;
+        vu.rate("errors", productId == null);
+        vu.trend("product_creation_duration", created.durationMicros());
+        vu.sleep(thinkTime());
+
+        if (productId != null) {
+            check(vu, vu.get("/api/products/" + productId), "product_get_duration");
+            vu.sleep(thinkTime());
+
+            check(vu, vu.put("/api/products/" + productId, randomProduct(random)), "product_update_duration");
+            vu.sleep(thinkTime());
+
+            check(vu, vu.delete("/api/products/" + productId), "product_delete_duration");
+        }
+        vu.sleep(thinkTime());
+    }
+
+    private static void check(VirtualUser vu, VirtualUser.Response response, String trend) {
+        vu.rate("errors", response.status() != 200);
+        vu.trend(trend, response.durationMicros());
+    }
+
+    private static Map<String, Object> randomProduct(ThreadLocalRandom random) {
+        int id = random.nextInt(100000);
+        return Map.of(
+                "productName", "Test Product " + id,
+                "price", random.nextInt(10000) + 100,
+                "quantity", random.nextInt(100) + 1,
+                "description", "Description for product " + id,
+                "category", CATEGORIES[random.nextInt(CATEGORIES.length)]);
+    }
+}
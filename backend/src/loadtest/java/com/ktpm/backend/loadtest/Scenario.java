@@ -0,0 +1,64 @@
+package com.ktpm.backend.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Tương ứng một file k6 trong k6/tests/performance: các workload, threshold, setup() và hàm default (iteration)
+public interface Scenario {
+
+    String name();
+
+    List<Workload> workloads();
+
+    List<Threshold> thresholds();
+
+    // Thời gian nghỉ giữa các request của một VU: khoảng cách mong đợi dùng để bù coordinated omission
+    Duration thinkTime();
+
+    void setup(VirtualUser client) throws InterruptedException;
+
+    void iteration(VirtualUser vu) throws InterruptedException;
+
+    static Scenario of(LoadTestOptions options) {
+        return switch (options.scenario()) {
+            case "login-load" -> new LoginLoadScenario(options);
+            case "login-stress" -> new LoginStressScenario(options);
+            case "product-load" -> new ProductLoadScenario(options);
+            default -> throw new IllegalArgumentException("Scenario không tồn tại: " + options.scenario()
+                    + " (login-load | login-stress | product-load)");
+        };
+    }
+
+    // Đăng ký song song vừa đủ lane auth của BulkheadFilter (8 request cùng lúc); 201 hoặc 409 (đã có) đều dùng được
+    static List<Map<String, String>> registerUsers(VirtualUser client, String prefix, int count) throws InterruptedException {
+        List<Future<Map<String, String>>> results = new ArrayList<>(count);
+        try (ExecutorService executor = Executors.newFixedThreadPool(8, Thread.ofVirtual().factory())) {
+            for (int i = 1; i <= count; i++) {
+                Map<String, String> user = Map.of("username", prefix + i, "password", "Password" + i);
+                results.add(executor.submit(() -> {
+                    VirtualUser.Response response = client.post("/api/auth/register", Map.of(
+                            "username", user.get("username"),
+                            "password", user.get("password"),
+                            "verifyPassword", user.get("password")), Duration.ofSeconds(30));
+                    return response.status() == 201 || response.status() == 409 ? user : null;
+                }));
+            }
+        }
+
+        List<Map<String, String>> users = new ArrayList<>(count);
+        for (Future<Map<String, String>> result : results) {
+            if (result.state() == Future.State.SUCCESS && result.resultNow() != null) {
+                users.add(result.resultNow());
+            }
+        }
+        if (users.isEmpty()) {
+            throw new IllegalStateException("Không đăng ký được user nào với tiền tố " + prefix);
+        }
+        return users;
+    }
+}
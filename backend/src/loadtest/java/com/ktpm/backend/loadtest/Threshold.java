@@ -0,0 +1,61 @@
+package com.ktpm.backend.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Threshold cùng cú pháp với k6: p(95)<1000 (ms), rate<0.01, count>0.
+// Percentile của Trend lấy từ histogram đã bù coordinated omission
+public record Threshold(String metric, String expression, Kind kind, double percentile, boolean lessThan, double limit) {
+    private static final Pattern EXPRESSION = Pattern.compile("(p\\((\\d+(?:\\.\\d+)?)\\)|rate|count)\\s*([<>])\\s*(\\d+(?:\\.\\d+)?)");
+
+    public enum Kind {
+        PERCENTILE,
+        RATE,
+        COUNT
+    }
+
+    public record Result(Threshold threshold, double actual, boolean passed) {
+    }
+
+    public static Threshold of(String metric, String expression) {
+        Matcher matcher = EXPRESSION.matcher(expression.trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Threshold không hợp lệ: " + expression);
+        }
+        Kind kind = matcher.group(2) != null ? Kind.PERCENTILE
+                : matcher.group(1).equals("rate") ? Kind.RATE : Kind.COUNT;
+        double percentile = matcher.group(2) != null ? Double.parseDouble(matcher.group(2)) : 0;
+        return new Threshold(metric, expression.trim(), kind, percentile, matcher.group(3).equals("<"),
+                Double.parseDouble(matcher.group(4)));
+    }
+
+    // Metric chưa có dữ liệu: k6 coi như threshold đạt, trừ count>N
+    public Result evaluate(Metrics metrics) {
+        double actual = switch (kind) {
+            case PERCENTILE -> {
+                Metrics.Trend trend = metrics.getTrends().get(metric);
+                Histogram histogram = trend == null ? null : trend.getCorrected();
+                yield histogram == null || histogram.getTotalCount() == 0
+                        ? Double.NaN : histogram.getValueAtPercentile(percentile) / 1000.0;
+            }
+            case RATE -> {
+                Metrics.Rate rate = metrics.getRates().get(metric);
+                yield rate == null || rate.getTotal() == 0 ? Double.NaN : rate.getRate();
+            }
+            case COUNT -> {
+                Metrics.Counter counter = metrics.getCounters().get(metric);
+                yield counter == null ? 0 : counter.getCount();
+            }
+        };
+        boolean passed = Double.isNaN(actual) || (lessThan ? actual < limit : actual > limit);
+        return new Result(this, actual, passed);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s: %s", metric, expression);
+    }
+}
@@ -0,0 +1,161 @@
+package com.ktpm.backend.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Một VU của k6: cookie jar riêng (xóa đầu mỗi iteration như k6), ghi http_req_duration / http_req_waiting /
+// http_req_failed / http_reqs cho cả metric chung lẫn metric có tag scenario_name.
+// metrics = null: request của setup(), không tính vào kết quả
+public class VirtualUser {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final Metrics metrics;
+    private final String scenarioName;
+    private final long expectedIntervalMicros;
+    private final Map<String, String> cookies = new ConcurrentHashMap<>();
+
+    public VirtualUser(HttpClient http, String baseUrl, Metrics metrics, String scenarioName, Duration expectedInterval) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.metrics = metrics;
+        this.scenarioName = scenarioName;
+        this.expectedIntervalMicros = expectedInterval.toNanos() / 1000;
+    }
+
+    public record Response(int status, String body, long durationMicros) {
+
+        public JsonNode json() {
+            try {
+                return body == null || body.isEmpty() ? null : MAPPER.readTree(body);
+            } catch (JsonProcessingException e) {
+                return null;
+            }
+        }
+    }
+
+    public Response get(String path) throws InterruptedException {
+        return send("GET", path, null, DEFAULT_TIMEOUT);
+    }
+
+    public Response post(String path, Object body) throws InterruptedException {
+        return send("POST", path, body, DEFAULT_TIMEOUT);
+    }
+
+    public Response post(String path, Object body, Duration timeout) throws InterruptedException {
+        return send("POST", path, body, timeout);
+    }
+
+    public Response put(String path, Object body) throws InterruptedException {
+        return send("PUT", path, body, DEFAULT_TIMEOUT);
+    }
+
+    public Response delete(String path) throws InterruptedException {
+        return send("DELETE", path, null, DEFAULT_TIMEOUT);
+    }
+
+    public String getCookie(String name) {
+        return cookies.get(name);
+    }
+
+    public void sleep(Duration duration) throws InterruptedException {
+        Thread.sleep(duration);
+    }
+
+    void newIteration() {
+        cookies.clear();
+    }
+
+    public void count(String name) {
+        if (metrics != null) {
+            metrics.counter(name).add(1);
+            metrics.counter(Metrics.tagged(name, scenarioName)).add(1);
+        }
+    }
+
+    public void rate(String name, boolean value) {
+        if (metrics != null) {
+            metrics.rate(name).add(value);
+            metrics.rate(Metrics.tagged(name, scenarioName)).add(value);
+        }
+    }
+
+    public void trend(String name, long micros) {
+        if (metrics != null) {
+            metrics.trend(name).record(micros, expectedIntervalMicros);
+            metrics.trend(Metrics.tagged(name, scenarioName)).record(micros, expectedIntervalMicros);
+        }
+    }
+
+    // Lỗi mạng / timeout: status 0 như k6. waiting đo tới lúc nhận xong header (java.net.http không tách
+    // riêng thời gian gửi request), gần đúng http_req_sending + http_req_waiting của k6
+    private Response send(String method, String path, Object body, Duration timeout) throws InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(toJson(body)));
+        if (!cookies.isEmpty()) {
+            request.header("Cookie", cookies.entrySet().stream()
+                    .map(cookie -> cookie.getKey() + "=" + cookie.getValue())
+                    .collect(Collectors.joining("; ")));
+        }
+
+        long[] headersAt = new long[1];
+        long start = System.nanoTime();
+        int status;
+        String responseBody = null;
+        try {
+            HttpResponse<String> response = http.send(request.build(), info -> {
+                headersAt[0] = System.nanoTime();
+                return HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8);
+            });
+            status = response.statusCode();
+            responseBody = response.body();
+            response.headers().allValues("Set-Cookie").forEach(this::storeCookie);
+        } catch (IOException e) {
+            status = 0;
+        }
+        long end = System.nanoTime();
+        long durationMicros = (end - start) / 1000;
+
+        trend("http_req_duration", durationMicros);
+        trend("http_req_waiting", ((headersAt[0] == 0 ? end : headersAt[0]) - start) / 1000);
+        rate("http_req_failed", status == 0 || status >= 400);
+        count("http_reqs");
+        return new Response(status, responseBody, durationMicros);
+    }
+
+    private void storeCookie(String header) {
+        for (HttpCookie cookie : HttpCookie.parse(header)) {
+            if (cookie.getMaxAge() == 0 || cookie.getValue().isEmpty()) {
+                cookies.remove(cookie.getName());
+            } else {
+                cookies.put(cookie.getName(), cookie.getValue());
+            }
+        }
+    }
+
+    private static String toJson(Object body) {
+        try {
+            return MAPPER.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
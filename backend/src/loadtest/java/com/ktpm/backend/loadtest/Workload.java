@@ -0,0 +1,59 @@
+package com.ktpm.backend.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+
+// Một scenario của k6: constant-vus (startVus = target, một stage) hoặc ramping-vus.
+// Số VU giữa hai mốc nội suy tuyến tính như executor ramping-vus
+public record Workload(String name, Duration startTime, int startVus, List<Stage> stages, Duration gracefulStop) {
+
+    public record Stage(Duration duration, int target) {
+    }
+
+    public static Workload constant(String name, int vus, Duration duration, Duration startTime) {
+        return new Workload(name, startTime, vus, List.of(new Stage(duration, vus)), Duration.ofSeconds(30));
+    }
+
+    public static Workload ramping(String name, List<Stage> stages) {
+        return new Workload(name, Duration.ZERO, 0, stages, Duration.ofSeconds(30));
+    }
+
+    public Duration duration() {
+        return stages.stream().map(Stage::duration).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    public int maxVus() {
+        return Math.max(startVus, stages.stream().mapToInt(Stage::target).max().orElse(0));
+    }
+
+    public int targetAt(Duration elapsed) {
+        int from = startVus;
+        Duration stageStart = Duration.ZERO;
+        for (Stage stage : stages) {
+            Duration stageEnd = stageStart.plus(stage.duration());
+            if (elapsed.compareTo(stageEnd) < 0) {
+                double progress = (double) elapsed.minus(stageStart).toNanos() / Math.max(1, stage.duration().toNanos());
+                return (int) Math.round(from + (stage.target() - from) * progress);
+            }
+            from = stage.target();
+            stageStart = stageEnd;
+        }
+        return 0;
+    }
+
+    // Chạy thử với ít VU / thời gian ngắn hơn: -Dloadtest.vuScale=0.1 -Dloadtest.timeScale=0.25
+    public Workload scaled(double vuScale, double timeScale) {
+        List<Stage> scaledStages = stages.stream()
+                .map(stage -> new Stage(scale(stage.duration(), timeScale), scale(stage.target(), vuScale)))
+                .toList();
+        return new Workload(name, scale(startTime, timeScale), scale(startVus, vuScale), scaledStages, gracefulStop);
+    }
+
+    private static Duration scale(Duration duration, double factor) {
+        return Duration.ofMillis(Math.round(duration.toMillis() * factor));
+    }
+
+    static int scale(int vus, double factor) {
+        return vus == 0 ? 0 : Math.max(1, (int) Math.ceil(vus * factor));
+    }
+}
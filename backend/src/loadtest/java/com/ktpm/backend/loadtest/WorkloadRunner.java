@@ -0,0 +1,108 @@
+package com.ktpm.backend.loadtest;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Điều khiển số VU của một workload: mỗi 100ms tính số VU mục tiêu, khởi động thêm VU (mỗi VU một virtual thread)
+// hoặc để VU có chỉ số >= mục tiêu dừng sau iteration hiện tại. Hết thời gian thì chờ tối đa gracefulStop
+// rồi interrupt các VU còn lại như k6
+public class WorkloadRunner implements Runnable {
+    private static final Duration TICK = Duration.ofMillis(100);
+
+    private final Workload workload;
+    private final Scenario scenario;
+    private final HttpClient http;
+    private final String baseUrl;
+    private final Metrics metrics;
+    private final AtomicInteger activeVus = new AtomicInteger();
+    private final LongAdder failedIterations = new LongAdder();
+    private volatile int target;
+
+    public WorkloadRunner(Workload workload, Scenario scenario, HttpClient http, String baseUrl, Metrics metrics) {
+        this.workload = workload;
+        this.scenario = scenario;
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.metrics = metrics;
+    }
+
+    public int getActiveVus() {
+        return activeVus.get();
+    }
+
+    public long getFailedIterations() {
+        return failedIterations.sum();
+    }
+
+    @Override
+    public void run() {
+        Thread[] vus = new Thread[workload.maxVus()];
+        try {
+            Thread.sleep(workload.startTime());
+            long startedAt = System.nanoTime();
+            Duration elapsed = Duration.ZERO;
+            while (elapsed.compareTo(workload.duration()) < 0) {
+                target = workload.targetAt(elapsed);
+                for (int index = 0; index < target; index++) {
+                    if (vus[index] == null || !vus[index].isAlive()) {
+                        int vu = index;
+                        vus[index] = Thread.ofVirtual().name(workload.name() + "-vu-" + index).start(() -> runVirtualUser(vu));
+                    }
+                }
+                Thread.sleep(TICK);
+                elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+            }
+            target = 0;
+            stop(vus);
+        } catch (InterruptedException e) {
+            target = 0;
+            for (Thread vu : vus) {
+                if (vu != null) {
+                    vu.interrupt();
+                }
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void stop(Thread[] vus) throws InterruptedException {
+        long deadline = System.nanoTime() + workload.gracefulStop().toNanos();
+        for (Thread vu : vus) {
+            if (vu == null) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !vu.join(Duration.ofNanos(remaining))) {
+                vu.interrupt();
+            }
+        }
+        for (Thread vu : vus) {
+            if (vu != null) {
+                vu.join(TimeUnit.SECONDS.toMillis(5));
+            }
+        }
+    }
+
+    private void runVirtualUser(int index) {
+        VirtualUser vu = new VirtualUser(http, baseUrl, metrics, workload.name(), scenario.thinkTime());
+        activeVus.incrementAndGet();
+        try {
+            while (index < target) {
+                vu.newIteration();
+                try {
+                    scenario.iteration(vu);
+                    vu.count("iterations");
+                } catch (RuntimeException e) {
+                    failedIterations.increment();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            activeVus.decrementAndGet();
+        }
+    }
+}
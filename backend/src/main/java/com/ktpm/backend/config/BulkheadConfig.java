@@ -0,0 +1,33 @@
+package com.ktpm.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// Chỉ bọc khi có lane cấu hình app.bulkheads.<lane>.max-connections > 0.
+// Bọc từng pool Hikari (kể cả primary/replica trong ReplicaDataSourceConfig) chứ không bọc bean "dataSource":
+// khi có replica đó là LazyConnectionDataSourceProxy, semaphore sẽ đếm proxy thay vì connection thật.
+// Ở chế độ virtual thread pool đã được VirtualThreadConfig bọc trước thành ConnectionLimitingDataSource
+@Configuration
+public class BulkheadConfig {
+
+    @Bean
+    public static BeanPostProcessor laneConnectionLimitingPostProcessor(Environment environment) {
+        Map<BulkheadLane, BulkheadSettings> settings = BulkheadSettings.bind(environment);
+        boolean anyLimit = settings.values().stream().anyMatch(limits -> limits.maxConnections() > 0);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (anyLimit && (bean instanceof HikariDataSource || bean instanceof ConnectionLimitingDataSource)) {
+                    return new LaneConnectionLimitingDataSource((DataSource) bean, settings);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.ktpm.backend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+
+// Nhóm route có bulkhead riêng; route khác (vd /api/system) không bị giới hạn
+public enum BulkheadLane {
+    AUTH,
+    PRODUCT_READ,
+    PRODUCT_WRITE;
+
+    // null khi request không thuộc lane nào
+    public static BulkheadLane of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/auth/")) {
+            return AUTH;
+        }
+        if (!path.equals("/api/products") && !path.startsWith("/api/products/")) {
+            return null;
+        }
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        // POST /_mget chỉ đọc, body dùng cho danh sách id dài
+        if (method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS
+                || path.equals("/api/products/_mget")) {
+            return PRODUCT_READ;
+        }
+        return PRODUCT_WRITE;
+    }
+}
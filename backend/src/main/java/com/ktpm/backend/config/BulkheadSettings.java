@@ -0,0 +1,32 @@
+package com.ktpm.backend.config;
+
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// app.bulkheads.<lane>.*: maxConcurrent request chạy cùng lúc, tối đa maxQueue request chờ (mỗi request chờ
+// không quá maxWaitMillis), maxConnections > 0 thì lane chỉ được mượn chừng đó connection của pool (0 = không giới hạn)
+public record BulkheadSettings(int maxConcurrent, int maxQueue, long maxWaitMillis, int maxConnections) {
+    public static final Map<BulkheadLane, BulkheadSettings> DEFAULTS = Map.of(
+            BulkheadLane.AUTH, new BulkheadSettings(8, 24, 2000, 0),
+            BulkheadLane.PRODUCT_READ, new BulkheadSettings(80, 40, 1000, 0),
+            BulkheadLane.PRODUCT_WRITE, new BulkheadSettings(12, 24, 2000, 0)
+    );
+
+    public BulkheadSettings {
+        if (maxConcurrent <= 0 || maxQueue < 0 || maxWaitMillis < 0 || maxConnections < 0) {
+            throw new IllegalArgumentException("Cấu hình bulkhead không hợp lệ");
+        }
+    }
+
+    public static Map<BulkheadLane, BulkheadSettings> bind(Environment environment) {
+        Map<BulkheadLane, BulkheadSettings> settings = new EnumMap<>(DEFAULTS);
+        settings.putAll(Binder.get(environment)
+                .bind("app.bulkheads", Bindable.mapOf(BulkheadLane.class, BulkheadSettings.class))
+                .orElse(Map.of()));
+        return settings;
+    }
+}
@@ -0,0 +1,41 @@
+package com.ktpm.backend.config;
+
+import com.ktpm.backend.filter.BulkheadFilter;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Chia pool dùng chung theo lane của request hiện tại (BulkheadFilter.currentLane()):
+// lane có maxConnections > 0 chỉ được mượn tối đa chừng đó connection, phần còn lại của pool luôn dành cho lane khác
+public class LaneConnectionLimitingDataSource extends DelegatingDataSource {
+    private final Map<BulkheadLane, DataSource> limited = new EnumMap<>(BulkheadLane.class);
+
+    public LaneConnectionLimitingDataSource(DataSource target, Map<BulkheadLane, BulkheadSettings> settings) {
+        super(target);
+        settings.forEach((lane, limits) -> {
+            if (limits.maxConnections() > 0) {
+                limited.put(lane, new ConnectionLimitingDataSource(target, limits.maxConnections(), limits.maxWaitMillis()));
+            }
+        });
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route().getConnection(username, password);
+    }
+
+    private DataSource route() {
+        BulkheadLane lane = BulkheadFilter.currentLane();
+        DataSource dataSource = lane == null ? null : limited.get(lane);
+        return dataSource == null ? obtainTargetDataSource() : dataSource;
+    }
+}
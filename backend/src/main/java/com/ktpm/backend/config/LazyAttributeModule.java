@@ -0,0 +1,63 @@
+package com.ktpm.backend.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import jakarta.persistence.Entity;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Khi serialize entity, bỏ qua thuộc tính LAZY chưa được nạp (vd Product.description trong trang danh sách).
+// Gọi getter sẽ kích hoạt lazy load: một câu SQL mỗi entity, hoặc LazyInitializationException ngoài transaction.
+// Spring Boot tự đăng ký Module bean cho mọi ObjectMapper tạo từ Jackson2ObjectMapperBuilder (JSON, Smile, CBOR)
+@Component
+public class LazyAttributeModule extends SimpleModule {
+
+    public LazyAttributeModule() {
+        super("LazyAttributeModule");
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                             List<BeanPropertyWriter> beanProperties) {
+                if (!beanDesc.getBeanClass().isAnnotationPresent(Entity.class)) {
+                    return beanProperties;
+                }
+                List<BeanPropertyWriter> writers = new ArrayList<>(beanProperties.size());
+                for (BeanPropertyWriter writer : beanProperties) {
+                    writers.add(new InitializedOnlyWriter(writer));
+                }
+                return writers;
+            }
+        });
+    }
+
+    // Tên thuộc tính JSON trùng tên thuộc tính entity (entity không đổi tên bằng @JsonProperty)
+    static class InitializedOnlyWriter extends BeanPropertyWriter {
+        InitializedOnlyWriter(BeanPropertyWriter base) {
+            super(base);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            if (Hibernate.isPropertyInitialized(bean, getName())) {
+                super.serializeAsField(bean, gen, prov);
+            }
+        }
+
+        @Override
+        public void serializeAsElement(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            if (Hibernate.isPropertyInitialized(bean, getName())) {
+                super.serializeAsElement(bean, gen, prov);
+            } else {
+                gen.writeNull();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.ktpm.backend.config;
+
+import com.ktpm.backend.utils.JwtUtil;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// Metric riêng của ứng dụng, bên cạnh những gì Actuator tự có (http.server.requests theo route template,
+// hikaricp.*, hibernate.*, app.service từ @Timed trên ProductService/AuthService).
+// Xuất ở GET /actuator/prometheus
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder jwtVerificationMetrics(JwtUtil jwtUtil) {
+        return registry -> {
+            FunctionCounter.builder("auth.jwt.verifications", jwtUtil, JwtUtil::getValidTokenCount)
+                    .tag("result", "valid")
+                    .register(registry);
+            FunctionCounter.builder("auth.jwt.verifications", jwtUtil, JwtUtil::getInvalidTokenCount)
+                    .tag("result", "invalid")
+                    .register(registry);
+        };
+    }
+
+    // ObjectProvider: MeterRegistry chỉ được lấy khi bean PasswordEncoder được tạo, không khởi tạo sớm cùng post-processor
+    @Bean
+    public static BeanPostProcessor passwordEncoderTimingPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof PasswordEncoder encoder && !(bean instanceof TimedPasswordEncoder)) {
+                    return new TimedPasswordEncoder(encoder, registry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
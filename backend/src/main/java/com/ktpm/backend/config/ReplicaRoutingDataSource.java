@@ -0,0 +1,55 @@
+package com.ktpm.backend.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// Phải được bọc trong LazyConnectionDataSourceProxy: connection thật chỉ được lấy ở câu lệnh đầu tiên,
+// lúc đó transaction đã bắt đầu và cờ read-only đã có
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public enum Route { PRIMARY, REPLICA }
+
+    private final ReplicaRoutingPolicy policy;
+    private final Object writeMarker = new Object();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaRoutingPolicy policy) {
+        this.policy = policy;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Route.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            registerWriteCommitCallback();
+            return Route.PRIMARY;
+        }
+        return policy.useReplica() ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    private void registerWriteCommitCallback() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(writeMarker)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(writeMarker, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                policy.onWriteCommitted();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(writeMarker);
+            }
+        });
+    }
+}
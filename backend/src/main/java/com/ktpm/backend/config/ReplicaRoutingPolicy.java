@@ -0,0 +1,70 @@
+package com.ktpm.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Quyết định transaction read-only có được đọc từ replica hay không:
+// - replica trễ quá maxLagMillis (hoặc không kiểm tra được) -> đọc từ primary
+// - sau mỗi transaction ghi commit, mọi lượt đọc về primary trong cửa sổ read-your-writes
+//   (không có session nên cửa sổ áp dụng cho mọi client, đủ rẻ với catalogue ít ghi nhiều đọc)
+@Slf4j
+public class ReplicaRoutingPolicy {
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final long readYourWritesMillis;
+    private final AtomicLong primaryOnlyUntil = new AtomicLong();
+
+    private volatile boolean replicaHealthy;
+    private volatile long lagMillis;
+
+    public ReplicaRoutingPolicy(JdbcTemplate replica, String lagQuery, long maxLagMillis, long readYourWritesMillis) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+        this.readYourWritesMillis = readYourWritesMillis;
+        // không có câu đo độ trễ (vd H2 khi chạy local) thì coi replica luôn theo kịp
+        this.replicaHealthy = lagQuery == null || lagQuery.isBlank();
+    }
+
+    public boolean useReplica() {
+        return replicaHealthy && System.currentTimeMillis() >= primaryOnlyUntil.get();
+    }
+
+    public void onWriteCommitted() {
+        long until = System.currentTimeMillis() + Math.max(readYourWritesMillis, lagMillis);
+        primaryOnlyUntil.accumulateAndGet(until, Math::max);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-millis:1000}")
+    public void checkLag() {
+        if (lagQuery == null || lagQuery.isBlank()) {
+            return;
+        }
+        boolean healthy;
+        try {
+            Number measured = replica.queryForObject(lagQuery, Number.class);
+            lagMillis = measured == null ? 0 : measured.longValue();
+            healthy = lagMillis <= maxLagMillis;
+        } catch (RuntimeException e) {
+            log.debug("Không đo được độ trễ replica", e);
+            healthy = false;
+        }
+        if (healthy != replicaHealthy) {
+            log.warn(healthy ? "Replica đã theo kịp (trễ {} ms), đọc lại từ replica"
+                    : "Replica trễ {} ms hoặc không phản hồi, chuyển mọi lượt đọc về primary", lagMillis);
+        }
+        replicaHealthy = healthy;
+    }
+
+    public boolean isReplicaHealthy() {
+        return replicaHealthy;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+}
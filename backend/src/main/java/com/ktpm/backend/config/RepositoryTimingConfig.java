@@ -0,0 +1,42 @@
+package com.ktpm.backend.config;
+
+import com.ktpm.backend.jfr.ProductOperationRecorder;
+import com.ktpm.backend.utils.ServerTiming;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+// Một interceptor trên mọi proxy repository Spring Data, dùng chung cho giai đoạn "db" của Server-Timing
+// và queryTime của ProductOperationEvent (JFR). Chỉ đăng ký khi bật app.server-timing.enabled hoặc
+// app.jfr.query-time, còn lại repository không có thêm interceptor nào
+@Configuration
+@ConditionalOnExpression("${app.server-timing.enabled:false} or ${app.jfr.query-time:false}")
+public class RepositoryTimingConfig {
+
+    @Bean
+    public static BeanPostProcessor repositoryTimingPostProcessor() {
+        return new RepositoryTimingPostProcessor();
+    }
+
+    // Phải chạy trước afterPropertiesSet() của factory bean, lúc proxy repository được tạo
+    private static class RepositoryTimingPostProcessor implements BeanPostProcessor {
+        // ngoài request có Server-Timing và ngoài thao tác đang được JFR ghi: chỉ đọc hai ThreadLocal
+        private static final MethodInterceptor TIMING = invocation -> {
+            try (ServerTiming.Span ignored = ServerTiming.start(ServerTiming.Stage.DB)) {
+                return ProductOperationRecorder.timeQuery(invocation);
+            }
+        };
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) {
+            if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                factoryBean.addRepositoryFactoryCustomizer(factory ->
+                        factory.addRepositoryProxyPostProcessor((proxyFactory, information) -> proxyFactory.addAdvice(TIMING)));
+            }
+            return bean;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.ktpm.backend.config;
+
+import com.ktpm.backend.filter.ServerTimingFilter;
+import com.ktpm.backend.utils.ServerTiming;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Ngay trước khi HttpMessageConverter ghi body: gắn header Server-Timing (chưa có ser, total tính đến lúc này)
+// vì body lớn sẽ commit response trước khi ServerTimingFilter kịp thêm header, rồi mở giai đoạn "ser",
+// kết thúc khi filter chain trả về ServerTimingFilter
+@ControllerAdvice
+public class ServerTimingResponseAdvice implements ResponseBodyAdvice<Object> {
+    private final boolean enabled;
+
+    public ServerTimingResponseAdvice(@Value("${app.server-timing.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request,
+                                  ServerHttpResponse response) {
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            response.getHeaders().set(ServerTimingFilter.HEADER, timing.toHeader(timing.elapsedNanos()));
+            ServerTiming.startPending(ServerTiming.Stage.SERIALIZE);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,38 @@
+package com.ktpm.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Chế độ virtual thread (spring.threads.virtual.enabled=true): Spring Boot chạy request Tomcat,
+// applicationTaskExecutor (@Async) và scheduler trên virtual thread.
+// Mỗi pool Hikari (kể cả primary/replica trong ReplicaDataSourceConfig) được bọc semaphore cùng kích thước
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingPostProcessor() {
+        return new ConnectionLimitingPostProcessor();
+    }
+
+    // Ordered: chạy trước các post-processor khác (vd BulkheadConfig) khi bean vẫn còn là HikariDataSource
+    private static class ConnectionLimitingPostProcessor implements BeanPostProcessor, Ordered {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource hikari) {
+                return new ConnectionLimitingDataSource(hikari, hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -1,17 +1,47 @@
 package com.ktpm.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktpm.backend.dto.CategoryFacetDTO;
+import com.ktpm.backend.dto.ProductChangesDTO;
+import com.ktpm.backend.dto.ProductFilterDTO;
+import com.ktpm.backend.dto.ProductIdsDTO;
+import com.ktpm.backend.dto.ProductMultiGetDTO;
+import com.ktpm.backend.dto.ProductRankingDTO;
+import com.ktpm.backend.dto.ProductSearchResultDTO;
+import com.ktpm.backend.dto.ProductSuggestionDTO;
+import com.ktpm.backend.dto.ProductWindowDTO;
+import com.ktpm.backend.entity.enums.Category;
 import com.ktpm.backend.entity.Product;
 import com.ktpm.backend.exception.ProductNotFoundException;
+import com.ktpm.backend.repository.ProductProjectionRepository;
+import com.ktpm.backend.service.ProductChangeService;
+import com.ktpm.backend.service.ProductFacetService;
+import com.ktpm.backend.service.ProductJsonCacheService;
+import com.ktpm.backend.service.ProductRankingService;
+import com.ktpm.backend.service.ProductSearchService;
 import com.ktpm.backend.service.ProductService;
+import com.ktpm.backend.service.ProductStreamService;
+import com.ktpm.backend.service.ProductSuggestService;
+import com.ktpm.backend.utils.ProductCursor;
+import com.ktpm.backend.utils.ProductExportWriter;
 import com.ktpm.backend.utils.Validator;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,19 +49,44 @@ import java.util.UUID;
 @RequestMapping("/api/products")
 @AllArgsConstructor
 public class ProductController {
+    public static final int MAX_LIMIT = 100;
+    public static final int MAX_CHANGES_LIMIT = 1000;
+    public static final int MAX_QUERY_LENGTH = 200;
+    public static final int MAX_SUGGEST_LIMIT = 10;
+    public static final int MAX_MULTI_GET_IDS = 1000;
+    private static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
     private final ProductService productService;
+    private final ProductChangeService productChangeService;
+    private final ProductStreamService productStreamService;
+    private final ProductSearchService productSearchService;
+    private final ProductSuggestService productSuggestService;
+    private final ProductFacetService productFacetService;
+    private final ProductRankingService productRankingService;
+    private final ProductJsonCacheService productJsonCacheService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public ResponseEntity<Page<Product>> getAll(
+    public ResponseEntity<Page<?>> getAll(
             @RequestParam(required = false, defaultValue = "0") Integer page,
             @RequestParam(required = false, defaultValue = "10") Integer limit,
             @RequestParam(required = false, defaultValue = "id") String sortBy,
-            @RequestParam(required = false, defaultValue = "asc") String sortDir
+            @RequestParam(required = false, defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Integer minPrice,
+            @RequestParam(required = false) Integer maxPrice,
+            @RequestParam(required = false, defaultValue = "false") Boolean inStock,
+            @RequestParam(required = false) String fields
     ) {
+        ProductFilterDTO filter = toFilter(category, minPrice, maxPrice, inStock);
+        List<String> projectedFields = fields == null ? null : toFields(fields);
         if (page < 0
                 || limit <= 0
+                || limit > MAX_LIMIT
                 || (!sortDir.equalsIgnoreCase("ASC") && !sortDir.equalsIgnoreCase("DESC"))
                 || Validator.isBlank(sortBy)
+                || filter == null
+                || (fields != null && projectedFields == null)
         ) {
             return ResponseEntity.badRequest().build();
         }
@@ -39,26 +94,180 @@ public class ProductController {
                 sortDir.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy
         ));
         try {
-            Page<Product> products = productService.getAll(pageable);
+            if (projectedFields != null) {
+                return ResponseEntity.ok(productService.getAllProjected(filter, pageable, projectedFields));
+            }
+            Page<Product> products = productService.getAll(filter, pageable);
             return ResponseEntity.ok(products);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<ProductMultiGetDTO> getProductsByIds(
+            @RequestParam List<UUID> ids
+    ) {
+        return multiGet(ids);
+    }
+
+    @PostMapping("/_mget")
+    public ResponseEntity<ProductMultiGetDTO> multiGetProducts(
+            @RequestBody ProductIdsDTO request
+    ) {
+        return multiGet(request.getIds());
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<ProductWindowDTO> scrollProducts(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false, defaultValue = "10") Integer limit,
+            @RequestParam(required = false, defaultValue = "id") String sortBy,
+            @RequestParam(required = false, defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Integer minPrice,
+            @RequestParam(required = false) Integer maxPrice,
+            @RequestParam(required = false, defaultValue = "false") Boolean inStock
+    ) {
+        ProductFilterDTO filter = toFilter(category, minPrice, maxPrice, inStock);
+        if (limit <= 0
+                || limit > MAX_LIMIT
+                || (!sortDir.equalsIgnoreCase("ASC") && !sortDir.equalsIgnoreCase("DESC"))
+                || !ProductCursor.SORTABLE_FIELDS.contains(sortBy)
+                || filter == null
+        ) {
+            return ResponseEntity.badRequest().build();
+        }
+        Sort.Direction direction = sortDir.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        try {
+            return ResponseEntity.ok(productService.scroll(filter, sortBy, direction, after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<List<CategoryFacetDTO>> getFacets() {
+        return ResponseEntity.ok(productFacetService.getFacets());
+    }
+
+    @GetMapping("/top-sellers")
+    public ResponseEntity<List<ProductRankingDTO>> getTopSellers(
+            @RequestParam(required = false, defaultValue = "10") Integer limit
+    ) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(productRankingService.getTopSellers(limit));
+    }
+
+    @GetMapping("/low-stock")
+    public ResponseEntity<List<ProductRankingDTO>> getLowStock(
+            @RequestParam(required = false, defaultValue = "10") Integer limit
+    ) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(productRankingService.getLowStock(limit));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ProductSearchResultDTO> searchProducts(
+            @RequestParam String q,
+            @RequestParam(required = false, defaultValue = "10") Integer limit
+    ) {
+        if (Validator.isBlank(q) || q.length() > MAX_QUERY_LENGTH || limit <= 0 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(productSearchService.search(q, limit));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestionDTO>> suggestProducts(
+            @RequestParam String prefix,
+            @RequestParam(required = false, defaultValue = "10") Integer limit
+    ) {
+        if (Validator.isBlank(prefix) || prefix.length() > MAX_QUERY_LENGTH || limit <= 0 || limit > MAX_SUGGEST_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(productSuggestService.suggest(prefix, limit));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping("/export")
+    public void exportProducts(
+            @RequestParam(required = false, defaultValue = ProductExportWriter.NDJSON) String format,
+            HttpServletResponse response
+    ) throws IOException {
+        if (!ProductExportWriter.isSupportedFormat(format)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        response.setContentType(ProductExportWriter.contentType(format));
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=products." + format.toLowerCase());
+
+        try (ProductExportWriter writer = ProductExportWriter.of(format, response.getOutputStream(), objectMapper)) {
+            productService.exportProducts(writer);
+        }
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ProductChangesDTO> getChanges(
+            @RequestParam(required = false, defaultValue = "0") Long since,
+            @RequestParam(required = false, defaultValue = "100") Integer limit
+    ) {
+        if (since < 0 || limit <= 0 || limit > MAX_CHANGES_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(productChangeService.getChanges(since, limit));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        return productStreamService.subscribe(lastEventId);
+    }
+
+    // JSON đi qua cache byte (ghi thẳng ra response, trả về null); CBOR/Smile vẫn qua HttpMessageConverter
     @GetMapping("/{id}")
     public ResponseEntity<Product> getProduct(
-            @PathVariable UUID id
-    ) {
+            @PathVariable UUID id,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
         if (Validator.isBlank(String.valueOf(id))) {
             return ResponseEntity.badRequest().build();
         }
         try {
+            if (prefersJson(request.getHeader(HttpHeaders.ACCEPT))) {
+                productJsonCacheService.get(id).writeTo(request, response);
+                return null;
+            }
             Optional<Product> product = productService.getProduct(id);
             return product.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
         } catch (ProductNotFoundException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
+            // body từ cache đã bắt đầu được gửi đi, không thể đổi sang 500 nữa
+            if (response.isCommitted()) {
+                throw e;
+            }
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -118,4 +327,87 @@ public class ProductController {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    private ResponseEntity<ProductMultiGetDTO> multiGet(List<UUID> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_MULTI_GET_IDS || ids.contains(null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(productService.getProducts(ids));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // JSON khi q của JSON cao nhất trong ba định dạng; bằng nhau thì định dạng nào đứng trước trong Accept thắng
+    // (chỉ có */* → JSON). q của mỗi định dạng lấy từ media range cụ thể nhất chứa nó, q=0 là không chấp nhận
+    private static boolean prefersJson(String accept) {
+        if (accept == null) {
+            return true;
+        }
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            int json = matchingRange(mediaTypes, MediaType.APPLICATION_JSON);
+            if (json < 0 || mediaTypes.get(json).getQualityValue() == 0) {
+                return false;
+            }
+            double jsonQuality = mediaTypes.get(json).getQualityValue();
+            for (MediaType binary : List.of(MediaType.APPLICATION_CBOR, APPLICATION_SMILE)) {
+                int other = matchingRange(mediaTypes, binary);
+                if (other < 0) {
+                    continue;
+                }
+                double otherQuality = mediaTypes.get(other).getQualityValue();
+                if (otherQuality > jsonQuality || (otherQuality == jsonQuality && other < json)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    // vị trí media range cụ thể nhất chứa type (application/json > application/* > */*), -1 khi không có
+    private static int matchingRange(List<MediaType> mediaTypes, MediaType type) {
+        int best = -1;
+        int bestSpecificity = -1;
+        for (int i = 0; i < mediaTypes.size(); i++) {
+            MediaType range = mediaTypes.get(i);
+            if (!range.includes(type)) {
+                continue;
+            }
+            int specificity = range.isWildcardType() ? 0 : range.isWildcardSubtype() ? 1 : 2;
+            if (specificity > bestSpecificity) {
+                best = i;
+                bestSpecificity = specificity;
+            }
+        }
+        return best;
+    }
+
+    // "id,productName,price" -> danh sách cột; null khi có cột không hợp lệ
+    private static List<String> toFields(String fields) {
+        List<String> parsed = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .distinct()
+                .toList();
+        if (parsed.isEmpty() || !ProductProjectionRepository.PROJECTABLE_FIELDS.containsAll(parsed)) {
+            return null;
+        }
+        return parsed;
+    }
+
+    // null khi tham số lọc không hợp lệ
+    private static ProductFilterDTO toFilter(String category, Integer minPrice, Integer maxPrice, Boolean inStock) {
+        if ((category != null && !Validator.isValidCategory(category))
+                || (minPrice != null && minPrice < 0)
+                || (maxPrice != null && maxPrice < 0)
+                || (minPrice != null && maxPrice != null && minPrice > maxPrice)) {
+            return null;
+        }
+        Category parsedCategory = category == null ? null : Category.valueOf(category.toUpperCase());
+        return new ProductFilterDTO(parsedCategory, minPrice, maxPrice, inStock);
+    }
 }
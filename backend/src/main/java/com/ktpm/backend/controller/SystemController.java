@@ -0,0 +1,57 @@
+package com.ktpm.backend.controller;
+
+import com.ktpm.backend.dto.BulkheadStatsDTO;
+import com.ktpm.backend.dto.CacheRegionStatsDTO;
+import com.ktpm.backend.dto.ConcurrencyLimitDTO;
+import com.ktpm.backend.dto.PinningSiteDTO;
+import com.ktpm.backend.dto.ServerTimingStatsDTO;
+import com.ktpm.backend.filter.AdaptiveConcurrencyFilter;
+import com.ktpm.backend.filter.BulkheadFilter;
+import com.ktpm.backend.filter.ServerTimingFilter;
+import com.ktpm.backend.service.CacheStatisticsService;
+import com.ktpm.backend.service.VirtualThreadPinningService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/system")
+@AllArgsConstructor
+public class SystemController {
+    private final CacheStatisticsService cacheStatisticsService;
+    private final VirtualThreadPinningService virtualThreadPinningService;
+    private final BulkheadFilter bulkheadFilter;
+    private final AdaptiveConcurrencyFilter adaptiveConcurrencyFilter;
+    private final ServerTimingFilter serverTimingFilter;
+
+    @GetMapping("/cache")
+    public ResponseEntity<List<CacheRegionStatsDTO>> getCacheStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getRegionStatistics());
+    }
+
+    @GetMapping("/concurrency")
+    public ResponseEntity<ConcurrencyLimitDTO> getConcurrencyLimit() {
+        return ResponseEntity.ok(adaptiveConcurrencyFilter.getStats());
+    }
+
+    @GetMapping("/bulkheads")
+    public ResponseEntity<List<BulkheadStatsDTO>> getBulkheads() {
+        return ResponseEntity.ok(bulkheadFilter.getStats());
+    }
+
+    // Phân vị thời gian từng giai đoạn trên các request được lấy mẫu; toàn 0 khi app.server-timing.enabled=false
+    @GetMapping("/timings")
+    public ResponseEntity<List<ServerTimingStatsDTO>> getServerTimings() {
+        return ResponseEntity.ok(serverTimingFilter.getStats());
+    }
+
+    // Rỗng khi không chạy ở chế độ virtual thread
+    @GetMapping("/pinning")
+    public ResponseEntity<List<PinningSiteDTO>> getPinnedSites() {
+        return ResponseEntity.ok(virtualThreadPinningService.getSites());
+    }
+}
@@ -0,0 +1,18 @@
+package com.ktpm.backend.dto;
+
+import com.ktpm.backend.config.BulkheadLane;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkheadStatsDTO {
+    private BulkheadLane lane;
+    private int maxConcurrent;
+    private int active;
+    private int waiting;
+    // tổng số request bị trả 503 từ lúc khởi động
+    private long rejected;
+}
@@ -0,0 +1,20 @@
+package com.ktpm.backend.dto;
+
+import com.ktpm.backend.entity.enums.Category;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Một dòng GROUP BY category trên database, dùng để đối chiếu facet trong bộ nhớ
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryAggregateDTO {
+    private Category category;
+    private long count;
+    private long totalQuantity;
+    private long priceSum;
+    // null khi category không có sản phẩm nào có giá
+    private Integer minPrice;
+    private Integer maxPrice;
+}
@@ -0,0 +1,19 @@
+package com.ktpm.backend.dto;
+
+import com.ktpm.backend.entity.enums.Category;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryFacetDTO {
+    private Category category;
+    private long count;
+    private long totalQuantity;
+    // null khi category chưa có sản phẩm nào có giá
+    private Integer minPrice;
+    private Integer maxPrice;
+    private Double avgPrice;
+}
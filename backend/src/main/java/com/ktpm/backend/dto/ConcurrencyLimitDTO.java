@@ -0,0 +1,19 @@
+package com.ktpm.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ConcurrencyLimitDTO {
+    private boolean enabled;
+    private int limit;
+    private int inFlight;
+    // tổng số request bị trả 503 từ lúc khởi động
+    private long rejected;
+    // RTT trung bình dài hạn (mốc so sánh) và của cửa sổ gần nhất
+    private double longRttMillis;
+    private double shortRttMillis;
+}
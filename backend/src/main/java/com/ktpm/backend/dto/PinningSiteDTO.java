@@ -0,0 +1,16 @@
+package com.ktpm.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PinningSiteDTO {
+    // frame đầu tiên thuộc code của ứng dụng (hoặc frame trên cùng nếu không có)
+    private String site;
+    private long count;
+    private double totalMillis;
+    private double maxMillis;
+}
@@ -0,0 +1,21 @@
+package com.ktpm.backend.dto;
+
+import com.ktpm.backend.entity.enums.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductChangeDTO {
+    private long seq;
+    private UUID productId;
+    private ChangeType changeType;
+    private Instant changedAt;
+    // null với tombstone (sản phẩm đã bị xóa)
+    private ProductRowDTO product;
+}
@@ -0,0 +1,16 @@
+package com.ktpm.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductChangesDTO {
+    private List<ProductChangeDTO> changes;
+    private long highWaterMark;
+    private boolean hasMore;
+}
@@ -0,0 +1,20 @@
+package com.ktpm.backend.dto;
+
+import com.ktpm.backend.entity.enums.Category;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductFilterDTO {
+    private Category category;
+    private Integer minPrice;
+    private Integer maxPrice;
+    private Boolean inStock;
+
+    public boolean isEmpty() {
+        return category == null && minPrice == null && maxPrice == null && !Boolean.TRUE.equals(inStock);
+    }
+}
@@ -0,0 +1,17 @@
+package com.ktpm.backend.dto;
+
+import com.ktpm.backend.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductMultiGetDTO {
+    private List<Product> products;
+    private List<UUID> missing;
+}
@@ -0,0 +1,20 @@
+package com.ktpm.backend.dto;
+
+import com.ktpm.backend.entity.enums.Category;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductRankingDTO {
+    private UUID id;
+    private String productName;
+    private Category category;
+    private Integer quantity;
+    // ước lượng từ Count-Min sketch (không thấp hơn số thật), tính từ lúc server khởi động
+    private long estimatedSold;
+}
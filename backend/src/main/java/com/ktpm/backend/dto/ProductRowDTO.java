@@ -0,0 +1,45 @@
+package com.ktpm.backend.dto;
+
+import com.ktpm.backend.entity.Product;
+import com.ktpm.backend.entity.enums.Category;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductRowDTO {
+    private UUID id;
+    private String productName;
+    private Integer price;
+    private Integer quantity;
+    private String description;
+    private Category category;
+
+    public static ProductRowDTO from(Product product) {
+        return new ProductRowDTO(
+                product.getId(),
+                product.getProductName(),
+                product.getPrice(),
+                product.getQuantity(),
+                product.getDescription(),
+                product.getCategory()
+        );
+    }
+
+    // Không đọc description (LAZY, cần thêm một câu SELECT): dùng cho trạng thái trước khi ghi
+    // của ProductChangedEvent, các subscriber chỉ tính delta trên giá, số lượng, category
+    public static ProductRowDTO withoutDescription(Product product) {
+        return new ProductRowDTO(
+                product.getId(),
+                product.getProductName(),
+                product.getPrice(),
+                product.getQuantity(),
+                null,
+                product.getCategory()
+        );
+    }
+}
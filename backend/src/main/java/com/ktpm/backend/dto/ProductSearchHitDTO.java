@@ -0,0 +1,14 @@
+package com.ktpm.backend.dto;
+
+import com.ktpm.backend.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSearchHitDTO {
+    private Product product;
+    private float score;
+}
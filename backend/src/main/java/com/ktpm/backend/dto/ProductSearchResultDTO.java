@@ -0,0 +1,16 @@
+package com.ktpm.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSearchResultDTO {
+    private List<ProductSearchHitDTO> hits;
+    // tổng số sản phẩm khớp ít nhất một từ khóa
+    private int total;
+}
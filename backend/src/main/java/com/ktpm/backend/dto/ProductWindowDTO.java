@@ -0,0 +1,18 @@
+package com.ktpm.backend.dto;
+
+import com.ktpm.backend.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductWindowDTO {
+    private List<Product> content;
+    // truyền lại qua ?after= để lấy trang tiếp theo; null khi đã hết
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -0,0 +1,19 @@
+package com.ktpm.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ServerTimingStatsDTO {
+    // jwt, bcrypt, db, ser hoặc total
+    private String stage;
+    // số request được lấy mẫu có đi qua giai đoạn này
+    private long count;
+    private double p50Millis;
+    private double p95Millis;
+    private double p99Millis;
+    private double maxMillis;
+}
@@ -4,18 +4,30 @@ import com.ktpm.backend.entity.enums.Category;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.UUID;
 
 @Entity
-@Table(name = "products")
+// Index phục vụ GET /api/products?category=&minPrice=&maxPrice=&inStock= (xem ProductSpecifications).
+// id ở cuối để phân trang keyset theo (price, id) không cần sort thêm
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_category_price", columnList = "category, price, id"),
+        @Index(name = "idx_products_price", columnList = "price, id"),
+        @Index(name = "idx_products_category_quantity", columnList = "category, quantity")
+})
+// Đọc nhiều hơn ghi rất nhiều: giữ trong cache cấp 2, Hibernate tự cập nhật/xóa entry khi save/delete commit
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Product.CACHE_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Product {
+    public static final String CACHE_REGION = "product";
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -30,6 +42,8 @@ public class Product {
     @Column(name = "quantity")
     private Integer quantity;
 
+    // Cột rộng nhất, danh sách không cần: chỉ nạp khi được truy cập (cần bytecode enhancement, xem pom.xml)
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "description")
     private String description;
 
@@ -0,0 +1,36 @@
+package com.ktpm.backend.entity;
+
+import com.ktpm.backend.entity.enums.ChangeType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(
+        name = "product_changes",
+        indexes = @Index(name = "idx_product_changes_product_id", columnList = "product_id")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductChange {
+
+    // vị trí trong change feed, cấp theo thứ tự commit (xem ProductChangeService.record)
+    @Id
+    @Column(name = "seq")
+    private Long seq;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false)
+    private ChangeType changeType;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,22 @@
+package com.ktpm.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Vị trí cuối cùng đã cấp cho change feed: một dòng duy nhất, bị khóa từ lúc cấp vị trí tới lúc commit
+@Entity
+@Table(name = "product_change_position")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangePosition {
+    public static final int ID = 1;
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "last_seq", nullable = false)
+    private Long lastSeq;
+}
@@ -0,0 +1,7 @@
+package com.ktpm.backend.entity.enums;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
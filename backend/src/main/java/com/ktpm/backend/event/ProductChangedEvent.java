@@ -0,0 +1,23 @@
+package com.ktpm.backend.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.ktpm.backend.dto.ProductRowDTO;
+import com.ktpm.backend.entity.enums.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class ProductChangedEvent {
+    private final long seq;
+    private final ChangeType changeType;
+    private final UUID productId;
+    // null khi changeType = DELETED
+    private final ProductRowDTO product;
+    // trạng thái trước khi ghi (null khi CREATED), không có description; chỉ dùng nội bộ để tính delta,
+    // không gửi cho client
+    @JsonIgnore
+    private final ProductRowDTO previous;
+}
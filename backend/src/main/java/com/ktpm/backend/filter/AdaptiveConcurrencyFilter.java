@@ -0,0 +1,87 @@
+package com.ktpm.backend.filter;
+
+import com.ktpm.backend.dto.ConcurrencyLimitDTO;
+import com.ktpm.backend.utils.GradientLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Chốt chặn đầu tiên, trước BulkheadFilter và JwtAuthFilter: số request /api đang xử lý không vượt giới hạn
+// do GradientLimiter tự điều chỉnh theo độ trễ. Quá giới hạn thì trả 503 ngay thay vì xếp hàng
+// đến khi timeout, nhờ đó request được nhận vẫn xong nhanh và goodput không sụp khi quá tải
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 50)
+public class AdaptiveConcurrencyFilter extends OncePerRequestFilter {
+    // kết nối dài (SSE, tải file) sẽ giữ permit suốt thời gian mở và thời gian xử lý không phản ánh tải của server
+    private static final Set<String> UNLIMITED_PATHS = Set.of("/api/products/export", "/api/products/stream");
+
+    private final boolean enabled;
+    private final GradientLimiter limiter;
+    private final OverloadResponse overloadResponse;
+
+    public AdaptiveConcurrencyFilter(
+            @Value("${app.concurrency-limit.enabled:true}") boolean enabled,
+            @Value("${app.concurrency-limit.initial-limit:100}") int initialLimit,
+            @Value("${app.concurrency-limit.min-limit:20}") int minLimit,
+            @Value("${app.concurrency-limit.max-limit:1000}") int maxLimit,
+            @Value("${app.concurrency-limit.rtt-tolerance:2.0}") double rttTolerance,
+            @Value("${app.concurrency-limit.smoothing:0.2}") double smoothing,
+            @Value("${app.concurrency-limit.window-millis:100}") long windowMillis,
+            @Nullable @Qualifier("corsConfigurationSource") CorsConfigurationSource corsConfigurationSource
+    ) {
+        this.enabled = enabled;
+        this.limiter = new GradientLimiter(initialLimit, minLimit, maxLimit, rttTolerance, smoothing,
+                TimeUnit.MILLISECONDS.toNanos(windowMillis), System::nanoTime);
+        this.overloadResponse = new OverloadResponse(corsConfigurationSource);
+    }
+
+    public ConcurrencyLimitDTO getStats() {
+        return new ConcurrencyLimitDTO(enabled, limiter.getLimit(), limiter.getInFlight(), limiter.getRejected(),
+                limiter.getLongRttMillis(), limiter.getShortRttMillis());
+    }
+
+    // /api/system luôn trả lời được để theo dõi lúc quá tải
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !enabled || !path.startsWith("/api/") || path.startsWith("/api/system/")
+                || UNLIMITED_PATHS.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!limiter.tryAcquire()) {
+            overloadResponse.send(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean sampled = false;
+        try {
+            filterChain.doFilter(request, response);
+            sampled = response.getStatus() < 500;
+        } finally {
+            if (sampled) {
+                limiter.onComplete(System.nanoTime() - start);
+            } else {
+                limiter.onDropped();
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.ktpm.backend.filter;
+
+import com.ktpm.backend.config.BulkheadLane;
+import com.ktpm.backend.config.BulkheadSettings;
+import com.ktpm.backend.dto.BulkheadStatsDTO;
+import com.ktpm.backend.utils.Bulkhead;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Mỗi lane (đăng nhập, đọc sản phẩm, ghi sản phẩm) có giới hạn riêng: lane bị dồn tải trả 503 cho phần dư
+// thay vì chiếm hết thread của Tomcat và connection của Hikari mà các lane khác cần.
+// Chạy trước Spring Security để request bị từ chối không tốn thêm chi phí nào
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class BulkheadFilter extends OncePerRequestFilter {
+    private static final ThreadLocal<BulkheadLane> CURRENT_LANE = new ThreadLocal<>();
+
+    private final Map<BulkheadLane, Bulkhead> bulkheads = new EnumMap<>(BulkheadLane.class);
+    private final OverloadResponse overloadResponse;
+
+    @Autowired
+    public BulkheadFilter(Environment environment,
+                          @Nullable @Qualifier("corsConfigurationSource") CorsConfigurationSource corsConfigurationSource) {
+        this(BulkheadSettings.bind(environment), corsConfigurationSource);
+    }
+
+    public BulkheadFilter(Map<BulkheadLane, BulkheadSettings> settings,
+                          @Nullable CorsConfigurationSource corsConfigurationSource) {
+        this.overloadResponse = new OverloadResponse(corsConfigurationSource);
+        settings.forEach((lane, limits) -> bulkheads.put(lane,
+                new Bulkhead(limits.maxConcurrent(), limits.maxQueue(), limits.maxWaitMillis())));
+    }
+
+    // lane của request đang chạy trên thread hiện tại (null ngoài request hoặc route không thuộc lane nào)
+    public static BulkheadLane currentLane() {
+        return CURRENT_LANE.get();
+    }
+
+    public List<BulkheadStatsDTO> getStats() {
+        List<BulkheadStatsDTO> stats = new ArrayList<>(bulkheads.size());
+        bulkheads.forEach((lane, bulkhead) -> stats.add(new BulkheadStatsDTO(
+                lane, bulkhead.getMaxConcurrent(), bulkhead.getActive(), bulkhead.getWaiting(), bulkhead.getRejected())));
+        return stats;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        BulkheadLane lane = BulkheadLane.of(request);
+        Bulkhead bulkhead = lane == null ? null : bulkheads.get(lane);
+        if (bulkhead == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            overloadResponse.send(request, response);
+            return;
+        }
+
+        CURRENT_LANE.set(lane);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CURRENT_LANE.remove();
+            bulkhead.release();
+        }
+    }
+}
@@ -1,23 +1,33 @@
 package com.ktpm.backend.filter;
 
 import com.ktpm.backend.utils.JwtUtil;
+import com.ktpm.backend.utils.ServerTiming;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Arrays;
 
-@AllArgsConstructor
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final byte[] scrapeAuthorization;
+
+    public JwtAuthFilter(JwtUtil jwtUtil, @Value("${app.metrics.scrape-token:}") String scrapeToken) {
+        this.jwtUtil = jwtUtil;
+        this.scrapeAuthorization = scrapeToken.isBlank()
+                ? null
+                : ("Bearer " + scrapeToken).getBytes(StandardCharsets.UTF_8);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -26,7 +36,17 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         String path = request.getRequestURI();
-        if (path.startsWith("/api/auth/")) {
+        if (path.startsWith("/api/auth/") || path.equals("/actuator/health")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        // Prometheus scrape không có cookie đăng nhập, dùng token riêng (app.metrics.scrape-token)
+        if (path.startsWith("/actuator/")) {
+            if (!isScrapeAuthorized(request)) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.getWriter().write("Invalid or missing scrape token");
+                return;
+            }
             filterChain.doFilter(request, response);
             return;
         }
@@ -40,7 +60,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                     .orElse(null);
         }
 
-        if (token == null || !jwtUtil.validateToken(token)) {
+        boolean valid;
+        try (ServerTiming.Span ignored = ServerTiming.start(ServerTiming.Stage.JWT)) {
+            valid = token != null && jwtUtil.validateToken(token);
+        }
+        if (!valid) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.getWriter().write("Invalid or missing token");
             return;
@@ -48,4 +72,10 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private boolean isScrapeAuthorized(HttpServletRequest request) {
+        String authorization = request.getHeader("Authorization");
+        return scrapeAuthorization != null && authorization != null
+                && MessageDigest.isEqual(scrapeAuthorization, authorization.getBytes(StandardCharsets.UTF_8));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.ktpm.backend.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.cors.DefaultCorsProcessor;
+
+import java.io.IOException;
+
+// 503 + Retry-After của AdaptiveConcurrencyFilter và BulkheadFilter. Hai filter chạy trước CorsFilter của
+// Spring Security nên phải tự thêm header CORS, nếu không trình duyệt chỉ báo lỗi CORS thay vì 503 để thử lại
+class OverloadResponse {
+    private final CorsConfigurationSource corsConfigurationSource;
+    private final CorsProcessor corsProcessor = new DefaultCorsProcessor();
+
+    OverloadResponse(@Nullable CorsConfigurationSource corsConfigurationSource) {
+        this.corsConfigurationSource = corsConfigurationSource;
+    }
+
+    void send(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CorsConfiguration cors = corsConfigurationSource != null && CorsUtils.isCorsRequest(request)
+                ? corsConfigurationSource.getCorsConfiguration(request) : null;
+        if (cors != null && !corsProcessor.processRequest(cors, request, response)) {
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("Hệ thống đang quá tải, vui lòng thử lại sau");
+    }
+}
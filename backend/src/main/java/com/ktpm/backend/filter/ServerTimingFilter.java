@@ -0,0 +1,109 @@
+package com.ktpm.backend.filter;
+
+import com.ktpm.backend.dto.ServerTimingStatsDTO;
+import com.ktpm.backend.utils.ServerTiming;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Filter ngoài cùng: mở ServerTiming cho request /api và gắn header Server-Timing (jwt, bcrypt, db, ser, total).
+// Không giữ body trong buffer: ServerTimingResponseAdvice gắn header ngay trước khi ghi body, filter chỉ ghi đè
+// bằng header đầy đủ (có ser) khi response chưa commit. Một phần sample-rate request được ghi vào histogram
+// (GET /api/system/timings). Tắt (mặc định) thì không mở context và ServerTiming.start() trả về ngay
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+    public static final String HEADER = "Server-Timing";
+    private static final String TOTAL = "total";
+    // kết nối dài, thời gian xử lý không có ý nghĩa
+    private static final Set<String> STREAMING_PATHS = Set.of("/api/products/export", "/api/products/stream");
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+
+    public ServerTimingFilter(
+            @Value("${app.server-timing.enabled:false}") boolean enabled,
+            @Value("${app.server-timing.sample-rate:0.1}") double sampleRate
+    ) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        for (ServerTiming.Stage stage : ServerTiming.Stage.values()) {
+            histograms.put(stage.getMetricName(), new ConcurrentHistogram(3));
+        }
+        histograms.put(TOTAL, new ConcurrentHistogram(3));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public List<ServerTimingStatsDTO> getStats() {
+        List<ServerTimingStatsDTO> stats = new ArrayList<>();
+        histograms.forEach((stage, histogram) -> {
+            Histogram snapshot = histogram.copy();
+            stats.add(new ServerTimingStatsDTO(stage, snapshot.getTotalCount(),
+                    millis(snapshot.getValueAtPercentile(50)), millis(snapshot.getValueAtPercentile(95)),
+                    millis(snapshot.getValueAtPercentile(99)), millis(snapshot.getMaxValue())));
+        });
+        return stats;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !enabled || !path.startsWith("/api/") || STREAMING_PATHS.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        ServerTiming timing = ServerTiming.begin();
+        long totalNanos;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            totalNanos = timing.finish();
+        }
+
+        // body nhỏ còn nằm trong buffer của Tomcat; đã commit thì giữ header gắn trước khi ghi body
+        if (!response.isCommitted()) {
+            response.setHeader(HEADER, timing.toHeader(totalNanos));
+        }
+        if (ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            record(timing, totalNanos);
+        }
+    }
+
+    private void record(ServerTiming timing, long totalNanos) {
+        for (ServerTiming.Stage stage : ServerTiming.Stage.values()) {
+            if (timing.getCount(stage) > 0) {
+                histograms.get(stage.getMetricName()).recordValue(timing.getNanos(stage) / 1000);
+            }
+        }
+        histograms.get(TOTAL).recordValue(totalNanos / 1000);
+    }
+
+    // histogram lưu micro giây
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
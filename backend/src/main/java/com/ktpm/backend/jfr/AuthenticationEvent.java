@@ -0,0 +1,22 @@
+package com.ktpm.backend.jfr;
+
+import jdk.jfr.*;
+import lombok.Setter;
+
+// Bật qua profile JFC (src/main/resources/jfr/ktpm.jfc); mặc định tắt: begin()/commit() gần như không tốn gì
+@Name("com.ktpm.backend.Authentication")
+@Label("Authentication")
+@Category({"KTPM", "Auth"})
+@Description("AuthService.authenticate: kết quả và thời gian kiểm tra BCrypt")
+@Enabled(false)
+@StackTrace(false)
+@Setter
+public class AuthenticationEvent extends Event {
+    // SUCCESS hoặc tên exception (UserNotFoundException, WrongPassWordException, ...)
+    @Label("Outcome")
+    private String outcome;
+
+    @Label("Hash Time")
+    @Timespan
+    private long hashTime;
+}
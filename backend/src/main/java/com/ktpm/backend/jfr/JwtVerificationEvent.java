@@ -0,0 +1,16 @@
+package com.ktpm.backend.jfr;
+
+import jdk.jfr.*;
+import lombok.Setter;
+
+@Name("com.ktpm.backend.JwtVerification")
+@Label("JWT Verification")
+@Category({"KTPM", "Auth"})
+@Description("JwtUtil.validateToken")
+@Enabled(false)
+@StackTrace(false)
+@Setter
+public class JwtVerificationEvent extends Event {
+    @Label("Valid")
+    private boolean valid;
+}
@@ -0,0 +1,32 @@
+package com.ktpm.backend.jfr;
+
+import jdk.jfr.*;
+import lombok.Setter;
+
+// Một lời gọi method public của ProductService, ghi bởi ProductOperationRecorder.
+// Duration bao cả commit transaction; queryTime chỉ gồm thời gian trong các lời gọi repository
+@Name("com.ktpm.backend.ProductOperation")
+@Label("Product Operation")
+@Category({"KTPM", "Product"})
+@Description("ProductService: sản phẩm, số dòng đọc/ghi và thời gian truy vấn")
+@Enabled(false)
+@StackTrace(false)
+@Setter
+public class ProductOperationEvent extends Event {
+    @Label("Operation")
+    private String operation;
+
+    @Label("Product Id")
+    private String productId;
+
+    @Label("Rows")
+    private long rows;
+
+    @Label("Query Time")
+    @Timespan
+    private long queryTime;
+
+    // tên exception khi thao tác lỗi
+    @Label("Error")
+    private String error;
+}
@@ -0,0 +1,117 @@
+package com.ktpm.backend.jfr;
+
+import com.ktpm.backend.dto.ProductMultiGetDTO;
+import com.ktpm.backend.dto.ProductWindowDTO;
+import org.aopalliance.intercept.MethodInvocation;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// Ghi ProductOperationEvent cho mỗi method public của ProductService. Chạy ngoài @Transactional.
+// Event tắt (không có profile JFC) thì chỉ gọi thẳng method, không đo gì
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ProductOperationRecorder {
+    // thời gian trong repository của thao tác đang ghi trên thread này (xem RepositoryTimingConfig)
+    private static final ThreadLocal<long[]> QUERY_NANOS = new ThreadLocal<>();
+
+    @Around("execution(public * com.ktpm.backend.service.ProductService.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        ProductOperationEvent event = new ProductOperationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        Object[] args = joinPoint.getArgs();
+        long[] streamedRows = null;
+        // exportProducts(consumer): đếm số dòng đi qua consumer
+        if (args.length == 1 && args[0] instanceof Consumer<?> consumer) {
+            long[] counter = new long[1];
+            streamedRows = counter;
+            args[0] = countingConsumer(consumer, counter);
+        }
+
+        long[] queryNanos = new long[1];
+        long[] outer = QUERY_NANOS.get();
+        QUERY_NANOS.set(queryNanos);
+        event.begin();
+        try {
+            Object result = joinPoint.proceed(args);
+            event.setRows(streamedRows != null ? streamedRows[0] : rowsOf(result));
+            return result;
+        } catch (Throwable e) {
+            event.setError(e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            event.end();
+            QUERY_NANOS.set(outer);
+            if (event.shouldCommit()) {
+                event.setOperation(joinPoint.getSignature().getName());
+                event.setProductId(productIdOf(args));
+                event.setQueryTime(queryNanos[0]);
+                event.commit();
+            }
+        }
+    }
+
+    public static Object timeQuery(MethodInvocation invocation) throws Throwable {
+        long[] queryNanos = QUERY_NANOS.get();
+        if (queryNanos == null) {
+            return invocation.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            queryNanos[0] += System.nanoTime() - start;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Consumer<Object> countingConsumer(Consumer<?> consumer, long[] counter) {
+        Consumer<Object> target = (Consumer<Object>) consumer;
+        return row -> {
+            counter[0]++;
+            target.accept(row);
+        };
+    }
+
+    private static String productIdOf(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof UUID id) {
+                return id.toString();
+            }
+        }
+        return null;
+    }
+
+    // void (deleteProduct) và entity đơn lẻ tính là 1 dòng
+    private static long rowsOf(Object result) {
+        if (result instanceof Page<?> page) {
+            return page.getNumberOfElements();
+        }
+        if (result instanceof ProductWindowDTO window) {
+            return window.getContent().size();
+        }
+        if (result instanceof ProductMultiGetDTO multiGet) {
+            return multiGet.getProducts().size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ktpm.backend.repository;
+
+import com.ktpm.backend.entity.ProductChangePosition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductChangePositionRepository extends JpaRepository<ProductChangePosition, Integer> {
+
+    // UPDATE khóa dòng tới hết transaction: transaction khác cấp vị trí phải chờ transaction này commit
+    @Modifying
+    @Query("update ProductChangePosition p set p.lastSeq = p.lastSeq + 1 where p.id = " + ProductChangePosition.ID)
+    int increment();
+
+    @Query("select p.lastSeq from ProductChangePosition p where p.id = " + ProductChangePosition.ID)
+    long findLastSeq();
+}
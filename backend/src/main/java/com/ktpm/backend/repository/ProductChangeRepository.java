@@ -0,0 +1,33 @@
+package com.ktpm.backend.repository;
+
+import com.ktpm.backend.entity.ProductChange;
+import com.ktpm.backend.entity.enums.ChangeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ProductChangeRepository extends JpaRepository<ProductChange, Long> {
+
+    List<ProductChange> findBySeqGreaterThanOrderBySeqAsc(long since, Limit limit);
+
+    @Query("select coalesce(max(c.seq), 0) from ProductChange c")
+    long findLatestSeq();
+
+    @Modifying
+    @Query("delete from ProductChange c where c.productId = :productId")
+    void deleteByProductId(@Param("productId") UUID productId);
+
+    // seq được cấp sẵn: insert thẳng thay vì save() (merge với id có sẵn sẽ SELECT trước)
+    @Modifying
+    @Query("insert into ProductChange (seq, productId, changeType, changedAt) values (:seq, :productId, :changeType, :changedAt)")
+    void insert(@Param("seq") long seq, @Param("productId") UUID productId,
+                @Param("changeType") ChangeType changeType, @Param("changedAt") Instant changedAt);
+}
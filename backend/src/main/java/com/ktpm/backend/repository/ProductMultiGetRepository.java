@@ -0,0 +1,13 @@
+package com.ktpm.backend.repository;
+
+import com.ktpm.backend.entity.Product;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ProductMultiGetRepository {
+    int MULTI_GET_BATCH_SIZE = 500;
+
+    // Kết quả cùng thứ tự với ids; phần tử null khi id không tồn tại
+    List<Product> findAllByIdOrdered(List<UUID> ids);
+}
@@ -0,0 +1,27 @@
+package com.ktpm.backend.repository;
+
+import com.ktpm.backend.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.List;
+import java.util.UUID;
+
+public class ProductMultiGetRepositoryImpl implements ProductMultiGetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // multiLoad lấy trước từ persistence context (và cache cấp 2 nếu bật), phần còn lại
+    // đọc bằng WHERE id IN (...) theo từng lô MULTI_GET_BATCH_SIZE id
+    @Override
+    public List<Product> findAllByIdOrdered(List<UUID> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Product.class)
+                .withBatchSize(MULTI_GET_BATCH_SIZE)
+                .enableSessionCheck(true)
+                .enableOrderedReturn(true)
+                .multiLoad(ids);
+    }
+}
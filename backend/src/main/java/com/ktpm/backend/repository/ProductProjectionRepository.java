@@ -0,0 +1,17 @@
+package com.ktpm.backend.repository;
+
+import com.ktpm.backend.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface ProductProjectionRepository {
+    Set<String> PROJECTABLE_FIELDS = Set.of("id", "productName", "price", "quantity", "description", "category");
+
+    // SELECT chỉ các cột trong fields (luôn kèm id); kết quả là Map theo đúng thứ tự fields, không phải entity managed
+    Page<Map<String, Object>> findProjected(Specification<Product> spec, Pageable pageable, List<String> fields);
+}
@@ -1,11 +1,58 @@
 package com.ktpm.backend.repository;
 
+import com.ktpm.backend.dto.CategoryAggregateDTO;
+import com.ktpm.backend.dto.ProductRowDTO;
 import com.ktpm.backend.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, UUID> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpecificationExecutor<Product>,
+        ProductProjectionRepository, ProductMultiGetRepository {
+    String LISTING_CACHE_REGION = "product-queries";
+
+    // Trang danh sách (cả câu count) đi qua query cache; Hibernate bỏ kết quả cũ khi bảng products có ghi
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = LISTING_CACHE_REGION)
+    })
+    Page<Product> findAll(Pageable pageable);
+
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = LISTING_CACHE_REGION)
+    })
+    Page<Product> findAll(Specification<Product> spec, Pageable pageable);
+
+    // Đọc theo cursor (fetch size) và trả về DTO nên persistence context không phình theo số dòng
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.ktpm.backend.dto.ProductRowDTO(p.id, p.productName, p.price, p.quantity, p.description, p.category) " +
+            "from Product p order by p.id")
+    Stream<ProductRowDTO> streamAllRows();
+
+    // Đủ cột kể cả description (LAZY trên entity) trong một câu SQL, dùng cho change feed
+    @Query("select new com.ktpm.backend.dto.ProductRowDTO(p.id, p.productName, p.price, p.quantity, p.description, p.category) " +
+            "from Product p where p.id in :ids")
+    List<ProductRowDTO> findRowsByIdIn(Collection<UUID> ids);
+
+    // Dùng để đối chiếu định kỳ với facet giữ trong bộ nhớ (ProductFacetService.reconcile)
+    @Query("select new com.ktpm.backend.dto.CategoryAggregateDTO(p.category, count(p), coalesce(sum(p.quantity), 0), " +
+            "coalesce(sum(p.price), 0), min(p.price), max(p.price)) " +
+            "from Product p where p.category is not null group by p.category")
+    List<CategoryAggregateDTO> aggregateByCategory();
 }
@@ -0,0 +1,61 @@
+package com.ktpm.backend.repository;
+
+import com.ktpm.backend.dto.ProductFilterDTO;
+import com.ktpm.backend.entity.Product;
+import com.ktpm.backend.utils.ProductCursor;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    // Dùng được index (category, price, id) khi có category, (price, id) khi chỉ lọc theo giá
+    public static Specification<Product> matches(ProductFilterDTO filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getCategory() != null) {
+                predicates.add(cb.equal(root.get("category"), filter.getCategory()));
+            }
+            if (filter.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), filter.getMinPrice()));
+            }
+            if (filter.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), filter.getMaxPrice()));
+            }
+            if (Boolean.TRUE.equals(filter.getInStock())) {
+                predicates.add(cb.greaterThan(root.get("quantity"), 0));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // (sortBy, id) nằm sau con trỏ. Điều kiện sortBy >= value được viết tách riêng
+    // để Postgres dùng làm điểm bắt đầu quét index thay vì lọc sau
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Product> after(ProductCursor cursor, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            Expression<UUID> id = root.get("id");
+            boolean ascending = direction.isAscending();
+            if ("id".equals(cursor.getSortBy())) {
+                return ascending ? cb.greaterThan(id, cursor.getId()) : cb.lessThan(id, cursor.getId());
+            }
+
+            Expression<Comparable> key = root.get(cursor.getSortBy());
+            Comparable value = cursor.getValue();
+            if (ascending) {
+                return cb.and(cb.greaterThanOrEqualTo(key, value),
+                        cb.or(cb.greaterThan(key, value), cb.greaterThan(id, cursor.getId())));
+            }
+            return cb.and(cb.lessThanOrEqualTo(key, value),
+                    cb.or(cb.lessThan(key, value), cb.lessThan(id, cursor.getId())));
+        };
+    }
+}
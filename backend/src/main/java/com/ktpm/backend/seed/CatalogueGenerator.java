@@ -0,0 +1,103 @@
+package com.ktpm.backend.seed;
+
+import com.ktpm.backend.dto.ProductRowDTO;
+import com.ktpm.backend.entity.enums.Category;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// Sinh catalogue giả lập nhưng có phân bố giống thật: tên "hãng + dòng + phiên bản", giá theo khoảng của
+// từng danh mục (nhiều hàng rẻ, ít hàng đắt), khoảng 8% hết hàng.
+// Dữ liệu chia thành chunk CHUNK_SIZE dòng, mỗi chunk có bộ sinh số ngẫu nhiên riêng suy ra từ (seed, chunk):
+// cùng seed luôn ra cùng dữ liệu, không phụ thuộc số thread hay thứ tự chạy các chunk
+public final class CatalogueGenerator {
+    public static final int CHUNK_SIZE = 10_000;
+    private static final double OUT_OF_STOCK_RATE = 0.08;
+
+    private static final Category[] CATEGORIES = Category.values();
+
+    private static final String[][] BRANDS = {
+            {"Samsung Galaxy", "iPhone", "Xiaomi Redmi", "OPPO Reno", "vivo V", "realme", "Nokia G", "Google Pixel"},
+            {"Dell XPS", "MacBook Air", "MacBook Pro", "Lenovo ThinkPad", "ASUS Zenbook", "HP Pavilion", "Acer Swift", "MSI Modern"},
+            {"Tai nghe Sony WH", "Tai nghe AirPods", "Tai nghe JBL Tune", "Tai nghe Sennheiser Momentum", "Tai nghe Bose QC",
+                    "Tai nghe Samsung Buds", "Tai nghe Soundcore Life"},
+            {"Máy ảnh Canon EOS", "Máy ảnh Sony Alpha", "Máy ảnh Fujifilm X", "Máy ảnh Nikon Z", "Máy ảnh Panasonic Lumix",
+                    "Camera GoPro Hero", "Camera DJI Osmo"}
+    };
+    private static final String[][] VARIANTS = {
+            {"128GB", "256GB", "512GB", "1TB"},
+            {"i5 16GB 512GB", "i7 16GB 1TB", "Ryzen 5 16GB 512GB", "Ryzen 7 32GB 1TB", "M3 8GB 256GB", "M3 16GB 512GB"},
+            {"Chống ồn", "True Wireless", "Thể thao", "Over ear", "Gaming"},
+            {"Body", "Kit 18-55mm", "Kit 24-70mm", "Kit 28-75mm", "Vlog Kit"}
+    };
+    private static final String[] COLORS = {"Đen", "Trắng", "Xanh dương", "Bạc", "Xám", "Hồng", "Tím", "Vàng"};
+    // giá (VND) thấp nhất / cao nhất theo từng danh mục
+    private static final int[][] PRICE_RANGES = {
+            {2_000_000, 45_000_000},
+            {9_000_000, 80_000_000},
+            {300_000, 12_000_000},
+            {5_000_000, 120_000_000}
+    };
+    private static final String[] FEATURES = {
+            "bảo hành chính hãng 12 tháng", "pin dùng cả ngày", "màn hình sắc nét", "thiết kế mỏng nhẹ",
+            "sạc nhanh", "âm thanh sống động", "chống nước", "hiệu năng mạnh mẽ", "kết nối Bluetooth ổn định",
+            "hỗ trợ trả góp 0%", "giao hàng nhanh trong 2 giờ", "tặng kèm ốp lưng và túi đựng"
+    };
+
+    private CatalogueGenerator() {
+    }
+
+    public static int chunkCount(long total) {
+        return (int) ((total + CHUNK_SIZE - 1) / CHUNK_SIZE);
+    }
+
+    // Chunk cuối có thể ít hơn CHUNK_SIZE dòng
+    public static void products(long seed, int chunk, long total, Consumer<ProductRowDTO> consumer) {
+        SplittableRandom random = random(seed, chunk);
+        long end = Math.min(total, (long) (chunk + 1) * CHUNK_SIZE);
+        for (long index = (long) chunk * CHUNK_SIZE; index < end; index++) {
+            consumer.accept(product(random, index));
+        }
+    }
+
+    public static UUID userId(long seed, int index) {
+        return uuid(random(~seed, index));
+    }
+
+    private static ProductRowDTO product(SplittableRandom random, long index) {
+        int categoryIndex = random.nextInt(CATEGORIES.length);
+        String brand = pick(random, BRANDS[categoryIndex]);
+        String variant = pick(random, VARIANTS[categoryIndex]);
+        String color = pick(random, COLORS);
+        int generation = 1 + random.nextInt(15);
+        String productName = brand + " " + generation + " " + variant + " " + color;
+
+        // bình phương của số ngẫu nhiên đều: lệch về phía giá thấp như catalogue thật; làm tròn nghìn đồng
+        int[] range = PRICE_RANGES[categoryIndex];
+        double skewed = Math.pow(random.nextDouble(), 2);
+        int price = (int) ((range[0] + skewed * (range[1] - range[0])) / 1000) * 1000;
+        int quantity = random.nextDouble() < OUT_OF_STOCK_RATE ? 0 : 1 + random.nextInt(500);
+
+        int feature = random.nextInt(FEATURES.length);
+        int otherFeature = (feature + 1 + random.nextInt(FEATURES.length - 1)) % FEATURES.length;
+        String description = productName + ", " + FEATURES[feature] + ", " + FEATURES[otherFeature]
+                + ". Mã sản phẩm SP" + index + ".";
+        return new ProductRowDTO(uuid(random), productName, price, quantity, description, CATEGORIES[categoryIndex]);
+    }
+
+    private static SplittableRandom random(long seed, long stream) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + stream);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    // UUID phiên bản 4 lấy bit từ bộ sinh có seed (UUID.randomUUID() không tái lập được)
+    private static UUID uuid(SplittableRandom random) {
+        long most = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+}
@@ -0,0 +1,221 @@
+package com.ktpm.backend.seed;
+
+import com.ktpm.backend.dto.ProductRowDTO;
+import com.ktpm.backend.utils.ProductExportWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Nạp catalogue giả lập trước khi nhận request (chạy sau khi Hibernate tạo bảng, trước ApplicationReadyEvent
+// nên chỉ mục gợi ý/facet/tìm kiếm được build từ dữ liệu đã nạp):
+//   ./mvnw spring-boot:run -Dspring-boot.run.arguments="--app.seed.products=1000000 --app.seed.users=1000"
+// PostgreSQL: mỗi chunk là một lệnh COPY (CSV giống GET /api/products/export?format=csv), các chunk chạy song song
+// trên nhiều connection. Database khác: batch insert, commit theo chunk.
+// User {user-prefix}{i} có mật khẩu Password{i} như các script k6, hash BCrypt song song.
+// Sản phẩm nạp thẳng vào bảng nên không có trong change feed
+@Slf4j
+@Component
+public class CatalogueSeeder implements ApplicationRunner {
+    private static final String COPY_PRODUCTS =
+            "COPY products (id, product_name, price, quantity, description, category) FROM STDIN (FORMAT csv, HEADER true)";
+    private static final String INSERT_PRODUCT =
+            "INSERT INTO products (id, product_name, price, quantity, description, category) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER = "INSERT INTO users (id, username, password) VALUES (?, ?, ?)";
+    private static final int USER_BATCH_SIZE = 100;
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final ApplicationContext applicationContext;
+    private final long products;
+    private final int users;
+    private final String userPrefix;
+    private final long seed;
+    private final int threads;
+    private final boolean clear;
+    private final boolean exit;
+
+    public CatalogueSeeder(DataSource dataSource,
+                           PasswordEncoder passwordEncoder,
+                           ApplicationContext applicationContext,
+                           @Value("${app.seed.products:0}") long products,
+                           @Value("${app.seed.users:0}") int users,
+                           @Value("${app.seed.user-prefix:usertest}") String userPrefix,
+                           @Value("${app.seed.seed:42}") long seed,
+                           @Value("${app.seed.threads:4}") int threads,
+                           @Value("${app.seed.clear:false}") boolean clear,
+                           @Value("${app.seed.exit:false}") boolean exit) {
+        this.dataSource = dataSource;
+        this.passwordEncoder = passwordEncoder;
+        this.applicationContext = applicationContext;
+        this.products = products;
+        this.users = users;
+        this.userPrefix = userPrefix;
+        this.seed = seed;
+        this.threads = threads;
+        this.clear = clear;
+        this.exit = exit;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (products <= 0 && users <= 0) {
+            return;
+        }
+        boolean postgres;
+        try (Connection connection = dataSource.getConnection()) {
+            postgres = connection.isWrapperFor(PGConnection.class);
+            if (clear) {
+                clear(connection);
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            if (products > 0) {
+                long start = System.nanoTime();
+                runAll(executor, CatalogueGenerator.chunkCount(products), chunk -> {
+                    if (postgres) {
+                        copyProducts(chunk);
+                    } else {
+                        insertProducts(chunk);
+                    }
+                });
+                logRate(products, "sản phẩm", start);
+            }
+            if (users > 0) {
+                long start = System.nanoTime();
+                runAll(executor, (users + USER_BATCH_SIZE - 1) / USER_BATCH_SIZE, this::insertUsers);
+                logRate(users, "user", start);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Cập nhật thống kê để planner chọn đúng index với bảng vừa lớn lên
+        if (postgres) {
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE products");
+                statement.execute("ANALYZE users");
+            }
+        }
+        if (exit) {
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkTask {
+        void run(int chunk) throws SQLException, IOException;
+    }
+
+    private void runAll(ExecutorService executor, int chunks, ChunkTask task) throws InterruptedException, SQLException {
+        List<Future<?>> futures = new ArrayList<>(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int current = chunk;
+            futures.add(executor.submit(() -> {
+                task.run(current);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                futures.forEach(pending -> pending.cancel(true));
+                throw new SQLException("Seed thất bại", e.getCause());
+            }
+        }
+    }
+
+    private void copyProducts(int chunk) throws SQLException, IOException {
+        ByteArrayOutputStream csv = new ByteArrayOutputStream(CatalogueGenerator.CHUNK_SIZE * 200);
+        try (ProductExportWriter writer = ProductExportWriter.of(ProductExportWriter.CSV, csv, null)) {
+            CatalogueGenerator.products(seed, chunk, products, writer);
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn(COPY_PRODUCTS, new ByteArrayInputStream(csv.toByteArray()));
+        }
+    }
+
+    private void insertProducts(int chunk) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement(INSERT_PRODUCT)) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                List<ProductRowDTO> rows = new ArrayList<>(CatalogueGenerator.CHUNK_SIZE);
+                CatalogueGenerator.products(seed, chunk, products, rows::add);
+                for (ProductRowDTO row : rows) {
+                    insert.setObject(1, row.getId());
+                    insert.setString(2, row.getProductName());
+                    insert.setInt(3, row.getPrice());
+                    insert.setInt(4, row.getQuantity());
+                    insert.setString(5, row.getDescription());
+                    insert.setString(6, row.getCategory().name());
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    // BCrypt chiếm gần hết thời gian: mỗi task hash và insert USER_BATCH_SIZE user
+    private void insertUsers(int batch) throws SQLException {
+        int from = batch * USER_BATCH_SIZE + 1;
+        int to = Math.min(users, from + USER_BATCH_SIZE - 1);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement(INSERT_USER)) {
+            for (int i = from; i <= to; i++) {
+                insert.setObject(1, CatalogueGenerator.userId(seed, i));
+                insert.setString(2, userPrefix + i);
+                insert.setString(3, passwordEncoder.encode("Password" + i));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private void clear(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             PreparedStatement deleteUsers = connection.prepareStatement("DELETE FROM users WHERE username LIKE ?")) {
+            statement.executeUpdate("DELETE FROM product_changes");
+            statement.executeUpdate("DELETE FROM products");
+            deleteUsers.setString(1, userPrefix + "%");
+            deleteUsers.executeUpdate();
+        }
+    }
+
+    private static void logRate(long count, String what, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        log.info("Đã seed {} {} trong {}s ({} dòng/s)", count, what, String.format("%.1f", seconds),
+                Math.round(count / Math.max(seconds, 1e-3)));
+    }
+}
@@ -7,9 +7,12 @@ import com.ktpm.backend.exception.UserNotFoundException;
 import com.ktpm.backend.exception.UsernameExistedException;
 import com.ktpm.backend.exception.VerifyPasswordNotMatch;
 import com.ktpm.backend.exception.WrongPassWordException;
+import com.ktpm.backend.jfr.AuthenticationEvent;
 import com.ktpm.backend.repository.UserRepository;
 import com.ktpm.backend.utils.JwtUtil;
+import com.ktpm.backend.utils.ServerTiming;
 import com.ktpm.backend.utils.Validator;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -17,6 +20,7 @@ import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.UUID;
 
+@Timed(value = "app.service", histogram = true)
 @Service
 @AllArgsConstructor
 public class AuthService {
@@ -25,6 +29,21 @@ public class AuthService {
     private final JwtUtil jwtUtil;
 
     public LoginResponseDTO authenticate(String username, String password) {
+        AuthenticationEvent event = new AuthenticationEvent();
+        event.begin();
+        try {
+            LoginResponseDTO response = verifyCredentials(username, password, event);
+            event.setOutcome("SUCCESS");
+            return response;
+        } catch (RuntimeException e) {
+            event.setOutcome(e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private LoginResponseDTO verifyCredentials(String username, String password, AuthenticationEvent event) {
         if (!Validator.isValidUsername(username) || !Validator.isValidPassword(password)) {
             throw new IllegalArgumentException("Username hoặc mật khẩu không hợp lệ");
         }
@@ -35,7 +54,13 @@ public class AuthService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException("Không tìm thấy người dùng"));
 
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        boolean matches;
+        long hashStart = System.nanoTime();
+        try (ServerTiming.Span ignored = ServerTiming.start(ServerTiming.Stage.BCRYPT)) {
+            matches = passwordEncoder.matches(password, user.getPassword());
+        }
+        event.setHashTime(System.nanoTime() - hashStart);
+        if (!matches) {
             throw new WrongPassWordException("Sai mật khẩu");
         }
 
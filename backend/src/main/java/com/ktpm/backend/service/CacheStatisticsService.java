@@ -0,0 +1,50 @@
+package com.ktpm.backend.service;
+
+import com.ktpm.backend.dto.CacheRegionStatsDTO;
+import com.ktpm.backend.entity.Product;
+import com.ktpm.backend.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AllArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@AllArgsConstructor
+public class CacheStatisticsService {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public List<CacheRegionStatsDTO> getRegionStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Set<String> regions = new LinkedHashSet<>(List.of(Product.CACHE_REGION, ProductRepository.LISTING_CACHE_REGION));
+        regions.addAll(Arrays.asList(statistics.getSecondLevelCacheRegionNames()));
+
+        List<CacheRegionStatsDTO> result = new ArrayList<>();
+        for (String region : regions) {
+            CacheRegionStatistics stats = regionStatistics(statistics, region);
+            if (stats == null) {
+                continue;
+            }
+            long lookups = stats.getHitCount() + stats.getMissCount();
+            Double hitRatio = lookups == 0 ? null : (double) stats.getHitCount() / lookups;
+            result.add(new CacheRegionStatsDTO(region, stats.getHitCount(), stats.getMissCount(), stats.getPutCount(), hitRatio));
+        }
+        return result;
+    }
+
+    // region của query cache chỉ được tạo khi query chạy lần đầu; chưa có thì bỏ qua
+    private static CacheRegionStatistics regionStatistics(Statistics statistics, String region) {
+        try {
+            return statistics.getCacheRegionStatistics(region);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
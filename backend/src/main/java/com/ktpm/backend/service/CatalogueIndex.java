@@ -0,0 +1,30 @@
+package com.ktpm.backend.service;
+
+import com.ktpm.backend.dto.ProductRowDTO;
+import com.ktpm.backend.event.ProductChangedEvent;
+
+// Cấu trúc trong bộ nhớ dựng từ toàn bộ catalogue rồi cập nhật theo event sau mỗi commit.
+// Đăng ký với CatalogueSnapshotService: đọc snapshot, buffer event trong lúc dựng và listener AFTER_COMMIT nằm ở đó.
+// Trừ newBuilder và Builder.add (chạy trên thread đọc snapshot), mọi method được gọi dưới lock của service đó
+public interface CatalogueIndex {
+
+    Builder newBuilder();
+
+    // event chưa nằm trong snapshot mà bản đang phục vụ được dựng từ đó
+    void apply(ProductChangedEvent event);
+
+    // mọi event sau commit, kể cả đã nằm trong snapshot: cho dữ liệu không dựng lại được từ catalogue
+    default void onCommitted(ProductChangedEvent event) {
+    }
+
+    interface Builder {
+        // một dòng của snapshot
+        void add(ProductRowDTO row);
+
+        // event commit trong lúc đọc snapshot nhưng chưa nằm trong snapshot
+        void apply(ProductChangedEvent event);
+
+        // swap bản vừa dựng vào thay bản đang phục vụ
+        void install();
+    }
+}
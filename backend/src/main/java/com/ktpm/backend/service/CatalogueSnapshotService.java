@@ -0,0 +1,180 @@
+package com.ktpm.backend.service;
+
+import com.ktpm.backend.event.ProductChangedEvent;
+import com.ktpm.backend.utils.ChangeSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Khung dựng lại dùng chung cho các CatalogueIndex (tìm kiếm, gợi ý, facet, xếp hạng): mọi index cần dựng lại
+// cùng lúc đọc chung một snapshot (một lần export), event commit trong lúc đọc được buffer và chỉ áp lên bản mới
+// nếu snapshot chưa có, sau đó swap cả loạt. Một listener AFTER_COMMIT duy nhất cập nhật mọi index
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogueSnapshotService {
+    private final ProductChangeService productChangeService;
+    private final ReentrantLock lock = new ReentrantLock();
+    // mỗi lần chỉ một lượt đọc snapshot
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // index -> snapshot mà bản đang phục vụ được dựng từ đó: event đã nằm trong snapshot thì không áp lại
+    private final Map<CatalogueIndex, ChangeSnapshot> indexes = new LinkedHashMap<>();
+    // chờ dựng lại / đang dựng lại: yêu cầu lặp lại cho index đang chờ hoặc đang dựng bị bỏ qua
+    private final Set<CatalogueIndex> requested = new LinkedHashSet<>();
+    private final Set<CatalogueIndex> rebuilding = new LinkedHashSet<>();
+    private boolean draining;
+    // khác null trong lúc đọc snapshot: các event commit trong lúc đó
+    private List<ProductChangedEvent> pendingDuringRebuild;
+
+    // Gọi từ constructor của index: tránh vòng phụ thuộc khi index cần gọi ngược rebuildAsync
+    public void register(CatalogueIndex index) {
+        lock.lock();
+        try {
+            indexes.put(index, ChangeSnapshot.EMPTY);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        lock.lock();
+        try {
+            rebuildAsync(indexes.keySet());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void rebuildAsync(CatalogueIndex index) {
+        lock.lock();
+        try {
+            rebuildAsync(List.of(index));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller giữ lock
+    private void rebuildAsync(Collection<CatalogueIndex> targets) {
+        for (CatalogueIndex target : targets) {
+            if (!rebuilding.contains(target)) {
+                requested.add(target);
+            }
+        }
+        if (!draining && !requested.isEmpty()) {
+            draining = true;
+            Thread.ofVirtual().name("catalogue-rebuild").start(this::drainRequested);
+        }
+    }
+
+    private void drainRequested() {
+        while (true) {
+            List<CatalogueIndex> targets;
+            lock.lock();
+            try {
+                if (requested.isEmpty()) {
+                    draining = false;
+                    return;
+                }
+                targets = new ArrayList<>(requested);
+                requested.clear();
+            } finally {
+                lock.unlock();
+            }
+            rebuild(targets);
+        }
+    }
+
+    // Dựng lại đồng bộ mọi index đã đăng ký
+    public void rebuild() {
+        List<CatalogueIndex> targets;
+        lock.lock();
+        try {
+            targets = new ArrayList<>(indexes.keySet());
+        } finally {
+            lock.unlock();
+        }
+        rebuild(targets);
+    }
+
+    private void rebuild(List<CatalogueIndex> targets) {
+        rebuildLock.lock();
+        try {
+            lock.lock();
+            try {
+                pendingDuringRebuild = new ArrayList<>();
+                rebuilding.addAll(targets);
+            } finally {
+                lock.unlock();
+            }
+            try {
+                List<CatalogueIndex.Builder> builders = targets.stream().map(CatalogueIndex::newBuilder).toList();
+                ChangeSnapshot loaded = productChangeService.exportSnapshot(row -> {
+                    for (CatalogueIndex.Builder builder : builders) {
+                        builder.add(row);
+                    }
+                });
+                lock.lock();
+                try {
+                    for (ProductChangedEvent event : pendingDuringRebuild) {
+                        if (!loaded.includes(event.getSeq())) {
+                            builders.forEach(builder -> builder.apply(event));
+                        }
+                    }
+                    for (int i = 0; i < targets.size(); i++) {
+                        builders.get(i).install();
+                        indexes.put(targets.get(i), loaded);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                log.info("Đã dựng lại {} chỉ mục từ catalogue (change feed seq {})", targets.size(), loaded.getHighWaterMark());
+            } catch (RuntimeException e) {
+                log.error("Không dựng được chỉ mục từ catalogue", e);
+            } finally {
+                lock.lock();
+                try {
+                    pendingDuringRebuild = null;
+                    rebuilding.removeAll(targets);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.lock();
+        try {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event);
+            }
+            indexes.forEach((index, snapshot) -> {
+                if (!snapshot.includes(event.getSeq())) {
+                    index.apply(event);
+                }
+                index.onCommitted(event);
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.ktpm.backend.service;
+
+import com.ktpm.backend.dto.ProductChangeDTO;
+import com.ktpm.backend.dto.ProductChangesDTO;
+import com.ktpm.backend.dto.ProductRowDTO;
+import com.ktpm.backend.entity.ProductChange;
+import com.ktpm.backend.entity.ProductChangePosition;
+import com.ktpm.backend.entity.enums.ChangeType;
+import com.ktpm.backend.event.ProductChangedEvent;
+import com.ktpm.backend.repository.ProductChangePositionRepository;
+import com.ktpm.backend.repository.ProductChangeRepository;
+import com.ktpm.backend.repository.ProductRepository;
+import com.ktpm.backend.utils.ChangeSnapshot;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class ProductChangeService {
+    private final ProductChangeRepository productChangeRepository;
+    private final ProductChangePositionRepository productChangePositionRepository;
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProductChangeService(ProductChangeRepository productChangeRepository,
+                                ProductChangePositionRepository productChangePositionRepository,
+                                ProductRepository productRepository,
+                                ApplicationEventPublisher eventPublisher) {
+        this.productChangeRepository = productChangeRepository;
+        this.productChangePositionRepository = productChangePositionRepository;
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Tạo dòng vị trí nếu database chưa có, tiếp nối seq lớn nhất đang có trong product_changes
+    @EventListener(ApplicationStartedEvent.class)
+    public void initPosition() {
+        if (productChangePositionRepository.existsById(ProductChangePosition.ID)) {
+            return;
+        }
+        try {
+            productChangePositionRepository.save(
+                    new ProductChangePosition(ProductChangePosition.ID, productChangeRepository.findLatestSeq()));
+        } catch (DataIntegrityViolationException e) {
+            // node khác vừa tạo trước
+        }
+    }
+
+    // Mỗi sản phẩm chỉ giữ dòng change mới nhất, nên log có kích thước O(catalogue + tombstone).
+    // Vị trí được cấp theo thứ tự commit: dòng vị trí bị khóa từ đây tới lúc commit, transaction sau nhận
+    // seq lớn hơn và chỉ commit được sau transaction này. Client đã thấy seq N thì mọi change commit sau đó
+    // có seq > N, không có change nào lọt xuống dưới high-water mark. Gọi ở bước ghi cuối cùng của transaction
+    // để khóa được giữ ngắn. Event được publish trong transaction, listener dùng @TransactionalEventListener
+    // để chỉ nhận sau commit
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long record(UUID productId, ChangeType changeType, ProductRowDTO product, ProductRowDTO previous) {
+        // ghi trước các thay đổi còn chờ (khóa dòng products) để lúc giữ khóa vị trí không phải chờ khóa nào khác
+        productChangeRepository.flush();
+        productChangePositionRepository.increment();
+        long seq = productChangePositionRepository.findLastSeq();
+        productChangeRepository.deleteByProductId(productId);
+        productChangeRepository.insert(seq, productId, changeType, Instant.now());
+        eventPublisher.publishEvent(new ProductChangedEvent(seq, changeType, productId, product, previous));
+        return seq;
+    }
+
+    @Transactional(readOnly = true)
+    public ProductChangesDTO getChanges(long since, int limit) {
+        List<ProductChange> changes = productChangeRepository.findBySeqGreaterThanOrderBySeqAsc(since, Limit.of(limit + 1));
+
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+
+        Set<UUID> liveIds = changes.stream()
+                .filter(change -> change.getChangeType() != ChangeType.DELETED)
+                .map(ProductChange::getProductId)
+                .collect(Collectors.toSet());
+        Map<UUID, ProductRowDTO> products = liveIds.isEmpty() ? Map.of() : productRepository.findRowsByIdIn(liveIds).stream()
+                .collect(Collectors.toMap(ProductRowDTO::getId, Function.identity()));
+
+        List<ProductChangeDTO> result = changes.stream()
+                .map(change -> {
+                    ProductRowDTO product = products.get(change.getProductId());
+                    ChangeType changeType = product == null ? ChangeType.DELETED : change.getChangeType();
+                    return new ProductChangeDTO(change.getSeq(), change.getProductId(), changeType,
+                            change.getChangedAt(), product);
+                })
+                .toList();
+
+        long highWaterMark = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq();
+        return new ProductChangesDTO(result, highWaterMark, hasMore);
+    }
+
+    @Transactional(readOnly = true)
+    public long getHighWaterMark() {
+        return productChangeRepository.findLatestSeq();
+    }
+
+    // Đọc toàn bộ sản phẩm và vị trí change feed trong cùng một snapshot (REPEATABLE READ) để chỉ mục dựng lại
+    // từ database biết event nào đã nằm trong dữ liệu vừa đọc
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public ChangeSnapshot exportSnapshot(Consumer<ProductRowDTO> consumer) {
+        long highWaterMark = productChangeRepository.findLatestSeq();
+        try (Stream<ProductRowDTO> rows = productRepository.streamAllRows()) {
+            rows.forEach(consumer);
+        }
+        return new ChangeSnapshot(highWaterMark);
+    }
+}
@@ -0,0 +1,122 @@
+package com.ktpm.backend.service;
+
+import com.ktpm.backend.dto.CategoryAggregateDTO;
+import com.ktpm.backend.dto.CategoryFacetDTO;
+import com.ktpm.backend.dto.ProductRowDTO;
+import com.ktpm.backend.event.ProductChangedEvent;
+import com.ktpm.backend.repository.ProductRepository;
+import com.ktpm.backend.utils.CategoryFacets;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Facet theo category phục vụ hoàn toàn từ bộ nhớ: cập nhật bằng delta (previous -> product) sau mỗi commit,
+// định kỳ đối chiếu với GROUP BY trên database và dựng lại nếu lệch
+@Slf4j
+@Service
+public class ProductFacetService implements CatalogueIndex {
+    private final CatalogueSnapshotService catalogue;
+    private final ProductRepository productRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private CategoryFacets facets = new CategoryFacets();
+    // tăng sau mỗi event: reconcile bỏ qua kết quả nếu có thay đổi chen vào giữa lúc đọc database
+    private long version;
+    private boolean ready;
+
+    public ProductFacetService(CatalogueSnapshotService catalogue, ProductRepository productRepository) {
+        this.catalogue = catalogue;
+        this.productRepository = productRepository;
+        catalogue.register(this);
+    }
+
+    // Delta không idempotent: CatalogueSnapshotService chỉ áp event chưa nằm trong snapshot, không đếm hai lần
+    @Override
+    public Builder newBuilder() {
+        CategoryFacets rebuilt = new CategoryFacets();
+        return new Builder() {
+            @Override
+            public void add(ProductRowDTO row) {
+                rebuilt.add(row);
+            }
+
+            @Override
+            public void apply(ProductChangedEvent event) {
+                ProductFacetService.apply(rebuilt, event);
+            }
+
+            @Override
+            public void install() {
+                lock.writeLock().lock();
+                try {
+                    facets = rebuilt;
+                    version++;
+                    ready = true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.info("Đã dựng facet theo category");
+            }
+        };
+    }
+
+    @Override
+    public void apply(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(facets, event);
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<CategoryFacetDTO> getFacets() {
+        lock.readLock().lock();
+        try {
+            return facets.toDTOs();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.facets.reconcile-millis:300000}",
+            initialDelayString = "${app.facets.reconcile-millis:300000}")
+    public void reconcile() {
+        long before;
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                return;
+            }
+            before = version;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<CategoryAggregateDTO> aggregates = productRepository.aggregateByCategory();
+
+        boolean consistent;
+        lock.readLock().lock();
+        try {
+            if (version != before) {
+                return;
+            }
+            consistent = facets.matches(aggregates);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (!consistent) {
+            log.warn("Facet trong bộ nhớ lệch so với database, dựng lại");
+            catalogue.rebuildAsync(this);
+        }
+    }
+
+    private static void apply(CategoryFacets target, ProductChangedEvent event) {
+        target.remove(event.getPrevious());
+        target.add(event.getProduct());
+    }
+}
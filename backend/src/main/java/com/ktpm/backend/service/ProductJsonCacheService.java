@@ -0,0 +1,69 @@
+package com.ktpm.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ktpm.backend.event.ProductChangedEvent;
+import com.ktpm.backend.exception.ProductNotFoundException;
+import com.ktpm.backend.entity.Product;
+import com.ktpm.backend.utils.CachedJson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Cache body JSON của GET /api/products/{id}: lần đầu serialize, các lần sau chỉ copy byte ra response.
+// Product không có cột version nên "version" là writeStamp: tăng mỗi khi có thay đổi commit
+@Service
+public class ProductJsonCacheService {
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final Cache<UUID, CachedJson> cache;
+    private final AtomicLong writeStamp = new AtomicLong();
+
+    public ProductJsonCacheService(
+            ProductService productService,
+            ObjectMapper objectMapper,
+            @Value("${app.json-cache.max-bytes:33554432}") long maxBytes
+    ) {
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((UUID id, CachedJson json) -> json.weight())
+                .build();
+    }
+
+    public CachedJson get(UUID id) {
+        CachedJson cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = writeStamp.get();
+        Product product = productService.getProduct(id)
+                .orElseThrow(() -> new ProductNotFoundException("Không tìm thấy sản phẩm"));
+        CachedJson created;
+        try {
+            created = CachedJson.of(objectMapper.writeValueAsBytes(product));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Lỗi khi serialize sản phẩm", e);
+        }
+        cache.put(id, created);
+        // Có thay đổi commit trong lúc đọc: bản vừa đọc có thể đã cũ, không giữ lại
+        if (writeStamp.get() != stamp) {
+            cache.asMap().remove(id, created);
+        }
+        return created;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProductChanged(ProductChangedEvent event) {
+        writeStamp.incrementAndGet();
+        cache.invalidate(event.getProductId());
+    }
+}
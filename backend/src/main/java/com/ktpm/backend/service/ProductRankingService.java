@@ -0,0 +1,159 @@
+package com.ktpm.backend.service;
+
+import com.ktpm.backend.dto.ProductRankingDTO;
+import com.ktpm.backend.dto.ProductRowDTO;
+import com.ktpm.backend.entity.enums.ChangeType;
+import com.ktpm.backend.event.ProductChangedEvent;
+import com.ktpm.backend.utils.HeavyHitters;
+import com.ktpm.backend.utils.IndexedMinHeap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Bán chạy và sắp hết hàng phục vụ từ bộ nhớ, không ORDER BY trên database.
+// Bán chạy: mỗi lần updateProduct giảm quantity được tính là bán (previous - product) và đưa vào HeavyHitters.
+// Sắp hết hàng: min-heap theo quantity của toàn bộ sản phẩm, dựng từ export lúc khởi động rồi cập nhật theo event
+@Slf4j
+@Service
+public class ProductRankingService implements CatalogueIndex {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final HeavyHitters topSellers;
+
+    private Stock stock = new Stock();
+
+    public ProductRankingService(CatalogueSnapshotService catalogue,
+                                 @Value("${app.rankings.top-sellers.capacity:100}") int capacity,
+                                 @Value("${app.rankings.top-sellers.sketch-width:4096}") int sketchWidth,
+                                 @Value("${app.rankings.top-sellers.sketch-depth:5}") int sketchDepth) {
+        this.topSellers = new HeavyHitters(capacity, sketchWidth, sketchDepth);
+        catalogue.register(this);
+    }
+
+    @Override
+    public Builder newBuilder() {
+        Stock rebuilt = new Stock();
+        return new Builder() {
+            @Override
+            public void add(ProductRowDTO row) {
+                rebuilt.put(row);
+            }
+
+            @Override
+            public void apply(ProductChangedEvent event) {
+                rebuilt.apply(event);
+            }
+
+            @Override
+            public void install() {
+                lock.writeLock().lock();
+                try {
+                    stock = rebuilt;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.info("Đã dựng danh sách tồn kho: {} sản phẩm", rebuilt.rows.size());
+            }
+        };
+    }
+
+    @Override
+    public void apply(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            stock.apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Lượt bán chỉ có trong event, không dựng lại được từ catalogue: đếm mọi event, kể cả đã nằm trong snapshot
+    @Override
+    public void onCommitted(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.getChangeType() == ChangeType.DELETED) {
+                topSellers.remove(event.getProductId());
+            } else {
+                long sold = sold(event);
+                if (sold > 0) {
+                    topSellers.add(event.getProductId(), sold);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<ProductRankingDTO> getTopSellers(int limit) {
+        lock.readLock().lock();
+        try {
+            return toDTOs(topSellers.top(limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ProductRankingDTO> getLowStock(int limit) {
+        lock.readLock().lock();
+        try {
+            return toDTOs(stock.quantities.smallest(limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<ProductRankingDTO> toDTOs(List<IndexedMinHeap.Entry> entries) {
+        List<ProductRankingDTO> rankings = new ArrayList<>(entries.size());
+        for (IndexedMinHeap.Entry entry : entries) {
+            ProductRowDTO row = stock.rows.get(entry.getId());
+            if (row != null) {
+                rankings.add(new ProductRankingDTO(row.getId(), row.getProductName(), row.getCategory(),
+                        row.getQuantity(), topSellers.estimate(row.getId())));
+            }
+        }
+        return rankings;
+    }
+
+    private static long sold(ProductChangedEvent event) {
+        ProductRowDTO previous = event.getPrevious();
+        ProductRowDTO product = event.getProduct();
+        if (event.getChangeType() != ChangeType.UPDATED || previous == null || product == null
+                || previous.getQuantity() == null || product.getQuantity() == null) {
+            return 0;
+        }
+        return previous.getQuantity() - product.getQuantity();
+    }
+
+    // Không thread-safe: caller giữ write lock, hoặc là thread duy nhất đang dựng bản mới
+    private static class Stock {
+        private final IndexedMinHeap quantities = new IndexedMinHeap();
+        // không giữ description: chỉ cần tên, category, quantity để trả về
+        private final Map<UUID, ProductRowDTO> rows = new HashMap<>();
+
+        void put(ProductRowDTO row) {
+            rows.put(row.getId(), new ProductRowDTO(row.getId(), row.getProductName(), row.getPrice(),
+                    row.getQuantity(), null, row.getCategory()));
+            if (row.getQuantity() == null) {
+                quantities.remove(row.getId());
+            } else {
+                quantities.set(row.getId(), row.getQuantity());
+            }
+        }
+
+        void apply(ProductChangedEvent event) {
+            if (event.getChangeType() == ChangeType.DELETED || event.getProduct() == null) {
+                rows.remove(event.getProductId());
+                quantities.remove(event.getProductId());
+            } else {
+                put(event.getProduct());
+            }
+        }
+    }
+}
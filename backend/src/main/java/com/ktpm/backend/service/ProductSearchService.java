@@ -0,0 +1,105 @@
+package com.ktpm.backend.service;
+
+import com.ktpm.backend.dto.ProductRowDTO;
+import com.ktpm.backend.dto.ProductSearchHitDTO;
+import com.ktpm.backend.dto.ProductSearchResultDTO;
+import com.ktpm.backend.entity.Product;
+import com.ktpm.backend.entity.enums.ChangeType;
+import com.ktpm.backend.event.ProductChangedEvent;
+import com.ktpm.backend.repository.ProductRepository;
+import com.ktpm.backend.utils.InvertedIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ProductSearchService implements CatalogueIndex {
+    private final ProductRepository productRepository;
+    private final CatalogueSnapshotService catalogue;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private InvertedIndex index = new InvertedIndex();
+
+    public ProductSearchService(ProductRepository productRepository, CatalogueSnapshotService catalogue) {
+        this.productRepository = productRepository;
+        this.catalogue = catalogue;
+        catalogue.register(this);
+    }
+
+    @Override
+    public Builder newBuilder() {
+        InvertedIndex rebuilt = new InvertedIndex();
+        return new Builder() {
+            @Override
+            public void add(ProductRowDTO row) {
+                rebuilt.upsert(row.getId(), row.getProductName(), row.getDescription());
+            }
+
+            @Override
+            public void apply(ProductChangedEvent event) {
+                ProductSearchService.apply(rebuilt, event);
+            }
+
+            @Override
+            public void install() {
+                lock.writeLock().lock();
+                try {
+                    index = rebuilt;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.info("Đã dựng chỉ mục tìm kiếm: {} sản phẩm, {} từ khóa", rebuilt.getDocumentCount(), rebuilt.getTermCount());
+            }
+        };
+    }
+
+    // Quá nhiều doc đã xóa: dựng lại chỉ mục gọn ở background rồi swap, không compact trên thread commit
+    @Override
+    public void apply(ProductChangedEvent event) {
+        boolean needsCompaction;
+        lock.writeLock().lock();
+        try {
+            apply(index, event);
+            needsCompaction = index.needsCompaction();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (needsCompaction) {
+            catalogue.rebuildAsync(this);
+        }
+    }
+
+    public ProductSearchResultDTO search(String query, int limit) {
+        InvertedIndex.SearchResult result;
+        lock.readLock().lock();
+        try {
+            result = index.search(query, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<UUID> ids = result.getHits().stream().map(InvertedIndex.Hit::getProductId).toList();
+        Map<UUID, Product> products = productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductSearchHitDTO> hits = result.getHits().stream()
+                .filter(hit -> products.containsKey(hit.getProductId()))
+                .map(hit -> new ProductSearchHitDTO(products.get(hit.getProductId()), hit.getScore()))
+                .toList();
+        return new ProductSearchResultDTO(hits, result.getTotal());
+    }
+
+    private static void apply(InvertedIndex target, ProductChangedEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED || event.getProduct() == null) {
+            target.remove(event.getProductId());
+        } else {
+            target.upsert(event.getProductId(), event.getProduct().getProductName(), event.getProduct().getDescription());
+        }
+    }
+}
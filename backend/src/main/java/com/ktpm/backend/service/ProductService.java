@@ -1,21 +1,42 @@
 package com.ktpm.backend.service;
 
+import com.ktpm.backend.dto.ProductFilterDTO;
+import com.ktpm.backend.dto.ProductMultiGetDTO;
+import com.ktpm.backend.dto.ProductRowDTO;
+import com.ktpm.backend.dto.ProductWindowDTO;
 import com.ktpm.backend.entity.Product;
+import com.ktpm.backend.entity.enums.ChangeType;
 import com.ktpm.backend.exception.ProductNotFoundException;
 import com.ktpm.backend.repository.ProductRepository;
+import com.ktpm.backend.repository.ProductSpecifications;
+import com.ktpm.backend.utils.ProductCursor;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+// Mỗi method public: timer app.service{class, method} kèm histogram (TimedAspect của Actuator)
+@Timed(value = "app.service", histogram = true)
 @Service
 @AllArgsConstructor
 public class ProductService {
     private final ProductRepository productRepository;
+    private final ProductChangeService productChangeService;
 
+    @Transactional(readOnly = true)
     public Page<Product> getAll(Pageable pageable) {
         try {
             return productRepository.findAll(pageable);
@@ -24,22 +45,104 @@ public class ProductService {
         }
     }
 
+    @Transactional(readOnly = true)
+    public Page<Product> getAll(ProductFilterDTO filter, Pageable pageable) {
+        if (filter.isEmpty()) {
+            return getAll(pageable);
+        }
+        try {
+            return productRepository.findAll(ProductSpecifications.matches(filter), pageable);
+        } catch (Exception e) {
+            throw new RuntimeException("Lỗi khi lấy danh sách sản phẩm");
+        }
+    }
+
+    // Chỉ SELECT các cột được yêu cầu; kết quả không phải entity nên Hibernate không giữ snapshot để dirty check
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllProjected(ProductFilterDTO filter, Pageable pageable, List<String> fields) {
+        try {
+            return productRepository.findProjected(ProductSpecifications.matches(filter), pageable, fields);
+        } catch (Exception e) {
+            throw new RuntimeException("Lỗi khi lấy danh sách sản phẩm");
+        }
+    }
+
+    // Phân trang keyset: không có OFFSET/COUNT, chi phí mỗi trang không phụ thuộc vị trí trang
+    @Transactional(readOnly = true)
+    public ProductWindowDTO scroll(ProductFilterDTO filter, String sortBy, Sort.Direction direction, String after, int limit) {
+        Specification<Product> spec = ProductSpecifications.matches(filter);
+        if (after != null) {
+            spec = spec.and(ProductSpecifications.after(ProductCursor.decode(after, sortBy), direction));
+        }
+        Sort sort = "id".equals(sortBy)
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, sortBy).and(Sort.by(direction, "id"));
+
+        List<Product> products = productRepository.findBy(spec, query -> query.sortBy(sort).limit(limit + 1).all());
+        boolean hasNext = products.size() > limit;
+        if (hasNext) {
+            products = products.subList(0, limit);
+        }
+        String nextCursor = hasNext ? ProductCursor.of(products.get(limit - 1), sortBy).encode() : null;
+        return new ProductWindowDTO(products, nextCursor, hasNext);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportProducts(Consumer<ProductRowDTO> consumer) {
+        try (Stream<ProductRowDTO> rows = productRepository.streamAllRows()) {
+            rows.forEach(consumer);
+        }
+    }
+
+    // Màn chi tiết cần description (LAZY). open-in-view tắt nên Jackson ghi response sau khi transaction đóng
+    // và bỏ qua thuộc tính chưa nạp: đọc description ở đây để bytecode enhancement nạp nó trong transaction
+    @Transactional(readOnly = true)
     public Optional<Product> getProduct(UUID id) {
-        return Optional.ofNullable(productRepository.findById(id)
-                .orElseThrow(() -> new ProductNotFoundException("Không tìm thấy sản phẩm")));
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ProductNotFoundException("Không tìm thấy sản phẩm"));
+        product.getDescription();
+        return Optional.of(product);
+    }
+
+    // Một lượt cho nhiều id (giỏ hàng, wishlist): id trùng chỉ lấy một lần, id không tồn tại trả về trong missing
+    @Transactional(readOnly = true)
+    public ProductMultiGetDTO getProducts(List<UUID> ids) {
+        List<UUID> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        List<Product> loaded;
+        try {
+            loaded = productRepository.findAllByIdOrdered(distinctIds);
+        } catch (Exception e) {
+            throw new RuntimeException("Lỗi khi lấy danh sách sản phẩm");
+        }
+
+        List<Product> products = new ArrayList<>(distinctIds.size());
+        List<UUID> missing = new ArrayList<>();
+        for (int i = 0; i < distinctIds.size(); i++) {
+            if (loaded.get(i) == null) {
+                missing.add(distinctIds.get(i));
+            } else {
+                products.add(loaded.get(i));
+            }
+        }
+        return new ProductMultiGetDTO(products, missing);
     }
 
+    @Transactional
     public Product createProduct(Product product) {
         try {
-            return productRepository.save(product);
+            Product createdProduct = productRepository.save(product);
+            productChangeService.record(createdProduct.getId(), ChangeType.CREATED, ProductRowDTO.from(createdProduct), null);
+            return createdProduct;
         } catch (Exception e) {
             throw new RuntimeException("Lỗi khi tạo sản phẩm");
         }
     }
 
+    @Transactional
     public Product updateProduct(UUID id, Product product) {
         Product oldProduct = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Không tìm thấy sản phẩm"));
+        ProductRowDTO previous = ProductRowDTO.withoutDescription(oldProduct);
 
         oldProduct.setProductName(product.getProductName());
         oldProduct.setPrice(product.getPrice());
@@ -47,18 +150,22 @@ public class ProductService {
         oldProduct.setDescription(product.getDescription());
         oldProduct.setCategory(product.getCategory());
         try {
-            return productRepository.save(oldProduct);
+            Product updatedProduct = productRepository.save(oldProduct);
+            productChangeService.record(id, ChangeType.UPDATED, ProductRowDTO.from(updatedProduct), previous);
+            return updatedProduct;
         } catch (Exception e) {
             throw new RuntimeException("Lỗi khi cập nhật sản phẩm");
         }
 
     }
 
+    @Transactional
     public void deleteProduct(UUID id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Không tìm thấy sản phẩm"));
         try {
             productRepository.delete(product);
+            productChangeService.record(id, ChangeType.DELETED, null, ProductRowDTO.withoutDescription(product));
         } catch (Exception e) {
             throw new RuntimeException("Lỗi khi xóa sản phẩm");
         }
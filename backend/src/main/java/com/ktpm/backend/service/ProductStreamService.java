@@ -0,0 +1,304 @@
+package com.ktpm.backend.service;
+
+import com.ktpm.backend.dto.ProductChangeDTO;
+import com.ktpm.backend.dto.ProductChangesDTO;
+import com.ktpm.backend.event.ProductChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Một fan-out dùng chung cho cả node: mỗi client có buffer riêng (gộp theo productId, có giới hạn),
+// việc gửi chạy trên virtual thread nên client chậm không chặn thread commit và kết nối rảnh không giữ thread nào.
+// Listener sau commit của các transaction chạy song song nên event đến không theo thứ tự seq: event chỉ là tín hiệu,
+// một luồng duy nhất đọc change feed từ con trỏ của node và phát theo thứ tự seq. Id SSE vì vậy tăng dần và
+// Last-Event-ID là con trỏ chính xác để replay
+@Slf4j
+@Service
+public class ProductStreamService {
+    public static final int MAX_REPLAY = 1000;
+
+    private final ProductChangeService productChangeService;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+    private final ReentrantLock tailLock = new ReentrantLock();
+    // seq cuối cùng đã phát cho subscriber; -1: chưa đọc từ database
+    private long tailCursor = -1;
+    private boolean tailDue;
+    private boolean tailing;
+
+    public ProductStreamService(ProductChangeService productChangeService,
+                                @Value("${app.stream.timeout-millis:1800000}") long timeoutMillis,
+                                @Value("${app.stream.buffer-size:256}") int bufferSize) {
+        this.productChangeService = productChangeService;
+        this.timeoutMillis = timeoutMillis;
+        this.bufferSize = bufferSize;
+    }
+
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, lastEventId != null);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscriber.close(null));
+        emitter.onError(e -> subscriber.close(null));
+
+        initTailCursor();
+        // Đăng ký trước rồi mới replay: mọi change commit sau thời điểm này nằm trong buffer,
+        // mọi change commit trước đó nằm trong kết quả replay; phần trùng được loại theo seq
+        subscribers.add(subscriber);
+        if (lastEventId != null) {
+            dispatcher.execute(() -> subscriber.replay(lastEventId));
+        }
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProductChanged(ProductChangedEvent event) {
+        tailLock.lock();
+        try {
+            if (subscribers.isEmpty() && !tailing) {
+                // không ai nghe: change này và mọi change trước nó đã commit xong trước subscriber tiếp theo
+                tailCursor = Math.max(tailCursor, event.getSeq());
+                return;
+            }
+            tailDue = true;
+            if (tailing) {
+                return;
+            }
+            tailing = true;
+        } finally {
+            tailLock.unlock();
+        }
+        dispatcher.execute(this::tail);
+    }
+
+    private void initTailCursor() {
+        tailLock.lock();
+        try {
+            if (tailCursor < 0) {
+                tailCursor = productChangeService.getHighWaterMark();
+            }
+        } finally {
+            tailLock.unlock();
+        }
+    }
+
+    // Đọc các change sau con trỏ theo thứ tự seq; seq được cấp theo thứ tự commit nên không change nào
+    // commit muộn lọt xuống dưới con trỏ
+    private void tail() {
+        while (true) {
+            long since;
+            tailLock.lock();
+            try {
+                if (!tailDue) {
+                    tailing = false;
+                    return;
+                }
+                tailDue = false;
+                since = tailCursor;
+            } finally {
+                tailLock.unlock();
+            }
+            try {
+                ProductChangesDTO changes;
+                do {
+                    changes = productChangeService.getChanges(since, MAX_REPLAY);
+                    for (ProductChangeDTO change : changes.getChanges()) {
+                        ProductChangedEvent event = toEvent(change);
+                        for (Subscriber subscriber : subscribers) {
+                            subscriber.offer(event);
+                        }
+                    }
+                    since = changes.getHighWaterMark();
+                    tailLock.lock();
+                    try {
+                        tailCursor = since;
+                    } finally {
+                        tailLock.unlock();
+                    }
+                } while (changes.isHasMore());
+            } catch (Exception e) {
+                // commit tiếp theo sẽ đọc lại từ con trỏ
+                log.warn("Không đọc được change feed cho SSE: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static ProductChangedEvent toEvent(ProductChangeDTO change) {
+        return new ProductChangedEvent(change.getSeq(), change.getChangeType(), change.getProductId(),
+                change.getProduct(), null);
+    }
+
+    @Scheduled(fixedDelayString = "${app.stream.heartbeat-millis:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeat();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        dispatcher.shutdownNow();
+    }
+
+    private class Subscriber {
+        private final SseEmitter emitter;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<UUID, ProductChangedEvent> pending = new LinkedHashMap<>();
+        // seq lớn nhất client đã nhận qua replay, event tới seq này bị bỏ qua
+        private long cursor;
+        private boolean live;
+        private boolean draining;
+        private boolean heartbeatDue;
+        private boolean closed;
+
+        Subscriber(SseEmitter emitter, boolean resuming) {
+            this.emitter = emitter;
+            this.live = !resuming;
+        }
+
+        void offer(ProductChangedEvent event) {
+            boolean overflow;
+            lock.lock();
+            try {
+                if (closed || event.getSeq() <= cursor) {
+                    return;
+                }
+                // Gộp: chỉ giữ trạng thái mới nhất của mỗi sản phẩm
+                pending.remove(event.getProductId());
+                pending.put(event.getProductId(), event);
+                overflow = pending.size() > bufferSize;
+            } finally {
+                lock.unlock();
+            }
+            if (overflow) {
+                // Client quá chậm: ngắt kết nối, EventSource sẽ tự kết nối lại với Last-Event-ID
+                close(null);
+                return;
+            }
+            scheduleDrain();
+        }
+
+        void heartbeat() {
+            lock.lock();
+            try {
+                heartbeatDue = true;
+            } finally {
+                lock.unlock();
+            }
+            scheduleDrain();
+        }
+
+        void replay(long lastEventId) {
+            try {
+                ProductChangesDTO changes = productChangeService.getChanges(lastEventId, MAX_REPLAY);
+                if (changes.isHasMore()) {
+                    send(SseEmitter.event().name("reset").data("{}", MediaType.APPLICATION_JSON));
+                }
+                for (ProductChangeDTO change : changes.getChanges()) {
+                    send(toSse(toEvent(change)));
+                }
+
+                long replayedTo = changes.getHighWaterMark();
+                lock.lock();
+                try {
+                    cursor = replayedTo;
+                    pending.values().removeIf(event -> event.getSeq() <= replayedTo);
+                    live = true;
+                } finally {
+                    lock.unlock();
+                }
+                scheduleDrain();
+            } catch (Exception e) {
+                close(e);
+            }
+        }
+
+        private void scheduleDrain() {
+            lock.lock();
+            try {
+                if (!live || draining || closed || (pending.isEmpty() && !heartbeatDue)) {
+                    return;
+                }
+                draining = true;
+            } finally {
+                lock.unlock();
+            }
+            dispatcher.execute(this::drain);
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    ProductChangedEvent next = null;
+                    boolean sendHeartbeat = false;
+                    lock.lock();
+                    try {
+                        Iterator<ProductChangedEvent> iterator = pending.values().iterator();
+                        if (iterator.hasNext()) {
+                            next = iterator.next();
+                            iterator.remove();
+                        } else if (heartbeatDue) {
+                            sendHeartbeat = true;
+                        } else {
+                            draining = false;
+                            return;
+                        }
+                        heartbeatDue = false;
+                    } finally {
+                        lock.unlock();
+                    }
+                    send(sendHeartbeat ? SseEmitter.event().comment("heartbeat") : toSse(next));
+                }
+            } catch (Exception e) {
+                close(e);
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            emitter.send(event);
+        }
+
+        private SseEmitter.SseEventBuilder toSse(ProductChangedEvent event) {
+            return SseEmitter.event()
+                    .id(String.valueOf(event.getSeq()))
+                    .name(event.getChangeType().name().toLowerCase())
+                    .data(event, MediaType.APPLICATION_JSON);
+        }
+
+        void close(Exception cause) {
+            lock.lock();
+            try {
+                closed = true;
+                draining = false;
+                pending.clear();
+            } finally {
+                lock.unlock();
+            }
+            subscribers.remove(this);
+            if (cause != null) {
+                log.debug("Đóng SSE subscriber: {}", cause.getMessage());
+            }
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.ktpm.backend.service;
+
+import com.ktpm.backend.dto.ProductRowDTO;
+import com.ktpm.backend.dto.ProductSuggestionDTO;
+import com.ktpm.backend.entity.enums.ChangeType;
+import com.ktpm.backend.event.ProductChangedEvent;
+import com.ktpm.backend.utils.SuggestIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Đọc không khóa: snapshot = chỉ mục bất biến + các thay đổi sau lần build gần nhất.
+// Khi số thay đổi vượt max-pending-updates (hoặc theo lịch) chỉ mục được build lại ở background rồi swap
+@Slf4j
+@Service
+public class ProductSuggestService implements CatalogueIndex {
+    private final CatalogueSnapshotService catalogue;
+    private final int maxPendingUpdates;
+
+    private volatile Snapshot snapshot = new Snapshot(SuggestIndex.builder().build(), new ConcurrentHashMap<>());
+
+    public ProductSuggestService(CatalogueSnapshotService catalogue,
+                                 @Value("${app.suggest.max-pending-updates:1024}") int maxPendingUpdates) {
+        this.catalogue = catalogue;
+        this.maxPendingUpdates = maxPendingUpdates;
+        catalogue.register(this);
+    }
+
+    @Scheduled(fixedDelayString = "${app.suggest.rebuild-millis:600000}",
+            initialDelayString = "${app.suggest.rebuild-millis:600000}")
+    public void scheduledRebuild() {
+        if (!snapshot.updates.isEmpty()) {
+            catalogue.rebuildAsync(this);
+        }
+    }
+
+    // Thay đổi commit trong lúc đọc snapshot đi vào updates của snapshot mới, chỉ mục mới chỉ chứa dữ liệu đã đọc
+    @Override
+    public Builder newBuilder() {
+        SuggestIndex.Builder builder = SuggestIndex.builder();
+        Map<UUID, Update> updates = new ConcurrentHashMap<>();
+        return new Builder() {
+            @Override
+            public void add(ProductRowDTO row) {
+                builder.add(row.getId(), row.getProductName(), score(row));
+            }
+
+            @Override
+            public void apply(ProductChangedEvent event) {
+                updates.put(event.getProductId(), Update.of(event));
+            }
+
+            @Override
+            public void install() {
+                SuggestIndex index = builder.build();
+                snapshot = new Snapshot(index, updates);
+                log.info("Đã dựng chỉ mục gợi ý: {} sản phẩm", index.size());
+            }
+        };
+    }
+
+    @Override
+    public void apply(ProductChangedEvent event) {
+        Map<UUID, Update> updates = snapshot.updates;
+        updates.put(event.getProductId(), Update.of(event));
+        if (updates.size() > maxPendingUpdates) {
+            catalogue.rebuildAsync(this);
+        }
+    }
+
+    public List<ProductSuggestionDTO> suggest(String prefix, int limit) {
+        String key = SuggestIndex.normalizePrefix(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        List<SuggestIndex.Entry> candidates = new ArrayList<>(current.index.suggest(key, limit, current.updates::containsKey));
+        for (Update update : current.updates.values()) {
+            if (update.matches(key)) {
+                candidates.add(update.entry);
+            }
+        }
+        candidates.sort(SuggestIndex.ORDER);
+        return candidates.stream()
+                .limit(limit)
+                .map(entry -> new ProductSuggestionDTO(entry.getId(), entry.getProductName()))
+                .toList();
+    }
+
+    // Điểm xếp hạng: ưu tiên sản phẩm còn nhiều hàng
+    private static int score(ProductRowDTO row) {
+        return row.getQuantity() == null ? 0 : row.getQuantity();
+    }
+
+    private record Snapshot(SuggestIndex index, Map<UUID, Update> updates) {
+    }
+
+    // entry == null: sản phẩm đã bị xóa, chỉ dùng để ẩn bản cũ trong chỉ mục
+    private record Update(SuggestIndex.Entry entry, List<String> keys) {
+        static Update of(ProductChangedEvent event) {
+            ProductRowDTO product = event.getProduct();
+            if (event.getChangeType() == ChangeType.DELETED || product == null || product.getProductName() == null) {
+                return new Update(null, List.of());
+            }
+            return new Update(new SuggestIndex.Entry(event.getProductId(), product.getProductName(), score(product)),
+                    SuggestIndex.keysOf(product.getProductName()));
+        }
+
+        boolean matches(String prefix) {
+            return entry != null && keys.stream().anyMatch(key -> key.startsWith(prefix));
+        }
+    }
+}
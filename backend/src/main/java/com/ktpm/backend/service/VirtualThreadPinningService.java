@@ -0,0 +1,117 @@
+package com.ktpm.backend.service;
+
+import com.ktpm.backend.dto.PinningSiteDTO;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// Phát hiện virtual thread bị ghim vào carrier thread (chờ I/O hoặc lock trong synchronized, native frame)
+// qua JFR event jdk.VirtualThreadPinned. Chỉ chạy khi bật virtual thread; gom theo frame đầu tiên của ứng dụng
+@Slf4j
+@Service
+public class VirtualThreadPinningService {
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.ktpm.";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningService(@Value("${spring.threads.virtual.enabled:false}") boolean enabled,
+                                       @Value("${app.virtual-threads.pinning-threshold-millis:20}") long thresholdMillis) {
+        this.enabled = enabled;
+        this.threshold = Duration.ofMillis(thresholdMillis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recording.onEvent(PINNED_EVENT, this::onPinned);
+            recording.startAsync();
+            stream = recording;
+            log.info("Theo dõi virtual thread bị ghim lâu hơn {} ms", threshold.toMillis());
+        } catch (RuntimeException e) {
+            log.warn("Không bật được JFR để theo dõi virtual thread bị ghim", e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    // Tổng thời gian bị ghim giảm dần
+    public List<PinningSiteDTO> getSites() {
+        return sites.entrySet().stream()
+                .map(entry -> entry.getValue().toDTO(entry.getKey()))
+                .sorted(Comparator.comparingDouble(PinningSiteDTO::getTotalMillis).reversed())
+                .toList();
+    }
+
+    // true khi lần đầu gặp site này
+    boolean record(String site, Duration duration) {
+        boolean[] first = new boolean[1];
+        Site stats = sites.computeIfAbsent(site, key -> {
+            first[0] = true;
+            return new Site();
+        });
+        stats.count.increment();
+        stats.totalNanos.add(duration.toNanos());
+        stats.maxNanos.accumulate(duration.toNanos());
+        return first[0];
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+        String site = frames.stream()
+                .map(VirtualThreadPinningService::format)
+                .filter(frame -> frame.startsWith(APP_PACKAGE))
+                .findFirst()
+                .orElse(frames.isEmpty() ? "unknown" : format(frames.get(0)));
+        if (record(site, event.getDuration())) {
+            log.warn("Virtual thread bị ghim {} ms tại {}:\n\tat {}", event.getDuration().toMillis(), site,
+                    frames.stream().limit(LOGGED_FRAMES).map(VirtualThreadPinningService::format)
+                            .collect(Collectors.joining("\n\tat ")));
+        }
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static class Site {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+        PinningSiteDTO toDTO(String site) {
+            return new PinningSiteDTO(site, count.sum(), totalNanos.sum() / 1e6, maxNanos.get() / 1e6);
+        }
+    }
+}
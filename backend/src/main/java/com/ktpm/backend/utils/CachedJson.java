@@ -0,0 +1,79 @@
+package com.ktpm.backend.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+// Body JSON đã serialize sẵn (UTF-8) kèm bản gzip và ETag, ghi thẳng ra response không qua HttpMessageConverter
+@Getter
+public class CachedJson {
+    private final byte[] json;
+    // null khi nén không nhỏ hơn bản gốc (body quá ngắn)
+    private final byte[] gzip;
+    private final String etag;
+
+    private CachedJson(byte[] json, byte[] gzip, String etag) {
+        this.json = json;
+        this.gzip = gzip;
+        this.etag = etag;
+    }
+
+    public static CachedJson of(byte[] json) {
+        byte[] gzip = gzip(json);
+        // ETag yếu: cùng nội dung nhưng có hai cách mã hóa (gzip / không nén)
+        String etag = "W/\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+        return new CachedJson(json, gzip.length < json.length ? gzip : null, etag);
+    }
+
+    public int weight() {
+        return json.length + (gzip == null ? 0 : gzip.length);
+    }
+
+    public void writeTo(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        byte[] body = json;
+        if (gzip != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = gzip;
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,131 @@
+package com.ktpm.backend.utils;
+
+import com.ktpm.backend.dto.CategoryAggregateDTO;
+import com.ktpm.backend.dto.CategoryFacetDTO;
+import com.ktpm.backend.dto.ProductRowDTO;
+import com.ktpm.backend.entity.enums.Category;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+// Thống kê theo Category trong các mảng nguyên thủy, chỉ số = Category.ordinal().
+// Giá của mỗi category là multiset: mảng int[] các mức giá đã sắp xếp + số sản phẩm ở mỗi mức, nên min/max
+// vẫn đúng sau khi sửa/xóa chính sản phẩm đang giữ min/max. Thêm/bớt một sản phẩm ở mức giá đã có là
+// O(log số mức giá); chỉ khi một mức giá xuất hiện hoặc biến mất mới phải dịch mảng. Không thread-safe: caller giữ lock
+public class CategoryFacets {
+    private static final Category[] CATEGORIES = Category.values();
+    private static final int INITIAL_LEVELS = 16;
+
+    private final long[] counts = new long[CATEGORIES.length];
+    private final long[] quantitySums = new long[CATEGORIES.length];
+    private final long[] priceSums = new long[CATEGORIES.length];
+    private final int[] priceCounts = new int[CATEGORIES.length];
+    // prices[c][0..levels[c]) tăng dần, productsAtPrice[c][i] = số sản phẩm có giá prices[c][i]
+    private final int[][] prices = new int[CATEGORIES.length][INITIAL_LEVELS];
+    private final int[][] productsAtPrice = new int[CATEGORIES.length][INITIAL_LEVELS];
+    private final int[] levels = new int[CATEGORIES.length];
+
+    public void add(ProductRowDTO product) {
+        apply(product, 1);
+    }
+
+    public void remove(ProductRowDTO product) {
+        apply(product, -1);
+    }
+
+    public List<CategoryFacetDTO> toDTOs() {
+        List<CategoryFacetDTO> facets = new ArrayList<>(CATEGORIES.length);
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            int priced = priceCounts[c];
+            facets.add(new CategoryFacetDTO(
+                    CATEGORIES[c],
+                    counts[c],
+                    quantitySums[c],
+                    priced == 0 ? null : prices[c][0],
+                    priced == 0 ? null : prices[c][levels[c] - 1],
+                    priced == 0 ? null : (double) priceSums[c] / priced
+            ));
+        }
+        return facets;
+    }
+
+    public boolean matches(List<CategoryAggregateDTO> aggregates) {
+        long[] expectedCounts = new long[CATEGORIES.length];
+        long[] expectedQuantities = new long[CATEGORIES.length];
+        long[] expectedPriceSums = new long[CATEGORIES.length];
+        Integer[] expectedMin = new Integer[CATEGORIES.length];
+        Integer[] expectedMax = new Integer[CATEGORIES.length];
+        for (CategoryAggregateDTO aggregate : aggregates) {
+            int c = aggregate.getCategory().ordinal();
+            expectedCounts[c] = aggregate.getCount();
+            expectedQuantities[c] = aggregate.getTotalQuantity();
+            expectedPriceSums[c] = aggregate.getPriceSum();
+            expectedMin[c] = aggregate.getMinPrice();
+            expectedMax[c] = aggregate.getMaxPrice();
+        }
+
+        List<CategoryFacetDTO> actual = toDTOs();
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            CategoryFacetDTO facet = actual.get(c);
+            if (facet.getCount() != expectedCounts[c]
+                    || facet.getTotalQuantity() != expectedQuantities[c]
+                    || priceSums[c] != expectedPriceSums[c]
+                    || !Objects.equals(facet.getMinPrice(), expectedMin[c])
+                    || !Objects.equals(facet.getMaxPrice(), expectedMax[c])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void apply(ProductRowDTO product, int sign) {
+        if (product == null || product.getCategory() == null) {
+            return;
+        }
+        int c = product.getCategory().ordinal();
+        counts[c] += sign;
+        quantitySums[c] += sign * (long) (product.getQuantity() == null ? 0 : product.getQuantity());
+        if (product.getPrice() == null) {
+            return;
+        }
+        priceSums[c] += sign * (long) product.getPrice();
+        if (sign > 0) {
+            addPrice(c, product.getPrice());
+        } else {
+            removePrice(c, product.getPrice());
+        }
+    }
+
+    private void addPrice(int c, int price) {
+        int level = Arrays.binarySearch(prices[c], 0, levels[c], price);
+        if (level < 0) {
+            level = -level - 1;
+            if (levels[c] == prices[c].length) {
+                prices[c] = Arrays.copyOf(prices[c], levels[c] * 2);
+                productsAtPrice[c] = Arrays.copyOf(productsAtPrice[c], levels[c] * 2);
+            }
+            System.arraycopy(prices[c], level, prices[c], level + 1, levels[c] - level);
+            System.arraycopy(productsAtPrice[c], level, productsAtPrice[c], level + 1, levels[c] - level);
+            prices[c][level] = price;
+            productsAtPrice[c][level] = 0;
+            levels[c]++;
+        }
+        productsAtPrice[c][level]++;
+        priceCounts[c]++;
+    }
+
+    private void removePrice(int c, int price) {
+        int level = Arrays.binarySearch(prices[c], 0, levels[c], price);
+        if (level < 0) {
+            return;
+        }
+        if (--productsAtPrice[c][level] == 0) {
+            System.arraycopy(prices[c], level + 1, prices[c], level, levels[c] - level - 1);
+            System.arraycopy(productsAtPrice[c], level + 1, productsAtPrice[c], level, levels[c] - level - 1);
+            levels[c]--;
+        }
+        priceCounts[c]--;
+    }
+}
@@ -0,0 +1,23 @@
+package com.ktpm.backend.utils;
+
+// Vị trí của change feed trong snapshot database mà một chỉ mục trong bộ nhớ được dựng từ đó.
+// seq được cấp theo thứ tự commit (xem ProductChangeService.record): mọi change có seq <= highWaterMark
+// đã nằm trong snapshot, mọi change commit sau khi chụp snapshot đều có seq lớn hơn
+public class ChangeSnapshot {
+    public static final ChangeSnapshot EMPTY = new ChangeSnapshot(0);
+
+    private final long highWaterMark;
+
+    public ChangeSnapshot(long highWaterMark) {
+        this.highWaterMark = highWaterMark;
+    }
+
+    public long getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    // true: thay đổi đã được tính trong dữ liệu đọc từ snapshot, áp event lần nữa sẽ bị đếm hai lần
+    public boolean includes(long seq) {
+        return seq <= highWaterMark;
+    }
+}
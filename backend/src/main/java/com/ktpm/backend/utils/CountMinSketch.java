@@ -0,0 +1,78 @@
+package com.ktpm.backend.utils;
+
+import java.util.UUID;
+
+// Count-Min sketch: depth hàng x width bộ đếm, bộ nhớ cố định bất kể số sản phẩm.
+// Ước lượng không bao giờ thấp hơn số thật, sai số <= total * e / width với xác suất 1 - e^-depth.
+// Conservative update: chỉ tăng các bộ đếm đang bằng giá trị nhỏ nhất, giảm sai số so với cộng đều.
+// Không thread-safe: caller giữ lock
+public class CountMinSketch {
+    private final int width;
+    private final int depth;
+    private final long[] counters;
+    private long total;
+
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("width và depth phải lớn hơn 0");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counters = new long[width * depth];
+    }
+
+    // Trả về ước lượng mới của id
+    public long add(UUID id, long count) {
+        if (count <= 0) {
+            return estimate(id);
+        }
+        long h1 = h1(id);
+        long h2 = h2(h1);
+        long target = minimum(h1, h2) + count;
+        for (int row = 0; row < depth; row++) {
+            int cell = cell(row, h1, h2);
+            if (counters[cell] < target) {
+                counters[cell] = target;
+            }
+        }
+        total += count;
+        return target;
+    }
+
+    public long estimate(UUID id) {
+        long h1 = h1(id);
+        return minimum(h1, h2(h1));
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    private long minimum(long h1, long h2) {
+        long minimum = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            minimum = Math.min(minimum, counters[cell(row, h1, h2)]);
+        }
+        return minimum;
+    }
+
+    // Kirsch-Mitzenmacher: hàng thứ i dùng h1 + i * h2, chỉ cần băm id một lần
+    private int cell(int row, long h1, long h2) {
+        return row * width + (int) Long.remainderUnsigned(h1 + row * h2, width);
+    }
+
+    private static long h1(UUID id) {
+        return mix(id.getMostSignificantBits() ^ Long.rotateLeft(id.getLeastSignificantBits(), 32));
+    }
+
+    private static long h2(long h1) {
+        return mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+    }
+
+    // finalizer của SplitMix64
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,138 @@
+package com.ktpm.backend.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// Giới hạn số request đang xử lý, tự điều chỉnh theo độ trễ đo được (thuật toán gradient, kiểu Netflix Gradient2).
+// Mỗi cửa sổ windowNanos: shortRtt = RTT trung bình của cửa sổ, longRtt = trung bình trượt dài hạn.
+// gradient = tolerance * longRtt / shortRtt (trong [0.5, 1]): độ trễ tăng thì giới hạn giảm trước khi hàng đợi phình ra,
+// độ trễ ổn định thì giới hạn tăng thêm khoảng sqrt(limit) để dò sức chứa. Request vượt giới hạn bị từ chối ngay
+public class GradientLimiter {
+    private static final double MIN_GRADIENT = 0.5;
+    private static final int LONG_WINDOW = 600;
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final LongSupplier clock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile int limit;
+    private volatile double longRttNanos;
+    private volatile double shortRttNanos;
+
+    // giữ lock khi đọc/ghi
+    private double estimatedLimit;
+    private long windowStart;
+    private long windowSamples;
+    private long windowRttSum;
+    // số request đồng thời lớn nhất trong cửa sổ; volatile vì tryAcquire() đọc trước khi lấy lock
+    private volatile int windowMaxInFlight;
+
+    public GradientLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+                           long windowNanos, LongSupplier clock) {
+        if (minLimit <= 0 || initialLimit < minLimit || maxLimit < initialLimit || tolerance < 1 || smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("Cấu hình giới hạn đồng thời không hợp lệ");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = windowNanos;
+        this.clock = clock;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+        this.windowStart = clock.getAsLong();
+    }
+
+    // true: request được nhận, phải gọi onComplete() hoặc onDropped()
+    public boolean tryAcquire() {
+        int current = inFlight.incrementAndGet();
+        if (current > limit) {
+            inFlight.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        if (current > windowMaxInFlight) {
+            lock.lock();
+            try {
+                windowMaxInFlight = Math.max(windowMaxInFlight, current);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return true;
+    }
+
+    public void onComplete(long rttNanos) {
+        inFlight.decrementAndGet();
+        lock.lock();
+        try {
+            windowSamples++;
+            windowRttSum += rttNanos;
+            long now = clock.getAsLong();
+            if (now - windowStart >= windowNanos && windowSamples >= MIN_WINDOW_SAMPLES) {
+                update((double) windowRttSum / windowSamples);
+                windowStart = now;
+                windowSamples = 0;
+                windowRttSum = 0;
+                windowMaxInFlight = inFlight.get();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Request lỗi/bị hủy: không dùng làm mẫu RTT
+    public void onDropped() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public double getLongRttMillis() {
+        return longRttNanos / 1e6;
+    }
+
+    public double getShortRttMillis() {
+        return shortRttNanos / 1e6;
+    }
+
+    // gọi khi đang giữ lock
+    private void update(double shortRtt) {
+        shortRttNanos = shortRtt;
+        double longRtt = longRttNanos == 0 ? shortRtt : longRttNanos + (shortRtt - longRttNanos) / LONG_WINDOW;
+        // Vừa qua giai đoạn quá tải: longRtt bị kéo lên cao, giảm nhanh về lại để không nhận quá nhiều
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        longRttNanos = longRtt;
+
+        // Chưa dùng tới nửa giới hạn: độ trễ không nói gì về sức chứa, giữ nguyên
+        if (windowMaxInFlight * 2 < estimatedLimit) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double next = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        next = estimatedLimit * (1 - smoothing) + next * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,53 @@
+package com.ktpm.backend.utils;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+// Top-k phần tử có tổng lớn nhất trên luồng (id, count) với bộ nhớ cố định:
+// CountMinSketch ước lượng tổng của mọi id, IndexedMinHeap giữ capacity ứng viên lớn nhất theo ước lượng.
+// Mỗi lần add: O(depth + log capacity). Không thread-safe: caller giữ lock
+public class HeavyHitters {
+    private final int capacity;
+    private final CountMinSketch sketch;
+    private final IndexedMinHeap candidates = new IndexedMinHeap();
+
+    public HeavyHitters(int capacity, int width, int depth) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity phải lớn hơn 0");
+        }
+        this.capacity = capacity;
+        this.sketch = new CountMinSketch(width, depth);
+    }
+
+    public void add(UUID id, long count) {
+        long estimate = sketch.add(id, count);
+        if (candidates.contains(id) || candidates.size() < capacity) {
+            candidates.set(id, estimate);
+        } else if (estimate > candidates.peekPriority()) {
+            candidates.remove(candidates.peekId());
+            candidates.set(id, estimate);
+        }
+    }
+
+    // Sản phẩm bị xóa: bỏ khỏi ứng viên; bộ đếm trong sketch không trừ được nên vẫn giữ nguyên
+    public void remove(UUID id) {
+        candidates.remove(id);
+    }
+
+    public long estimate(UUID id) {
+        return sketch.estimate(id);
+    }
+
+    public long getTotal() {
+        return sketch.getTotal();
+    }
+
+    // priority của Entry = số lượng ước lượng, giảm dần
+    public List<IndexedMinHeap.Entry> top(int limit) {
+        return candidates.entries().stream()
+                .sorted(Comparator.comparingLong(IndexedMinHeap.Entry::getPriority).reversed())
+                .limit(limit)
+                .toList();
+    }
+}
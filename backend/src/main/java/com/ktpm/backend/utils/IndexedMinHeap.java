@@ -0,0 +1,160 @@
+package com.ktpm.backend.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+// Min-heap theo priority có chỉ mục id -> vị trí: đổi priority hoặc xóa một id bất kỳ trong O(log n).
+// Không thread-safe: caller giữ lock
+public class IndexedMinHeap {
+    private final Map<UUID, Integer> positions = new HashMap<>();
+    private UUID[] ids = new UUID[16];
+    private long[] priorities = new long[16];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(UUID id) {
+        return positions.containsKey(id);
+    }
+
+    // null khi id không có trong heap
+    public Long priority(UUID id) {
+        Integer position = positions.get(id);
+        return position == null ? null : priorities[position];
+    }
+
+    public UUID peekId() {
+        return size == 0 ? null : ids[0];
+    }
+
+    public long peekPriority() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap rỗng");
+        }
+        return priorities[0];
+    }
+
+    // Thêm id mới hoặc đổi priority của id đã có
+    public void set(UUID id, long priority) {
+        Integer position = positions.get(id);
+        if (position == null) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                priorities = Arrays.copyOf(priorities, size * 2);
+            }
+            place(size, id, priority);
+            size++;
+            siftUp(size - 1);
+            return;
+        }
+        long old = priorities[position];
+        priorities[position] = priority;
+        if (priority < old) {
+            siftUp(position);
+        } else {
+            siftDown(position);
+        }
+    }
+
+    public boolean remove(UUID id) {
+        Integer position = positions.remove(id);
+        if (position == null) {
+            return false;
+        }
+        size--;
+        if (position != size) {
+            UUID moved = ids[size];
+            place(position, moved, priorities[size]);
+            siftUp(position);
+            siftDown(positions.get(moved));
+        }
+        ids[size] = null;
+        return true;
+    }
+
+    // k phần tử nhỏ nhất theo thứ tự tăng dần, không làm thay đổi heap: O(k log k)
+    public List<Entry> smallest(int k) {
+        List<Entry> result = new ArrayList<>(Math.min(k, size));
+        if (size == 0 || k <= 0) {
+            return result;
+        }
+        PriorityQueue<Integer> frontier = new PriorityQueue<>((a, b) -> Long.compare(priorities[a], priorities[b]));
+        frontier.add(0);
+        while (!frontier.isEmpty() && result.size() < k) {
+            int position = frontier.poll();
+            result.add(new Entry(ids[position], priorities[position]));
+            for (int child = 2 * position + 1; child <= 2 * position + 2 && child < size; child++) {
+                frontier.add(child);
+            }
+        }
+        return result;
+    }
+
+    public List<Entry> entries() {
+        List<Entry> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new Entry(ids[i], priorities[i]));
+        }
+        return result;
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (priorities[parent] <= priorities[position]) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && priorities[left] < priorities[smallest]) {
+                smallest = left;
+            }
+            if (right < size && priorities[right] < priorities[smallest]) {
+                smallest = right;
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        UUID id = ids[a];
+        long priority = priorities[a];
+        place(a, ids[b], priorities[b]);
+        place(b, id, priority);
+    }
+
+    private void place(int position, UUID id, long priority) {
+        ids[position] = id;
+        priorities[position] = priority;
+        positions.put(id, position);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+        private final UUID id;
+        private final long priority;
+    }
+}
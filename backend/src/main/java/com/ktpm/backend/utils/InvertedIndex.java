@@ -0,0 +1,158 @@
+package com.ktpm.backend.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.*;
+
+// Chỉ mục ngược cho productName + description, xếp hạng BM25.
+// Không thread-safe: caller (ProductSearchService) giữ ReadWriteLock.
+// Sửa/xóa không viết lại posting list: doc cũ bị đánh dấu xóa, chỉ được loại khi dựng lại toàn bộ chỉ mục
+public class InvertedIndex {
+    public static final int NAME_BOOST = 3;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MIN_DELETED_TO_COMPACT = 1024;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<UUID, Integer> docIds = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private UUID[] productIds = new UUID[1024];
+    private int[] docLengths = new int[1024];
+    private int maxDoc;
+    private int liveDocs;
+    private long totalLength;
+
+    public void upsert(UUID productId, String productName, String description) {
+        remove(productId);
+
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        for (String term : TextNormalizer.tokenize(productName)) {
+            termFrequencies.merge(term, NAME_BOOST, Integer::sum);
+        }
+        for (String term : TextNormalizer.tokenize(description)) {
+            termFrequencies.merge(term, 1, Integer::sum);
+        }
+        if (termFrequencies.isEmpty()) {
+            return;
+        }
+
+        int docId = maxDoc++;
+        if (docId == productIds.length) {
+            productIds = Arrays.copyOf(productIds, docId * 2);
+            docLengths = Arrays.copyOf(docLengths, docId * 2);
+        }
+        int docLength = 0;
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).add(docId, entry.getValue());
+            docLength += entry.getValue();
+        }
+        productIds[docId] = productId;
+        docLengths[docId] = docLength;
+        docIds.put(productId, docId);
+        liveDocs++;
+        totalLength += docLength;
+    }
+
+    public boolean remove(UUID productId) {
+        Integer docId = docIds.remove(productId);
+        if (docId == null) {
+            return false;
+        }
+        deleted.set(docId);
+        productIds[docId] = null;
+        liveDocs--;
+        totalLength -= docLengths[docId];
+        return true;
+    }
+
+    public boolean needsCompaction() {
+        int deletedDocs = maxDoc - liveDocs;
+        return deletedDocs >= MIN_DELETED_TO_COMPACT && deletedDocs > liveDocs / 4;
+    }
+
+    // Document-at-a-time: duyệt song song các posting list theo docId, giữ top-k trong min-heap,
+    // không cấp phát mảng điểm theo kích thước catalogue
+    public SearchResult search(String query, int limit) {
+        List<String> terms = TextNormalizer.tokenize(query).stream().distinct().toList();
+        PostingList.Cursor[] cursors = new PostingList.Cursor[terms.size()];
+        float[] idfs = new float[terms.size()];
+        int active = 0;
+        for (String term : terms) {
+            PostingList postingList = postings.get(term);
+            if (postingList == null) {
+                continue;
+            }
+            PostingList.Cursor cursor = postingList.cursor();
+            if (cursor.next()) {
+                int documentFrequency = Math.min(postingList.size(), liveDocs);
+                cursors[active] = cursor;
+                idfs[active] = (float) Math.log(1 + (liveDocs - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                active++;
+            }
+        }
+
+        float averageLength = liveDocs == 0 ? 1 : (float) totalLength / liveDocs;
+        PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.comparingDouble(Hit::getScore));
+        int total = 0;
+        while (active > 0) {
+            int docId = Integer.MAX_VALUE;
+            for (int i = 0; i < active; i++) {
+                docId = Math.min(docId, cursors[i].docId());
+            }
+
+            float score = 0;
+            float lengthNorm = K1 * (1 - B + B * docLengths[docId] / averageLength);
+            for (int i = 0; i < active; i++) {
+                if (cursors[i].docId() != docId) {
+                    continue;
+                }
+                int tf = cursors[i].termFrequency();
+                score += idfs[i] * tf * (K1 + 1) / (tf + lengthNorm);
+                if (!cursors[i].next()) {
+                    active--;
+                    cursors[i] = cursors[active];
+                    idfs[i] = idfs[active];
+                    i--;
+                }
+            }
+
+            if (deleted.get(docId)) {
+                continue;
+            }
+            total++;
+            if (top.size() < limit) {
+                top.add(new Hit(productIds[docId], score));
+            } else if (score > top.peek().getScore()) {
+                top.poll();
+                top.add(new Hit(productIds[docId], score));
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(Comparator.comparingDouble(Hit::getScore).reversed());
+        return new SearchResult(hits, total);
+    }
+
+    public int getDocumentCount() {
+        return liveDocs;
+    }
+
+    public int getTermCount() {
+        return postings.size();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Hit {
+        private final UUID productId;
+        private final float score;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SearchResult {
+        private final List<Hit> hits;
+        private final int total;
+    }
+}
@@ -1,5 +1,6 @@
 package com.ktpm.backend.utils;
 
+import com.ktpm.backend.jfr.JwtVerificationEvent;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
@@ -14,10 +15,14 @@ import java.util.Base64;
 import java.util.Date;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 @Component
 public class JwtUtil {
     private final Key secretKey;
+    // số lần validateToken() thành công / thất bại, xuất thành metric auth.jwt.verifications (xem MetricsConfig)
+    private final LongAdder validTokens = new LongAdder();
+    private final LongAdder invalidTokens = new LongAdder();
 
     public JwtUtil(@Value("${jwt.secret}") String secret) {
         byte[] keyBytes = Base64.getDecoder().decode(secret.getBytes(
@@ -36,14 +41,29 @@ public class JwtUtil {
     }
 
     public boolean validateToken(String token) {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
         try {
             parseClaims(token);
+            validTokens.increment();
+            event.setValid(true);
             return true;
         } catch (JwtException e) {
+            invalidTokens.increment();
             return false;
+        } finally {
+            event.commit();
         }
     }
 
+    public long getValidTokenCount() {
+        return validTokens.sum();
+    }
+
+    public long getInvalidTokenCount() {
+        return invalidTokens.sum();
+    }
+
     private Claims parseClaims(String token) {
         try {
             return Jwts.parser()
@@ -0,0 +1,82 @@
+package com.ktpm.backend.utils;
+
+import java.util.Arrays;
+
+// Danh sách (docId, tf) tăng dần theo docId, lưu delta + varint trong một byte[]:
+// trung bình ~2 byte/posting thay vì một Integer (16 byte) + con trỏ cho mỗi phần tử
+public class PostingList {
+    private byte[] data = new byte[8];
+    private int length;
+    private int size;
+    private int lastDocId = -1;
+
+    public void add(int docId, int termFrequency) {
+        if (docId <= lastDocId) {
+            throw new IllegalArgumentException("docId phải tăng dần");
+        }
+        writeVarInt(docId - lastDocId - 1);
+        writeVarInt(termFrequency);
+        lastDocId = docId;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int sizeInBytes() {
+        return length;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void writeVarInt(int value) {
+        if (length + 5 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+        }
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    public class Cursor {
+        private int offset;
+        private int remaining = size;
+        private int docId = -1;
+        private int termFrequency;
+
+        public boolean next() {
+            if (remaining == 0) {
+                return false;
+            }
+            docId += readVarInt() + 1;
+            termFrequency = readVarInt();
+            remaining--;
+            return true;
+        }
+
+        public int docId() {
+            return docId;
+        }
+
+        public int termFrequency() {
+            return termFrequency;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.ktpm.backend.utils;
+
+import com.ktpm.backend.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+
+// Con trỏ keyset: giá trị cột sắp xếp + id của dòng cuối trang, mã hóa base64url để client coi như chuỗi mờ
+@Getter
+@AllArgsConstructor
+public class ProductCursor {
+    public static final Set<String> SORTABLE_FIELDS = Set.of("id", "productName", "price", "quantity");
+
+    private final String sortBy;
+    private final Comparable<?> value;
+    private final UUID id;
+
+    public static ProductCursor of(Product product, String sortBy) {
+        Comparable<?> value = switch (sortBy) {
+            case "productName" -> product.getProductName();
+            case "price" -> product.getPrice();
+            case "quantity" -> product.getQuantity();
+            default -> product.getId();
+        };
+        return new ProductCursor(sortBy, value, product.getId());
+    }
+
+    public static ProductCursor decode(String token, String sortBy) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Con trỏ không hợp lệ");
+        }
+        int first = decoded.indexOf(':');
+        int last = decoded.lastIndexOf(':');
+        if (first < 0 || first == last || !decoded.substring(0, first).equals(sortBy)) {
+            throw new IllegalArgumentException("Con trỏ không hợp lệ");
+        }
+        String rawValue = decoded.substring(first + 1, last);
+        UUID id = UUID.fromString(decoded.substring(last + 1));
+        Comparable<?> value = switch (sortBy) {
+            case "productName" -> rawValue;
+            case "price", "quantity" -> Integer.valueOf(rawValue);
+            default -> id;
+        };
+        return new ProductCursor(sortBy, value, id);
+    }
+
+    public String encode() {
+        String raw = sortBy + ":" + value + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
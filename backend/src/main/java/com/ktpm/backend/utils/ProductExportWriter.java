@@ -0,0 +1,98 @@
+package com.ktpm.backend.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktpm.backend.dto.ProductRowDTO;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+public abstract class ProductExportWriter implements Consumer<ProductRowDTO>, Closeable {
+
+    public static final String NDJSON = "ndjson";
+    public static final String CSV = "csv";
+
+    public static boolean isSupportedFormat(String format) {
+        return NDJSON.equalsIgnoreCase(format) || CSV.equalsIgnoreCase(format);
+    }
+
+    public static String contentType(String format) {
+        return CSV.equalsIgnoreCase(format) ? "text/csv" : "application/x-ndjson";
+    }
+
+    public static ProductExportWriter of(String format, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        return CSV.equalsIgnoreCase(format) ? new CsvWriter(out) : new NdjsonWriter(out, objectMapper);
+    }
+
+    @Override
+    public void accept(ProductRowDTO row) {
+        try {
+            write(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected abstract void write(ProductRowDTO row) throws IOException;
+
+    private static class NdjsonWriter extends ProductExportWriter {
+        private final JsonGenerator generator;
+
+        NdjsonWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        protected void write(ProductRowDTO row) throws IOException {
+            generator.writeObject(row);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static class CsvWriter extends ProductExportWriter {
+        private final Writer writer;
+
+        CsvWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write("id,productName,price,quantity,description,category\n");
+        }
+
+        @Override
+        protected void write(ProductRowDTO row) throws IOException {
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(escape(row.getProductName()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getPrice()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getQuantity()));
+            writer.write(',');
+            writer.write(escape(row.getDescription()));
+            writer.write(',');
+            writer.write(row.getCategory() == null ? "" : row.getCategory().name());
+            writer.write('\n');
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.ktpm.backend.utils;
+
+import java.util.Locale;
+
+// Thời gian từng giai đoạn của request hiện tại (xác thực JWT, BCrypt, repository, ghi response).
+// ServerTimingFilter mở/đóng context cho mỗi request; các chỗ cần đo gọi start() trong try-with-resources.
+// Khi tắt, filter không mở context nên start() chỉ đọc ThreadLocal và trả về Span.NOOP, không cấp phát.
+// Không thread-safe: mỗi context chỉ được dùng bởi thread đang xử lý request
+public final class ServerTiming {
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt;
+    private final long[] nanos = new long[Stage.values().length];
+    private final int[] counts = new int[Stage.values().length];
+    private final int[] depths = new int[Stage.values().length];
+    private Span pending;
+
+    private ServerTiming(long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public enum Stage {
+        JWT("jwt"),
+        BCRYPT("bcrypt"),
+        DB("db"),
+        SERIALIZE("ser");
+
+        private final String metricName;
+
+        Stage(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Span extends AutoCloseable {
+        Span NOOP = () -> {
+        };
+
+        @Override
+        void close();
+    }
+
+    public static ServerTiming begin() {
+        ServerTiming timing = new ServerTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    // null ngoài request hoặc khi tắt
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    public static Span start(Stage stage) {
+        ServerTiming timing = CURRENT.get();
+        return timing == null ? Span.NOOP : timing.open(stage);
+    }
+
+    // Giai đoạn bắt đầu ở chỗ này nhưng kết thúc ở chỗ khác (ghi body bắt đầu trong ResponseBodyAdvice,
+    // kết thúc khi filter chain trả về), đóng bằng finish()
+    public static void startPending(Stage stage) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null && timing.pending == null) {
+            timing.pending = timing.open(stage);
+        }
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startedAt;
+    }
+
+    // Đóng context của request hiện tại, trả về tổng thời gian (ns)
+    public long finish() {
+        if (pending != null) {
+            pending.close();
+            pending = null;
+        }
+        CURRENT.remove();
+        return System.nanoTime() - startedAt;
+    }
+
+    // Lồng nhau (repository gọi repository khác) chỉ tính lượt ngoài cùng
+    private Span open(Stage stage) {
+        int index = stage.ordinal();
+        if (depths[index]++ > 0) {
+            return () -> depths[index]--;
+        }
+        long start = System.nanoTime();
+        return () -> {
+            depths[index]--;
+            nanos[index] += System.nanoTime() - start;
+            counts[index]++;
+        };
+    }
+
+    public long getNanos(Stage stage) {
+        return nanos[stage.ordinal()];
+    }
+
+    public int getCount(Stage stage) {
+        return counts[stage.ordinal()];
+    }
+
+    // jwt;dur=0.215, db;dur=3.4;desc="2", total;dur=5.1 (desc của db là số lần gọi repository)
+    public String toHeader(long totalNanos) {
+        StringBuilder header = new StringBuilder();
+        for (Stage stage : Stage.values()) {
+            int count = counts[stage.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            header.append(stage.metricName).append(";dur=").append(millis(nanos[stage.ordinal()]));
+            if (stage == Stage.DB) {
+                header.append(";desc=\"").append(count).append('"');
+            }
+            header.append(", ");
+        }
+        return header.append("total;dur=").append(millis(totalNanos)).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
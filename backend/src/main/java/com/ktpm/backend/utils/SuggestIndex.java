@@ -0,0 +1,227 @@
+package com.ktpm.backend.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Predicate;
+
+// Chỉ mục gợi ý theo tiền tố, bất biến sau khi build.
+// Mỗi tên sản phẩm (đã bỏ dấu) sinh một key cho mỗi vị trí đầu từ: "tai nghe sony" -> "tai nghe sony", "nghe sony", "sony".
+// Các key được sắp xếp và lưu UTF-8 trong direct buffer (off-heap); mỗi tiền tố ứng với một đoạn liên tiếp
+// trong mảng key - tương đương một nút trie. Nút có hơn SCAN_LIMIT key được tính sẵn top-K, nút nhỏ thì quét trực tiếp
+public class SuggestIndex {
+    public static final int TOP_K = 20;
+    static final int SCAN_LIMIT = 256;
+    private static final int MAX_PRECOMPUTED_DEPTH = 32;
+
+    public static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::getScore).reversed()
+            .thenComparing(Entry::getProductName);
+
+    private final ByteBuffer keyBytes;
+    private final IntBuffer keyOffsets;
+    private final IntBuffer keyEntries;
+    private final int keyCount;
+    private final Entry[] entries;
+    private final Map<String, int[]> topByPrefix = new HashMap<>();
+
+    private SuggestIndex(List<Entry> entryList) {
+        entries = entryList.toArray(new Entry[0]);
+
+        List<byte[]> keys = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        for (int entry = 0; entry < entries.length; entry++) {
+            for (String key : keysOf(entries[entry].getProductName())) {
+                keys.add(key.getBytes(StandardCharsets.UTF_8));
+                owners.add(entry);
+            }
+        }
+        Integer[] order = new Integer[keys.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(keys.get(a), keys.get(b)));
+
+        keyCount = order.length;
+        int totalBytes = keys.stream().mapToInt(key -> key.length).sum();
+        keyBytes = ByteBuffer.allocateDirect(Math.max(1, totalBytes));
+        keyOffsets = ByteBuffer.allocateDirect(4 * (keyCount + 1)).asIntBuffer();
+        keyEntries = ByteBuffer.allocateDirect(Math.max(4, 4 * keyCount)).asIntBuffer();
+        int[] lcp = new int[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            byte[] key = keys.get(order[i]);
+            keyOffsets.put(i, keyBytes.position());
+            keyBytes.put(key);
+            keyEntries.put(i, owners.get(order[i]));
+            lcp[i] = i == 0 ? 0 : commonPrefix(keys.get(order[i - 1]), key);
+        }
+        keyOffsets.put(keyCount, keyBytes.position());
+
+        precomputeTopK(lcp);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static List<String> keysOf(String productName) {
+        List<String> tokens = TextNormalizer.tokenize(productName);
+        List<String> keys = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            keys.add(String.join(" ", tokens.subList(i, tokens.size())));
+        }
+        return keys;
+    }
+
+    // "Tai " -> "tai " để chỉ khớp đúng từ "tai", còn "Tai" khớp cả "tai", "tainghe"...
+    public static String normalizePrefix(String prefix) {
+        List<String> tokens = TextNormalizer.tokenize(prefix);
+        if (tokens.isEmpty()) {
+            return "";
+        }
+        String key = String.join(" ", tokens);
+        String folded = TextNormalizer.fold(prefix);
+        boolean endsWithSeparator = !Character.isLetterOrDigit(folded.charAt(folded.length() - 1));
+        return endsWithSeparator ? key + " " : key;
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    // prefix phải đã qua normalizePrefix; excluded: sản phẩm đã có bản cập nhật mới hơn ở ngoài chỉ mục
+    public List<Entry> suggest(String prefix, int limit, Predicate<UUID> excluded) {
+        byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
+        int from = bound(prefixBytes, false);
+        int to = bound(prefixBytes, true);
+        if (from >= to) {
+            return List.of();
+        }
+
+        int[] top = topByPrefix.get(new String(prefixBytes, StandardCharsets.ISO_8859_1));
+        if (top == null) {
+            top = selectTop(from, to, TOP_K);
+        }
+        List<Entry> result = new ArrayList<>(limit);
+        for (int entry : top) {
+            if (!excluded.test(entries[entry].getId())) {
+                result.add(entries[entry]);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private void precomputeTopK(int[] lcp) {
+        for (int depth = 1; depth <= MAX_PRECOMPUTED_DEPTH; depth++) {
+            boolean anyLarge = false;
+            int from = 0;
+            while (from < keyCount) {
+                if (keyLength(from) < depth) {
+                    from++;
+                    continue;
+                }
+                int to = from + 1;
+                while (to < keyCount && lcp[to] >= depth) {
+                    to++;
+                }
+                if (to - from > SCAN_LIMIT) {
+                    anyLarge = true;
+                    byte[] prefix = new byte[depth];
+                    keyBytes.get(keyOffsets.get(from), prefix);
+                    topByPrefix.put(new String(prefix, StandardCharsets.ISO_8859_1), selectTop(from, to, TOP_K));
+                }
+                from = to;
+            }
+            // Nút con không thể lớn hơn nút cha: hết nút lớn ở độ sâu này thì các độ sâu sau cũng không có
+            if (!anyLarge) {
+                break;
+            }
+        }
+    }
+
+    private int[] selectTop(int from, int to, int k) {
+        PriorityQueue<Integer> top = new PriorityQueue<>(k + 1, (a, b) -> ORDER.compare(entries[b], entries[a]));
+        Set<Integer> seen = new HashSet<>();
+        for (int i = from; i < to; i++) {
+            int entry = keyEntries.get(i);
+            if (!seen.add(entry)) {
+                continue;
+            }
+            top.add(entry);
+            if (top.size() > k) {
+                top.poll();
+            }
+        }
+        return top.stream()
+                .sorted((a, b) -> ORDER.compare(entries[a], entries[b]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    // upper = false: key đầu tiên >= prefix; upper = true: key đầu tiên không còn bắt đầu bằng prefix
+    private int bound(byte[] prefix, boolean upper) {
+        int low = 0;
+        int high = keyCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int compared = comparePrefix(mid, prefix);
+            if (compared < 0 || (upper && compared == 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int comparePrefix(int key, byte[] prefix) {
+        int start = keyOffsets.get(key);
+        int length = keyLength(key);
+        int common = Math.min(length, prefix.length);
+        for (int i = 0; i < common; i++) {
+            int compared = Byte.toUnsignedInt(keyBytes.get(start + i)) - Byte.toUnsignedInt(prefix[i]);
+            if (compared != 0) {
+                return compared;
+            }
+        }
+        return length < prefix.length ? -1 : 0;
+    }
+
+    private int keyLength(int key) {
+        return keyOffsets.get(key + 1) - keyOffsets.get(key);
+    }
+
+    private static int commonPrefix(byte[] a, byte[] b) {
+        int mismatch = Arrays.mismatch(a, b);
+        return mismatch < 0 ? a.length : mismatch;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+        private final UUID id;
+        private final String productName;
+        private final int score;
+    }
+
+    public static class Builder {
+        private final List<Entry> entries = new ArrayList<>();
+
+        public Builder add(UUID id, String productName, int score) {
+            if (productName != null) {
+                entries.add(new Entry(id, productName, score));
+            }
+            return this;
+        }
+
+        public SuggestIndex build() {
+            return new SuggestIndex(entries);
+        }
+    }
+}
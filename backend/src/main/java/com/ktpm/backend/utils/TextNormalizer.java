@@ -0,0 +1,70 @@
+package com.ktpm.backend.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TextNormalizer {
+
+    private TextNormalizer() {
+    }
+
+    // Chữ thường + bỏ dấu tiếng Việt: "Điện Thoại" -> "dien thoai"
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String source = isAscii(text) ? text : Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(source.length());
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (c == 'đ' || c == 'Đ') {
+                c = 'd';
+            }
+            folded.append(Character.toLowerCase(c));
+        }
+        return folded.toString();
+    }
+
+    // Tách theo ký tự không phải chữ/số. Dữ liệu đã qua Validator.sanitizeInput nên entity HTML được bỏ trước
+    public static List<String> tokenize(String text) {
+        String folded = fold(unescapeHtml(text));
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean letterOrDigit = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static String unescapeHtml(String text) {
+        if (text == null || text.indexOf('&') < 0) {
+            return text;
+        }
+        return text
+                .replace("&lt;", " ")
+                .replace("&gt;", " ")
+                .replace("&quot;", " ")
+                .replace("&#x27;", " ")
+                .replace("&#x2F;", " ")
+                .replace("&amp;", " ");
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,64 @@
+package com.ktpm.backend.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConnectionLimitingDataSource - Semaphore quanh connection Tests")
+class ConnectionLimitingDataSourceTest {
+
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:limit-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource = new ConnectionLimitingDataSource(h2, 2, 50);
+    }
+
+    @Test
+    @DisplayName("getConnection() - Hết permit thì chờ tối đa timeout rồi báo lỗi, close() trả lại permit đúng một lần")
+    void getConnection_LimitsConcurrentConnections() throws Exception {
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertEquals(0, dataSource.getAvailablePermits());
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        first.close();
+        first.close();
+        assertEquals(1, dataSource.getAvailablePermits());
+        try (Connection third = dataSource.getConnection()) {
+            assertTrue(third.isValid(1));
+        }
+        second.close();
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    @DisplayName("getConnection() - Virtual thread chờ permit rồi chạy tiếp khi connection được trả")
+    void getConnection_VirtualThreadWaitsForPermit() throws Exception {
+        ConnectionLimitingDataSource limited = new ConnectionLimitingDataSource(dataSource.getTargetDataSource(), 1, 5000);
+        Connection held = limited.getConnection();
+        Thread waiter = Thread.ofVirtual().start(() -> {
+            try (Connection connection = limited.getConnection()) {
+                assertTrue(connection.isValid(1));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        Thread.sleep(100);
+        assertTrue(waiter.isAlive());
+        held.close();
+        waiter.join(5000);
+        assertFalse(waiter.isAlive());
+        assertEquals(1, limited.getAvailablePermits());
+    }
+}
@@ -0,0 +1,57 @@
+package com.ktpm.backend.config;
+
+import com.ktpm.backend.utils.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MetricsConfig - Metric JWT và BCrypt Tests")
+class MetricsConfigTest {
+    private static final String SECRET = "VGhpcy1pcy1hLXNlY3JldC1rZXktZm9yLUpXVC0yNTYtYml0IQ==";
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final MetricsConfig config = new MetricsConfig();
+
+    @Test
+    @DisplayName("jwtVerificationMetrics() - Đếm riêng token hợp lệ và không hợp lệ")
+    void jwtVerificationMetrics_CountsByResult() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET);
+        config.jwtVerificationMetrics(jwtUtil).bindTo(registry);
+
+        assertTrue(jwtUtil.validateToken(jwtUtil.generateToken(UUID.randomUUID(), "mindang1")));
+        assertFalse(jwtUtil.validateToken("not-a-jwt"));
+        assertFalse(jwtUtil.validateToken("not-a-jwt"));
+
+        assertEquals(1, registry.get("auth.jwt.verifications").tag("result", "valid").functionCounter().count());
+        assertEquals(2, registry.get("auth.jwt.verifications").tag("result", "invalid").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("passwordEncoderTimingPostProcessor() - Bọc PasswordEncoder, mỗi lần matches() được ghi vào timer")
+    void passwordEncoderTimingPostProcessor_WrapsEncoder() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("meterRegistry", registry));
+        Object bean = MetricsConfig.passwordEncoderTimingPostProcessor(beanFactory.getBeanProvider(MeterRegistry.class))
+                .postProcessAfterInitialization(new BCryptPasswordEncoder(4), "passwordEncoder");
+
+        PasswordEncoder encoder = assertInstanceOf(TimedPasswordEncoder.class, bean);
+        String hash = encoder.encode("mindang1");
+        assertTrue(encoder.matches("mindang1", hash));
+        assertFalse(encoder.matches("sai-mat-khau1", hash));
+
+        Timer matches = registry.get("auth.password.matches").timer();
+        assertEquals(2, matches.count());
+        assertTrue(matches.totalTime(TimeUnit.NANOSECONDS) > 0);
+        assertEquals(1, registry.get("auth.password.encode").timer().count());
+    }
+}
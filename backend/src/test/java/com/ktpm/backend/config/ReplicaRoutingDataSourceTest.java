@@ -0,0 +1,116 @@
+package com.ktpm.backend.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Hai database H2 trong bộ nhớ đóng vai primary và replica; mỗi bên có bảng node ghi tên của chính nó
+@DisplayName("ReplicaRoutingDataSource - Định tuyến primary/replica Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private JdbcTemplate replicaJdbc;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+        replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("CREATE TABLE replica_lag (millis BIGINT)");
+        replicaJdbc.update("INSERT INTO replica_lag VALUES (0)");
+    }
+
+    private DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+
+    private ReplicaRoutingPolicy policy(long readYourWritesMillis) {
+        ReplicaRoutingPolicy policy = new ReplicaRoutingPolicy(replicaJdbc, "SELECT millis FROM replica_lag",
+                1000, readYourWritesMillis);
+        policy.checkLag();
+        return policy;
+    }
+
+    private Router router(ReplicaRoutingPolicy policy) {
+        return new Router(new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, policy)));
+    }
+
+    @Test
+    @DisplayName("Transaction read-only → replica; transaction ghi và không transaction → primary")
+    void readOnlyTransactions_GoToReplica() {
+        Router router = router(policy(0));
+
+        assertEquals("replica", router.node(true));
+        assertEquals("primary", router.node(false));
+        assertEquals("primary", router.jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    @DisplayName("Replica trễ quá max-lag → đọc từ primary, theo kịp lại → về replica")
+    void replicaLag_FallsBackToPrimary() {
+        ReplicaRoutingPolicy policy = policy(0);
+        Router router = router(policy);
+
+        replicaJdbc.update("UPDATE replica_lag SET millis = 5000");
+        policy.checkLag();
+        assertFalse(policy.isReplicaHealthy());
+        assertEquals("primary", router.node(true));
+
+        replicaJdbc.update("UPDATE replica_lag SET millis = 10");
+        policy.checkLag();
+        assertEquals("replica", router.node(true));
+    }
+
+    @Test
+    @DisplayName("Sau khi transaction ghi commit, đọc read-only về primary trong cửa sổ read-your-writes; rollback thì không")
+    void committedWrite_OpensReadYourWritesWindow() {
+        Router router = router(policy(60_000));
+
+        router.write(true);
+        assertEquals("replica", router.node(true));
+
+        router.write(false);
+        assertEquals("primary", router.node(true));
+    }
+
+    private static class Router {
+        private final JdbcTemplate jdbc;
+        private final DataSourceTransactionManager transactionManager;
+
+        Router(DataSource dataSource) {
+            jdbc = new JdbcTemplate(dataSource);
+            transactionManager = new DataSourceTransactionManager(dataSource);
+        }
+
+        String node(boolean readOnly) {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(readOnly);
+            return transaction.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+        }
+
+        void write(boolean rollback) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                jdbc.update("UPDATE node SET name = name");
+                if (rollback) {
+                    status.setRollbackOnly();
+                }
+            });
+        }
+    }
+}
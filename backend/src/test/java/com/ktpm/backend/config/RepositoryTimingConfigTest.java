@@ -0,0 +1,31 @@
+package com.ktpm.backend.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RepositoryTimingConfig - Interceptor repository chỉ có khi cần Tests")
+class RepositoryTimingConfigTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(RepositoryTimingConfig.class);
+
+    @Test
+    @DisplayName("Mặc định (tắt Server-Timing và JFR queryTime) → không đăng ký interceptor")
+    void disabledByDefault() {
+        runner.run(context -> assertThat(context).doesNotHaveBean("repositoryTimingPostProcessor"));
+    }
+
+    @Test
+    @DisplayName("Bật Server-Timing hoặc JFR queryTime → đăng ký interceptor dùng chung")
+    void enabledByEitherProperty() {
+        runner.withPropertyValues("app.server-timing.enabled=true")
+                .run(context -> assertThat(context).hasBean("repositoryTimingPostProcessor"));
+        runner.withPropertyValues("app.jfr.query-time=true")
+                .run(context -> assertThat(context).hasBean("repositoryTimingPostProcessor"));
+        runner.withPropertyValues("app.server-timing.enabled=true", "app.jfr.query-time=true")
+                .run(context -> assertThat(context).hasBean("repositoryTimingPostProcessor"));
+    }
+}
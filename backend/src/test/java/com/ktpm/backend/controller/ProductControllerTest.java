@@ -1,15 +1,41 @@
 package com.ktpm.backend.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.ktpm.backend.dto.CategoryFacetDTO;
+import com.ktpm.backend.dto.ProductChangeDTO;
+import com.ktpm.backend.dto.ProductChangesDTO;
+import com.ktpm.backend.dto.ProductFilterDTO;
+import com.ktpm.backend.dto.ProductIdsDTO;
+import com.ktpm.backend.dto.ProductMultiGetDTO;
+import com.ktpm.backend.dto.ProductRankingDTO;
+import com.ktpm.backend.dto.ProductRowDTO;
+import com.ktpm.backend.dto.ProductSearchHitDTO;
+import com.ktpm.backend.dto.ProductSearchResultDTO;
+import com.ktpm.backend.dto.ProductSuggestionDTO;
+import com.ktpm.backend.dto.ProductWindowDTO;
 import com.ktpm.backend.entity.Product;
 import com.ktpm.backend.entity.enums.Category;
+import com.ktpm.backend.entity.enums.ChangeType;
 import com.ktpm.backend.exception.ProductNotFoundException;
 import com.ktpm.backend.filter.JwtAuthFilter;
+import com.ktpm.backend.service.ProductChangeService;
+import com.ktpm.backend.service.ProductFacetService;
+import com.ktpm.backend.service.ProductJsonCacheService;
+import com.ktpm.backend.service.ProductRankingService;
+import com.ktpm.backend.service.ProductSearchService;
 import com.ktpm.backend.service.ProductService;
+import com.ktpm.backend.service.ProductStreamService;
+import com.ktpm.backend.service.ProductSuggestService;
+import com.ktpm.backend.utils.CachedJson;
 import com.ktpm.backend.utils.JwtUtil;
+import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -17,14 +43,26 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.*;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -35,6 +73,13 @@ class ProductControllerTest {
 
     @Autowired private MockMvc mockMvc;
     @MockBean private ProductService productService;
+    @MockBean private ProductChangeService productChangeService;
+    @MockBean private ProductStreamService productStreamService;
+    @MockBean private ProductSearchService productSearchService;
+    @MockBean private ProductSuggestService productSuggestService;
+    @MockBean private ProductFacetService productFacetService;
+    @MockBean private ProductRankingService productRankingService;
+    @MockBean private ProductJsonCacheService productJsonCacheService;
     @MockBean private JwtUtil jwtUtil;
     @MockBean private JwtAuthFilter jwtAuthFilter;
     @Autowired private ObjectMapper objectMapper;
@@ -61,41 +106,118 @@ class ProductControllerTest {
         Pageable pageable = PageRequest.of(0, 10, Sort.by("id").ascending());
         Page<Product> page = new PageImpl<>(List.of(product), pageable, 1);
 
-        when(productService.getAll(any(Pageable.class))).thenReturn(page);
+        when(productService.getAll(any(ProductFilterDTO.class), any(Pageable.class))).thenReturn(page);
 
         mockMvc.perform(get("/api/products")
                         .param("page", "0")
                         .param("limit", "10")
                         .param("sortBy", "id")
-                        .param("sortDir", "asc"))
+                        .param("sortDir", "asc")
+                        .param("category", "laptops")
+                        .param("minPrice", "100")
+                        .param("maxPrice", "5000")
+                        .param("inStock", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content[0].productName").value("MacBook Pro"))
                 .andExpect(jsonPath("$.totalElements").value(1));
 
-        verify(productService).getAll(any(Pageable.class));
+        ArgumentCaptor<ProductFilterDTO> captor = ArgumentCaptor.forClass(ProductFilterDTO.class);
+        verify(productService).getAll(captor.capture(), eq(pageable));
+        assertEquals(new ProductFilterDTO(Category.LAPTOPS, 100, 5000, true), captor.getValue());
     }
 
     @Test
     @DisplayName("GET /api/products/{id} - Tìm thấy sản phẩm")
     void getProductById_Success() throws Exception {
-        when(productService.getProduct(id)).thenReturn(Optional.of(product));
+        when(productJsonCacheService.get(id)).thenReturn(CachedJson.of(objectMapper.writeValueAsBytes(product)));
 
         mockMvc.perform(get("/api/products/{id}", id))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.productName").value("MacBook Pro"));
 
-        verify(productService).getProduct(id);
+        verify(productJsonCacheService).get(id);
     }
 
     @Test
     @DisplayName("GET /api/products/{id} - Không tìm thấy → 404")
     void getProductById_NotFound() throws Exception {
-        when(productService.getProduct(id)).thenThrow(new ProductNotFoundException("Không tìm thấy"));
+        when(productJsonCacheService.get(id)).thenThrow(new ProductNotFoundException("Không tìm thấy"));
 
         mockMvc.perform(get("/api/products/{id}", id))
                 .andExpect(status().isNotFound());
 
-        verify(productService).getProduct(id);
+        verify(productJsonCacheService).get(id);
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id} - Byte cache: gzip khi client chấp nhận, If-None-Match trùng ETag → 304")
+    void getProductById_CachedJson_GzipAndEtag() throws Exception {
+        CachedJson cached = CachedJson.of(objectMapper.writeValueAsBytes(product));
+        when(productJsonCacheService.get(id)).thenReturn(cached);
+
+        mockMvc.perform(get("/api/products/{id}", id).header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", cached.getEtag()))
+                .andExpect(content().bytes(cached.getGzip()));
+
+        mockMvc.perform(get("/api/products/{id}", id).header("If-None-Match", cached.getEtag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id} - Accept: application/cbor → không dùng byte cache JSON")
+    void getProductById_AcceptCbor_SkipsJsonCache() throws Exception {
+        when(productService.getProduct(id)).thenReturn(Optional.of(product));
+
+        mockMvc.perform(get("/api/products/{id}", id).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+
+        verifyNoInteractions(productJsonCacheService);
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id} - Accept: application/json;q=0.1, application/cbor → CBOR theo q")
+    void getProductById_QualityPrefersCbor_SkipsJsonCache() throws Exception {
+        when(productService.getProduct(id)).thenReturn(Optional.of(product));
+
+        mockMvc.perform(get("/api/products/{id}", id).header("Accept", "application/json;q=0.1, application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+
+        verifyNoInteractions(productJsonCacheService);
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id} - Accept: application/cbor;q=0.5, application/json → JSON từ byte cache")
+    void getProductById_QualityPrefersJson_UsesJsonCache() throws Exception {
+        CachedJson cached = CachedJson.of(objectMapper.writeValueAsBytes(product));
+        when(productJsonCacheService.get(id)).thenReturn(cached);
+
+        mockMvc.perform(get("/api/products/{id}", id).header("Accept", "application/cbor;q=0.5, application/json"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(cached.getJson()));
+
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id} - Lỗi khi response từ cache đã commit → ném lại, không đổi sang 500")
+    void getProductById_ErrorAfterCommit_Rethrows() throws Exception {
+        CachedJson cached = mock(CachedJson.class);
+        when(productJsonCacheService.get(id)).thenReturn(cached);
+        doAnswer(invocation -> {
+            HttpServletResponse response = invocation.getArgument(1);
+            response.getOutputStream().write('{');
+            response.flushBuffer();
+            throw new IOException("Client đã ngắt kết nối");
+        }).when(cached).writeTo(any(), any());
+
+        assertThrows(IOException.class, () -> mockMvc.perform(get("/api/products/{id}", id)));
     }
 
     @Test
@@ -222,4 +344,375 @@ class ProductControllerTest {
 
         verify(productService, never()).createProduct(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /api/products - Không có Accept → mặc định JSON")
+    void getAllProducts_DefaultsToJson() throws Exception {
+        Page<Product> page = new PageImpl<>(List.of(product), PageRequest.of(0, 10), 1);
+        when(productService.getAll(any(ProductFilterDTO.class), any(Pageable.class))).thenReturn(page);
+
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("GET /api/products - Accept: application/cbor → trả về CBOR")
+    void getAllProducts_AcceptCbor_ReturnsCbor() throws Exception {
+        Page<Product> page = new PageImpl<>(List.of(product), PageRequest.of(0, 10), 1);
+        when(productService.getAll(any(ProductFilterDTO.class), any(Pageable.class))).thenReturn(page);
+
+        byte[] body = mockMvc.perform(get("/api/products")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        JsonNode tree = new CBORMapper().readTree(body);
+        assertEquals("MacBook Pro", tree.get("content").get(0).get("productName").asText());
+    }
+
+    @Test
+    @DisplayName("POST /api/products - Body Smile, Accept Smile → 200")
+    void createProduct_Smile_RoundTrip() throws Exception {
+        SmileMapper smileMapper = new SmileMapper();
+        MediaType smile = MediaType.valueOf("application/x-jackson-smile");
+        when(productService.createProduct(any())).thenReturn(product);
+
+        byte[] body = mockMvc.perform(post("/api/products")
+                        .contentType(smile)
+                        .accept(smile)
+                        .content(smileMapper.writeValueAsBytes(product)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(smile))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        assertEquals("MacBook Pro", smileMapper.readValue(body, Product.class).getProductName());
+        verify(productService).createProduct(any(Product.class));
+    }
+
+    @Test
+    @DisplayName("PUT /api/products/{id} - Body CBOR → 200")
+    void updateProduct_CborBody_Success() throws Exception {
+        when(productService.updateProduct(eq(id), any())).thenReturn(product);
+
+        mockMvc.perform(put("/api/products/{id}", id)
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(new CBORMapper().writeValueAsBytes(product)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productName").value("MacBook Pro"));
+
+        verify(productService).updateProduct(eq(id), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/products - limit > 100 → 400")
+    void getAllProducts_LimitTooLarge_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/products")
+                        .param("limit", "100000"))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).getAll(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/export - NDJSON mỗi dòng một sản phẩm")
+    void exportProducts_Ndjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<ProductRowDTO> consumer = invocation.getArgument(0);
+            consumer.accept(ProductRowDTO.from(product));
+            consumer.accept(ProductRowDTO.from(product));
+            return null;
+        }).when(productService).exportProducts(any());
+
+        String body = mockMvc.perform(get("/api/products/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("MacBook Pro", objectMapper.readTree(lines[0]).get("productName").asText());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/export?format=csv - Header + escape dấu phẩy")
+    void exportProducts_Csv() throws Exception {
+        product.setDescription("Fast, light");
+        doAnswer(invocation -> {
+            Consumer<ProductRowDTO> consumer = invocation.getArgument(0);
+            consumer.accept(ProductRowDTO.from(product));
+            return null;
+        }).when(productService).exportProducts(any());
+
+        String body = mockMvc.perform(get("/api/products/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals("id,productName,price,quantity,description,category", lines[0]);
+        assertEquals(id + ",MacBook Pro,1999,20,\"Fast, light\",LAPTOPS", lines[1]);
+    }
+
+    @Test
+    @DisplayName("GET /api/products/export?format=xml - Định dạng không hỗ trợ → 400")
+    void exportProducts_UnsupportedFormat_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/products/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).exportProducts(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/changes - Trả về delta, tombstone và high-water mark")
+    void getChanges_ReturnsDeltaAndHighWaterMark() throws Exception {
+        UUID deletedId = UUID.randomUUID();
+        ProductChangesDTO changes = new ProductChangesDTO(List.of(
+                new ProductChangeDTO(7, id, ChangeType.UPDATED, Instant.now(), ProductRowDTO.from(product)),
+                new ProductChangeDTO(9, deletedId, ChangeType.DELETED, Instant.now(), null)
+        ), 9, false);
+        when(productChangeService.getChanges(5L, 100)).thenReturn(changes);
+
+        mockMvc.perform(get("/api/products/changes").param("since", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.highWaterMark").value(9))
+                .andExpect(jsonPath("$.changes[0].product.productName").value("MacBook Pro"))
+                .andExpect(jsonPath("$.changes[1].changeType").value("DELETED"))
+                .andExpect(jsonPath("$.changes[1].product").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/changes - since âm → 400")
+    void getChanges_NegativeSince_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/products/changes").param("since", "-1"))
+                .andExpect(status().isBadRequest());
+
+        verify(productChangeService, never()).getChanges(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/stream - Mở SSE bất đồng bộ, chuyển Last-Event-ID cho service")
+    void streamChanges_StartsAsyncWithLastEventId() throws Exception {
+        when(productStreamService.subscribe(42L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/products/stream")
+                        .header("Last-Event-ID", "42")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(productStreamService).subscribe(42L);
+    }
+
+    @Test
+    @DisplayName("GET /api/products/search - Trả về kết quả xếp hạng từ chỉ mục")
+    void searchProducts_ReturnsRankedHits() throws Exception {
+        ProductSearchResultDTO result = new ProductSearchResultDTO(List.of(new ProductSearchHitDTO(product, 2.5f)), 1);
+        when(productSearchService.search("macbook", 10)).thenReturn(result);
+
+        mockMvc.perform(get("/api/products/search").param("q", "macbook"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.hits[0].product.productName").value("MacBook Pro"))
+                .andExpect(jsonPath("$.hits[0].score").value(2.5));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/search - q rỗng hoặc limit > 100 → 400")
+    void searchProducts_InvalidParams_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/products/search").param("q", "  "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/search").param("q", "macbook").param("limit", "101"))
+                .andExpect(status().isBadRequest());
+
+        verify(productSearchService, never()).search(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/suggest - Trả về gợi ý theo tiền tố")
+    void suggestProducts_ReturnsSuggestions() throws Exception {
+        when(productSuggestService.suggest("mac", 5)).thenReturn(List.of(new ProductSuggestionDTO(id, "MacBook Pro")));
+
+        mockMvc.perform(get("/api/products/suggest").param("prefix", "mac").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(id.toString()))
+                .andExpect(jsonPath("$[0].productName").value("MacBook Pro"));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/suggest - limit > 10 → 400")
+    void suggestProducts_LimitTooLarge_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/products/suggest").param("prefix", "mac").param("limit", "11"))
+                .andExpect(status().isBadRequest());
+
+        verify(productSuggestService, never()).suggest(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /api/products?category=&minPrice=&maxPrice=&inStock= - Chuyển bộ lọc xuống service")
+    void getAllProducts_WithFilters_PassesFilter() throws Exception {
+        when(productService.getAll(any(ProductFilterDTO.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(product), PageRequest.of(0, 10), 1));
+
+        mockMvc.perform(get("/api/products")
+                        .param("category", "laptops")
+                        .param("minPrice", "1000")
+                        .param("maxPrice", "2000")
+                        .param("inStock", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].productName").value("MacBook Pro"));
+
+        ArgumentCaptor<ProductFilterDTO> captor = ArgumentCaptor.forClass(ProductFilterDTO.class);
+        verify(productService).getAll(captor.capture(), any(Pageable.class));
+        assertEquals(new ProductFilterDTO(Category.LAPTOPS, 1000, 2000, true), captor.getValue());
+    }
+
+    @Test
+    @DisplayName("GET /api/products - Category không tồn tại hoặc minPrice > maxPrice → 400")
+    void getAllProducts_InvalidFilters_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/products").param("category", "TABLETS"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products").param("minPrice", "500").param("maxPrice", "100"))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).getAll(any(ProductFilterDTO.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/scroll - Phân trang keyset trả về nextCursor")
+    void scrollProducts_ReturnsNextCursor() throws Exception {
+        when(productService.scroll(any(ProductFilterDTO.class), eq("price"), eq(Sort.Direction.DESC), eq("abc"), eq(10)))
+                .thenReturn(new ProductWindowDTO(List.of(product), "next", true));
+
+        mockMvc.perform(get("/api/products/scroll")
+                        .param("after", "abc")
+                        .param("sortBy", "price")
+                        .param("sortDir", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].productName").value("MacBook Pro"))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/scroll - sortBy ngoài danh sách hoặc con trỏ hỏng → 400")
+    void scrollProducts_InvalidSortOrCursor_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/products/scroll").param("sortBy", "description"))
+                .andExpect(status().isBadRequest());
+
+        when(productService.scroll(any(), any(), any(), eq("broken"), anyInt()))
+                .thenThrow(new IllegalArgumentException("Con trỏ không hợp lệ"));
+        mockMvc.perform(get("/api/products/scroll").param("after", "broken"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/facets - Trả về thống kê theo category từ bộ nhớ")
+    void getFacets_ReturnsCategoryAggregates() throws Exception {
+        when(productFacetService.getFacets()).thenReturn(List.of(
+                new CategoryFacetDTO(Category.LAPTOPS, 2, 30, 1000, 2000, 1500.0),
+                new CategoryFacetDTO(Category.CAMERAS, 0, 0, null, null, null)
+        ));
+
+        mockMvc.perform(get("/api/products/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].category").value("LAPTOPS"))
+                .andExpect(jsonPath("$[0].count").value(2))
+                .andExpect(jsonPath("$[0].avgPrice").value(1500.0))
+                .andExpect(jsonPath("$[1].minPrice").doesNotExist());
+
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    @DisplayName("GET /api/products/top-sellers & /low-stock - Trả về xếp hạng từ bộ nhớ")
+    void rankings_ServedFromMemory() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(productRankingService.getTopSellers(5)).thenReturn(List.of(
+                new ProductRankingDTO(id, "Laptop Dell", Category.LAPTOPS, 3, 42)));
+        when(productRankingService.getLowStock(10)).thenReturn(List.of(
+                new ProductRankingDTO(id, "Laptop Dell", Category.LAPTOPS, 3, 42)));
+
+        mockMvc.perform(get("/api/products/top-sellers").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].productName").value("Laptop Dell"))
+                .andExpect(jsonPath("$[0].estimatedSold").value(42));
+        mockMvc.perform(get("/api/products/low-stock"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].quantity").value(3));
+        mockMvc.perform(get("/api/products/low-stock").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    @DisplayName("GET /api/products?ids= - Lấy nhiều sản phẩm một lượt, báo id không tồn tại")
+    void getProductsByIds_ReturnsProductsAndMissing() throws Exception {
+        UUID missingId = UUID.randomUUID();
+        when(productService.getProducts(List.of(id, missingId)))
+                .thenReturn(new ProductMultiGetDTO(List.of(product), List.of(missingId)));
+
+        mockMvc.perform(get("/api/products").param("ids", id + "," + missingId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].id").value(id.toString()))
+                .andExpect(jsonPath("$.missing[0]").value(missingId.toString()));
+
+        verify(productService, never()).getAll(any(ProductFilterDTO.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("POST /api/products/_mget - Body rỗng hoặc quá MAX_MULTI_GET_IDS id → 400")
+    void multiGetProducts_InvalidIds_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/products/_mget")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductIdsDTO(List.of()))))
+                .andExpect(status().isBadRequest());
+
+        List<UUID> tooMany = Stream.generate(UUID::randomUUID).limit(ProductController.MAX_MULTI_GET_IDS + 1).toList();
+        mockMvc.perform(post("/api/products/_mget")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductIdsDTO(tooMany))))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/products/_mget")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductIdsDTO(List.of(id)))))
+                .andExpect(status().isOk());
+        verify(productService).getProducts(List.of(id));
+    }
+
+    @Test
+    @DisplayName("GET /api/products?fields= - Chỉ trả về các trường được yêu cầu")
+    void getAllProducts_WithFields_ReturnsProjection() throws Exception {
+        Page<Map<String, Object>> page = new PageImpl<>(
+                List.of(Map.of("id", id, "productName", "MacBook Pro", "price", 1999)), PageRequest.of(0, 10), 1);
+        when(productService.getAllProjected(any(ProductFilterDTO.class), any(Pageable.class),
+                eq(List.of("productName", "price")))).thenReturn(page);
+
+        mockMvc.perform(get("/api/products").param("fields", "productName, price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].productName").value("MacBook Pro"))
+                .andExpect(jsonPath("$.content[0].price").value(1999))
+                .andExpect(jsonPath("$.content[0].description").doesNotExist());
+
+        verify(productService, never()).getAll(any(ProductFilterDTO.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("GET /api/products?fields= - Trường không tồn tại → 400")
+    void getAllProducts_UnknownField_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/products").param("fields", "productName,password"))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).getAllProjected(any(), any(), any());
+    }
+}
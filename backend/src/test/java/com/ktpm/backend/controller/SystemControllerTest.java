@@ -0,0 +1,94 @@
+package com.ktpm.backend.controller;
+
+import com.ktpm.backend.dto.CacheRegionStatsDTO;
+import com.ktpm.backend.dto.PinningSiteDTO;
+import com.ktpm.backend.filter.JwtAuthFilter;
+import com.ktpm.backend.service.CacheStatisticsService;
+import com.ktpm.backend.service.VirtualThreadPinningService;
+import com.ktpm.backend.utils.JwtUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc(addFilters = false)
+@WebMvcTest(SystemController.class)
+@DisplayName("SystemController API Tests")
+class SystemControllerTest {
+
+    @Autowired private MockMvc mockMvc;
+    @MockBean private CacheStatisticsService cacheStatisticsService;
+    @MockBean private VirtualThreadPinningService virtualThreadPinningService;
+    @MockBean private JwtUtil jwtUtil;
+    @MockBean private JwtAuthFilter jwtAuthFilter;
+
+    @Test
+    @DisplayName("GET /api/system/cache - Trả về thống kê từng region cache cấp 2")
+    void getCacheStatistics_ReturnsRegions() throws Exception {
+        when(cacheStatisticsService.getRegionStatistics()).thenReturn(List.of(
+                new CacheRegionStatsDTO("product", 9, 1, 1, 0.9),
+                new CacheRegionStatsDTO("product-queries", 0, 0, 0, null)
+        ));
+
+        mockMvc.perform(get("/api/system/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].region").value("product"))
+                .andExpect(jsonPath("$[0].hitRatio").value(0.9))
+                .andExpect(jsonPath("$[1].hitRatio").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/system/concurrency - Trả về giới hạn hiện tại, số request đang xử lý và RTT")
+    void getConcurrencyLimit_ReturnsLimiterState() throws Exception {
+        mockMvc.perform(get("/api/system/concurrency"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.limit").value(100))
+                .andExpect(jsonPath("$.rejected").value(0));
+    }
+
+    @Test
+    @DisplayName("GET /api/system/bulkheads - Trả về giới hạn và số request của từng lane")
+    void getBulkheads_ReturnsLanes() throws Exception {
+        mockMvc.perform(get("/api/system/bulkheads"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].lane").value("AUTH"))
+                .andExpect(jsonPath("$[0].maxConcurrent").value(8))
+                .andExpect(jsonPath("$[0].rejected").value(0));
+    }
+
+    @Test
+    @DisplayName("GET /api/system/timings - Trả về phân vị của từng giai đoạn Server-Timing")
+    void getServerTimings_ReturnsStages() throws Exception {
+        mockMvc.perform(get("/api/system/timings"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].stage").value("jwt"))
+                .andExpect(jsonPath("$[4].stage").value("total"))
+                .andExpect(jsonPath("$[4].count").value(0));
+    }
+
+    @Test
+    @DisplayName("GET /api/system/pinning - Trả về các vị trí virtual thread bị ghim")
+    void getPinnedSites_ReturnsSites() throws Exception {
+        when(virtualThreadPinningService.getSites()).thenReturn(List.of(
+                new PinningSiteDTO("com.ktpm.backend.service.AuthService.login:42", 3, 90.5, 40.0)
+        ));
+
+        mockMvc.perform(get("/api/system/pinning"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].site").value("com.ktpm.backend.service.AuthService.login:42"))
+                .andExpect(jsonPath("$[0].count").value(3));
+    }
+}
@@ -0,0 +1,105 @@
+package com.ktpm.backend.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdaptiveConcurrencyFilter - Từ chối ngay khi vượt giới hạn Tests")
+class AdaptiveConcurrencyFilterTest {
+
+    private AdaptiveConcurrencyFilter filter(boolean enabled) {
+        CorsConfiguration cors = new CorsConfiguration();
+        cors.setAllowedOrigins(List.of("http://localhost:3000"));
+        cors.setAllowedMethods(List.of("GET", "POST"));
+        cors.setAllowCredentials(true);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", cors);
+        return new AdaptiveConcurrencyFilter(enabled, 1, 1, 10, 2.0, 0.2, 100, source);
+    }
+
+    @Test
+    @DisplayName("doFilter() - Hết giới hạn → 503 + Retry-After ngay, /api/system vẫn trả lời")
+    void doFilter_OverLimit_Rejects() throws Exception {
+        AdaptiveConcurrencyFilter filter = filter(true);
+        AtomicReference<MockHttpServletResponse> rejected = new AtomicReference<>();
+        AtomicReference<MockHttpServletResponse> system = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), new MockHttpServletResponse(), (req, res) -> {
+            MockHttpServletResponse second = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("POST", "/api/auth/login"), second, (r, s) -> fail("Đã vượt giới hạn"));
+            rejected.set(second);
+            MockHttpServletResponse stats = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/system/concurrency"), stats,
+                    (r, s) -> ((MockHttpServletResponse) s).setStatus(200));
+            system.set(stats);
+        });
+
+        assertEquals(503, rejected.get().getStatus());
+        assertEquals("1", rejected.get().getHeader("Retry-After"));
+        assertEquals(200, system.get().getStatus());
+        assertEquals(0, filter.getStats().getInFlight());
+        assertEquals(1, filter.getStats().getRejected());
+    }
+
+    @Test
+    @DisplayName("doFilter() - Tắt bằng app.concurrency-limit.enabled=false → không giới hạn")
+    void doFilter_Disabled_PassesThrough() throws Exception {
+        AdaptiveConcurrencyFilter filter = filter(false);
+        AtomicReference<Integer> nestedStatus = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), new MockHttpServletResponse(), (req, res) -> {
+            MockHttpServletResponse second = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), second,
+                    (r, s) -> ((MockHttpServletResponse) s).setStatus(204));
+            nestedStatus.set(second.getStatus());
+        });
+
+        assertEquals(204, nestedStatus.get());
+        assertFalse(filter.getStats().isEnabled());
+    }
+
+    @Test
+    @DisplayName("doFilter() - 503 cho request từ frontend vẫn có header CORS")
+    void doFilter_OverLimit_KeepsCorsHeaders() throws Exception {
+        AdaptiveConcurrencyFilter filter = filter(true);
+        AtomicReference<MockHttpServletResponse> rejected = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), new MockHttpServletResponse(), (req, res) -> {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+            request.addHeader("Origin", "http://localhost:3000");
+            MockHttpServletResponse second = new MockHttpServletResponse();
+            filter.doFilter(request, second, (r, s) -> fail("Đã vượt giới hạn"));
+            rejected.set(second);
+        });
+
+        assertEquals(503, rejected.get().getStatus());
+        assertEquals("http://localhost:3000", rejected.get().getHeader("Access-Control-Allow-Origin"));
+        assertEquals("true", rejected.get().getHeader("Access-Control-Allow-Credentials"));
+    }
+
+    @Test
+    @DisplayName("doFilter() - Kết nối SSE/export không chiếm giới hạn")
+    void doFilter_StreamingPaths_NotLimited() throws Exception {
+        AdaptiveConcurrencyFilter filter = filter(true);
+        AtomicReference<Integer> nestedStatus = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products/stream"), new MockHttpServletResponse(), (req, res) -> {
+            assertEquals(0, filter.getStats().getInFlight());
+            MockHttpServletResponse second = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), second,
+                    (r, s) -> ((MockHttpServletResponse) s).setStatus(200));
+            nestedStatus.set(second.getStatus());
+        });
+
+        assertEquals(200, nestedStatus.get());
+        assertEquals(0, filter.getStats().getRejected());
+    }
+}
@@ -0,0 +1,150 @@
+package com.ktpm.backend.filter;
+
+import com.ktpm.backend.config.BulkheadConfig;
+import com.ktpm.backend.config.BulkheadLane;
+import com.ktpm.backend.config.BulkheadSettings;
+import com.ktpm.backend.config.ConnectionLimitingDataSource;
+import com.ktpm.backend.config.LaneConnectionLimitingDataSource;
+import com.ktpm.backend.dto.BulkheadStatsDTO;
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BulkheadFilter - Lane riêng cho auth / đọc / ghi sản phẩm Tests")
+class BulkheadFilterTest {
+
+    private static final Map<BulkheadLane, BulkheadSettings> SETTINGS = Map.of(
+            BulkheadLane.AUTH, new BulkheadSettings(1, 0, 0, 0),
+            BulkheadLane.PRODUCT_READ, new BulkheadSettings(10, 0, 0, 0),
+            BulkheadLane.PRODUCT_WRITE, new BulkheadSettings(10, 0, 0, 1)
+    );
+
+    private MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+
+    @Test
+    @DisplayName("BulkheadLane.of() - Phân lane theo route và method")
+    void lane_ByRouteAndMethod() {
+        assertEquals(BulkheadLane.AUTH, BulkheadLane.of(request("POST", "/api/auth/login")));
+        assertEquals(BulkheadLane.PRODUCT_READ, BulkheadLane.of(request("GET", "/api/products")));
+        assertEquals(BulkheadLane.PRODUCT_READ, BulkheadLane.of(request("POST", "/api/products/_mget")));
+        assertEquals(BulkheadLane.PRODUCT_WRITE, BulkheadLane.of(request("PUT", "/api/products/" + UUID.randomUUID())));
+        assertNull(BulkheadLane.of(request("GET", "/api/system/cache")));
+        assertNull(BulkheadLane.of(request("GET", "/api/productsx")));
+    }
+
+    @Test
+    @DisplayName("doFilter() - Lane auth đầy → 503 + Retry-After, lane đọc sản phẩm vẫn chạy bình thường")
+    void doFilter_SaturatedLane_DoesNotBlockOtherLanes() throws Exception {
+        BulkheadFilter filter = new BulkheadFilter(SETTINGS, null);
+        AtomicReference<MockHttpServletResponse> rejected = new AtomicReference<>();
+        AtomicReference<MockHttpServletResponse> otherLane = new AtomicReference<>();
+        AtomicReference<BulkheadLane> laneInChain = new AtomicReference<>();
+
+        filter.doFilter(request("POST", "/api/auth/login"), new MockHttpServletResponse(), (req, res) -> {
+            laneInChain.set(BulkheadFilter.currentLane());
+            MockHttpServletResponse second = new MockHttpServletResponse();
+            filter.doFilter(request("POST", "/api/auth/register"), second, (r, s) -> fail("Lane auth đã đầy"));
+            rejected.set(second);
+            MockHttpServletResponse read = new MockHttpServletResponse();
+            filter.doFilter(request("GET", "/api/products"), read, (r, s) -> ((MockHttpServletResponse) s).setStatus(200));
+            otherLane.set(read);
+        });
+
+        assertEquals(BulkheadLane.AUTH, laneInChain.get());
+        assertEquals(503, rejected.get().getStatus());
+        assertEquals("1", rejected.get().getHeader("Retry-After"));
+        assertEquals(200, otherLane.get().getStatus());
+        assertNull(BulkheadFilter.currentLane());
+        assertEquals(1, filter.getStats().stream().mapToLong(BulkheadStatsDTO::getRejected).sum());
+    }
+
+    @Test
+    @DisplayName("LaneConnectionLimitingDataSource - Chỉ lane có max-connections bị giới hạn connection")
+    void laneConnectionLimit_OnlyLimitsConfiguredLane() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:lanes-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        LaneConnectionLimitingDataSource dataSource = new LaneConnectionLimitingDataSource(h2, SETTINGS);
+        BulkheadFilter filter = new BulkheadFilter(SETTINGS, null);
+
+        filter.doFilter(request("DELETE", "/api/products/" + UUID.randomUUID()), new MockHttpServletResponse(), (req, res) -> {
+            try (Connection first = dataSource.getConnection()) {
+                assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        filter.doFilter(request("GET", "/api/products"), new MockHttpServletResponse(), (req, res) -> {
+            try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+                assertTrue(second.isValid(1));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("doFilter() - 503 của lane đầy cho request từ frontend vẫn có header CORS")
+    void doFilter_SaturatedLane_KeepsCorsHeaders() throws Exception {
+        CorsConfiguration cors = new CorsConfiguration();
+        cors.setAllowedOrigins(List.of("http://localhost:3000"));
+        cors.setAllowedMethods(List.of("GET", "POST"));
+        cors.setAllowCredentials(true);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", cors);
+        BulkheadFilter filter = new BulkheadFilter(SETTINGS, source);
+        AtomicReference<MockHttpServletResponse> rejected = new AtomicReference<>();
+
+        filter.doFilter(request("POST", "/api/auth/login"), new MockHttpServletResponse(), (req, res) -> {
+            MockHttpServletRequest second = request("POST", "/api/auth/login");
+            second.addHeader("Origin", "http://localhost:3000");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(second, response, (r, s) -> fail("Lane auth đã đầy"));
+            rejected.set(response);
+        });
+
+        assertEquals(503, rejected.get().getStatus());
+        assertEquals("1", rejected.get().getHeader("Retry-After"));
+        assertEquals("http://localhost:3000", rejected.get().getHeader("Access-Control-Allow-Origin"));
+        assertEquals("true", rejected.get().getHeader("Access-Control-Allow-Credentials"));
+    }
+
+    @Test
+    @DisplayName("BulkheadConfig - Bọc pool Hikari theo kiểu, không bọc proxy \"dataSource\" của replica routing")
+    void laneConnectionLimitingPostProcessor_WrapsPoolsOnly() {
+        BeanPostProcessor postProcessor = BulkheadConfig.laneConnectionLimitingPostProcessor(
+                new MockEnvironment()
+                        .withProperty("app.bulkheads.product-write.max-concurrent", "12")
+                        .withProperty("app.bulkheads.product-write.max-connections", "1"));
+        try (HikariDataSource primary = new HikariDataSource(); HikariDataSource replica = new HikariDataSource()) {
+            LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+
+            assertInstanceOf(LaneConnectionLimitingDataSource.class,
+                    postProcessor.postProcessAfterInitialization(primary, "primaryDataSource"));
+            assertInstanceOf(LaneConnectionLimitingDataSource.class,
+                    postProcessor.postProcessAfterInitialization(replica, "replicaDataSource"));
+            assertInstanceOf(LaneConnectionLimitingDataSource.class, postProcessor.postProcessAfterInitialization(
+                    new ConnectionLimitingDataSource(primary, 10, 1000), "dataSource"));
+            assertSame(routing, postProcessor.postProcessAfterInitialization(routing, "dataSource"));
+        }
+    }
+}
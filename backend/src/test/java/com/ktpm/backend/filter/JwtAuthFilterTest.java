@@ -0,0 +1,57 @@
+package com.ktpm.backend.filter;
+
+import com.ktpm.backend.utils.JwtUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JwtAuthFilter - Bảo vệ /actuator bằng scrape token Tests")
+class JwtAuthFilterTest {
+    private static final String SECRET = "VGhpcy1pcy1hLXNlY3JldC1rZXktZm9yLUpXVC0yNTYtYml0IQ==";
+
+    private MockHttpServletResponse perform(JwtAuthFilter filter, String uri, String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        if (chain.getRequest() != null) {
+            response.setStatus(200);
+        }
+        return response;
+    }
+
+    @Test
+    @DisplayName("/actuator/prometheus - Đúng token → cho qua, sai hoặc thiếu token → 401")
+    void prometheus_RequiresScrapeToken() throws Exception {
+        JwtAuthFilter filter = new JwtAuthFilter(new JwtUtil(SECRET), "scrape-secret");
+
+        assertEquals(200, perform(filter, "/actuator/prometheus", "Bearer scrape-secret").getStatus());
+        assertEquals(401, perform(filter, "/actuator/prometheus", "Bearer sai-token").getStatus());
+        assertEquals(401, perform(filter, "/actuator/prometheus", null).getStatus());
+        assertEquals(401, perform(filter, "/actuator/metrics", null).getStatus());
+    }
+
+    @Test
+    @DisplayName("/actuator/prometheus - Chưa cấu hình token → luôn 401")
+    void prometheus_NoTokenConfigured_AlwaysRejected() throws Exception {
+        JwtAuthFilter filter = new JwtAuthFilter(new JwtUtil(SECRET), "");
+
+        assertEquals(401, perform(filter, "/actuator/prometheus", "Bearer ").getStatus());
+        assertEquals(401, perform(filter, "/actuator/prometheus", null).getStatus());
+    }
+
+    @Test
+    @DisplayName("/actuator/health - Không cần token")
+    void health_NoToken() throws Exception {
+        JwtAuthFilter filter = new JwtAuthFilter(new JwtUtil(SECRET), "");
+
+        assertEquals(200, perform(filter, "/actuator/health", null).getStatus());
+    }
+}
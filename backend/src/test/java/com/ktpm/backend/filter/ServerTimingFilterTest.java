@@ -0,0 +1,84 @@
+package com.ktpm.backend.filter;
+
+import com.ktpm.backend.config.ServerTimingResponseAdvice;
+import com.ktpm.backend.dto.ServerTimingStatsDTO;
+import com.ktpm.backend.utils.ServerTiming;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ServerTimingFilter - Header Server-Timing và histogram Tests")
+class ServerTimingFilterTest {
+
+    @Test
+    @DisplayName("doFilter() - Body chưa commit → header đầy đủ từng giai đoạn, request được ghi vào histogram")
+    void doFilter_AddsHeaderAndRecords() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(true, 1.0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), response, (req, res) -> {
+            assertSame(response, res);
+            try (ServerTiming.Span ignored = ServerTiming.start(ServerTiming.Stage.JWT)) {
+                res.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+
+        String header = response.getHeader(ServerTimingFilter.HEADER);
+        assertNotNull(header);
+        assertTrue(header.startsWith("jwt;dur="), header);
+        assertTrue(header.contains("total;dur="), header);
+        assertEquals("{}", response.getContentAsString());
+        assertNull(ServerTiming.current());
+
+        List<ServerTimingStatsDTO> stats = filter.getStats();
+        assertEquals(1, stats.stream().filter(s -> s.getStage().equals("jwt")).findFirst().orElseThrow().getCount());
+        assertEquals(0, stats.stream().filter(s -> s.getStage().equals("db")).findFirst().orElseThrow().getCount());
+        assertEquals(1, stats.get(stats.size() - 1).getCount());
+    }
+
+    @Test
+    @DisplayName("doFilter() - Body lớn commit response → header do ResponseBodyAdvice gắn trước khi ghi body, ser vào histogram")
+    void doFilter_CommittedResponse_KeepsHeaderFromAdvice() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(true, 1.0);
+        ServerTimingResponseAdvice advice = new ServerTimingResponseAdvice(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        byte[] body = "x".repeat(64 * 1024).getBytes(StandardCharsets.UTF_8);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), response, (req, res) -> {
+            ServletServerHttpResponse output = new ServletServerHttpResponse((HttpServletResponse) res);
+            advice.beforeBodyWrite(body, null, MediaType.APPLICATION_JSON, null, null, output);
+            output.getBody().write(body);
+            output.flush();
+            assertTrue(res.isCommitted());
+        });
+
+        String header = response.getHeader(ServerTimingFilter.HEADER);
+        assertNotNull(header);
+        assertTrue(header.startsWith("total;dur="), header);
+        assertEquals(body.length, response.getContentAsByteArray().length);
+        assertEquals(1, filter.getStats().stream().filter(s -> s.getStage().equals("ser")).findFirst().orElseThrow().getCount());
+    }
+
+    @Test
+    @DisplayName("doFilter() - Tắt hoặc route streaming → không có header, không mở ServerTiming")
+    void doFilter_DisabledOrStreaming_NoHeader() throws Exception {
+        MockHttpServletResponse disabled = new MockHttpServletResponse();
+        new ServerTimingFilter(false, 1.0).doFilter(new MockHttpServletRequest("GET", "/api/products"), disabled,
+                (req, res) -> assertNull(ServerTiming.current()));
+        assertNull(disabled.getHeader(ServerTimingFilter.HEADER));
+
+        MockHttpServletResponse export = new MockHttpServletResponse();
+        new ServerTimingFilter(true, 1.0).doFilter(new MockHttpServletRequest("GET", "/api/products/export"), export,
+                (req, res) -> assertNull(ServerTiming.current()));
+        assertNull(export.getHeader(ServerTimingFilter.HEADER));
+    }
+}
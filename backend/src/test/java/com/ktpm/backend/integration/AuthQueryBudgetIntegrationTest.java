@@ -0,0 +1,100 @@
+package com.ktpm.backend.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktpm.backend.dto.LoginRequestDTO;
+import com.ktpm.backend.dto.RegisterRequestDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Ngân sách SQL của đăng ký / đăng nhập trên database thật (AuthControllerIntegrationTest mock AuthService)
+@SpringBootTest
+@Import(SqlRecorderConfig.class)
+@AutoConfigureMockMvc(addFilters = false)
+@DisplayName("INTEGRATION - Số câu SQL của đăng ký và đăng nhập")
+class AuthQueryBudgetIntegrationTest {
+
+    private static final String PASSWORD = "Budget123";
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private SqlRecorder sqlRecorder;
+
+    private String username;
+
+    @BeforeEach
+    void setUp() {
+        username = "budget" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private String registerBody(String username) throws Exception {
+        RegisterRequestDTO request = new RegisterRequestDTO();
+        request.setUsername(username);
+        request.setPassword(PASSWORD);
+        request.setVerifyPassword(PASSWORD);
+        return objectMapper.writeValueAsString(request);
+    }
+
+    private String loginBody(String username) throws Exception {
+        LoginRequestDTO request = new LoginRequestDTO();
+        request.setUsername(username);
+        request.setPassword(PASSWORD);
+        return objectMapper.writeValueAsString(request);
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/register - 2 câu SQL: kiểm tra username rồi insert")
+    void register_TwoStatements() throws Exception {
+        String body = registerBody(username);
+
+        sqlRecorder.measure("POST /api/auth/register", () -> mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated()))
+                .assertStatements(2)
+                .assertRoundTripsAtMost(2);
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/register - Username đã tồn tại: chỉ 1 câu SQL, không insert")
+    void register_Existing_OneStatement() throws Exception {
+        String body = registerBody(username);
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+
+        sqlRecorder.measure("POST /api/auth/register (trùng)", () -> mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isConflict()))
+                .assertStatements(1);
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/login - 1 câu SQL, cấp phát không vượt trần")
+    void login_OneStatement() throws Exception {
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON).content(registerBody(username)))
+                .andExpect(status().isCreated());
+        String body = loginBody(username);
+        // lượt đầu khởi tạo Jackson, BCrypt... không tính vào ngân sách cấp phát
+        mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+
+        sqlRecorder.measure("POST /api/auth/login", () -> mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk()))
+                .assertStatements(1)
+                .assertAllocatedBytesAtMost(8L * 1024 * 1024);
+    }
+}
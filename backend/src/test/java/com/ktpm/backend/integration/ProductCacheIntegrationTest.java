@@ -0,0 +1,117 @@
+package com.ktpm.backend.integration;
+
+import com.ktpm.backend.dto.CacheRegionStatsDTO;
+import com.ktpm.backend.dto.ProductFilterDTO;
+import com.ktpm.backend.entity.Product;
+import com.ktpm.backend.entity.enums.Category;
+import com.ktpm.backend.exception.ProductNotFoundException;
+import com.ktpm.backend.repository.ProductRepository;
+import com.ktpm.backend.service.CacheStatisticsService;
+import com.ktpm.backend.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Import(SqlRecorderConfig.class)
+@DisplayName("INTEGRATION - Cache cấp 2 và query cache cho Product")
+class ProductCacheIntegrationTest {
+
+    // Khoảng giá riêng để trang lọc chỉ chứa sản phẩm của test này
+    private static final int BASE_PRICE = 876_540_000;
+
+    @Autowired private ProductService productService;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private CacheStatisticsService cacheStatisticsService;
+    @Autowired private SqlRecorder sqlRecorder;
+
+    private Product product;
+    private ProductFilterDTO filter;
+    private Pageable pageable;
+
+    @BeforeEach
+    void setUp() {
+        product = productService.createProduct(Product.builder()
+                .productName("Máy ảnh cache")
+                .price(BASE_PRICE)
+                .quantity(5)
+                .description("Máy ảnh")
+                .category(Category.CAMERAS)
+                .build());
+        filter = new ProductFilterDTO(Category.CAMERAS, BASE_PRICE, BASE_PRICE + 100, false);
+        pageable = PageRequest.of(0, 10, Sort.by("price"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (productRepository.existsById(product.getId())) {
+            productService.deleteProduct(product.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("getProduct() lặp lại - Không gửi câu SQL nào, lấy từ cache cấp 2")
+    void getProduct_RepeatedReads_NoSql() throws Exception {
+        productService.getProduct(product.getId());
+
+        sqlRecorder.measure("getProduct() x3", () -> {
+            for (int i = 0; i < 3; i++) {
+                assertEquals("Máy ảnh cache", productService.getProduct(product.getId()).orElseThrow().getProductName());
+            }
+        }).assertStatements(0);
+
+        CacheRegionStatsDTO region = cacheStatisticsService.getRegionStatistics().stream()
+                .filter(stats -> Product.CACHE_REGION.equals(stats.getRegion()))
+                .findFirst().orElseThrow();
+        assertTrue(region.getHitCount() >= 3);
+    }
+
+    @Test
+    @DisplayName("getAll() lặp lại cùng trang - Không gửi câu SQL nào (kể cả count), lấy từ query cache")
+    void getAll_RepeatedPage_NoSql() throws Exception {
+        productService.getAll(filter, pageable);
+
+        sqlRecorder.measure("getAll() x2", () -> {
+            Page<Product> page = productService.getAll(filter, pageable);
+            productService.getAll(filter, pageable);
+
+            assertEquals(1, page.getTotalElements());
+            assertEquals(product.getId(), page.getContent().get(0).getId());
+        }).assertStatements(0);
+    }
+
+    @Test
+    @DisplayName("update/delete - Cache entity và query cache được làm mới, không trả dữ liệu cũ")
+    void writes_InvalidateCaches() throws Exception {
+        productService.getProduct(product.getId());
+        productService.getAll(filter, pageable);
+
+        productService.updateProduct(product.getId(), Product.builder()
+                .productName("Máy ảnh mới")
+                .price(BASE_PRICE + 1)
+                .quantity(5)
+                .description("Máy ảnh")
+                .category(Category.CAMERAS)
+                .build());
+
+        assertEquals("Máy ảnh mới", productService.getProduct(product.getId()).orElseThrow().getProductName());
+        SqlRecorder.Recording recording = sqlRecorder.measure("getAll() sau update", () ->
+                assertEquals(BASE_PRICE + 1, productService.getAll(filter, pageable).getContent().get(0).getPrice()));
+        assertTrue(recording.getStatementCount() > 0);
+
+        productService.deleteProduct(product.getId());
+
+        assertThrows(ProductNotFoundException.class, () -> productService.getProduct(product.getId()));
+        assertEquals(0, productService.getAll(filter, pageable).getTotalElements());
+    }
+}
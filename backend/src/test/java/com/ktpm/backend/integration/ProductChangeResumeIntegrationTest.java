@@ -0,0 +1,284 @@
+package com.ktpm.backend.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktpm.backend.dto.ProductChangeDTO;
+import com.ktpm.backend.entity.enums.ChangeType;
+import com.ktpm.backend.repository.ProductChangeRepository;
+import com.ktpm.backend.service.ProductChangeService;
+import com.ktpm.backend.service.ProductStreamService;
+import com.ktpm.backend.utils.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Vị trí change feed được cấp theo thứ tự commit: transaction commit muộn không thể mang seq nhỏ hơn
+// high-water mark mà client đã đọc, kể cả client SSE kết nối lại với Last-Event-ID
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DisplayName("INTEGRATION - Change feed khi transaction commit muộn")
+class ProductChangeResumeIntegrationTest {
+
+    @Autowired private ProductChangeService productChangeService;
+    @Autowired private ProductStreamService productStreamService;
+    @Autowired private ProductChangeRepository productChangeRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private JwtUtil jwtUtil;
+    @Autowired private ObjectMapper objectMapper;
+    @LocalServerPort private int port;
+
+    private final List<UUID> productIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                productIds.forEach(productChangeRepository::deleteByProductId));
+    }
+
+    private UUID newProductId() {
+        UUID id = UUID.randomUUID();
+        productIds.add(id);
+        return id;
+    }
+
+    private long record(UUID productId) {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                productChangeService.record(productId, ChangeType.DELETED, null, null));
+    }
+
+    private List<UUID> changesAfter(long since) {
+        return productChangeService.getChanges(since, 1000).getChanges().stream()
+                .map(ProductChangeDTO::getProductId)
+                .toList();
+    }
+
+    // Header response chỉ được gửi cùng event đầu tiên: chờ server đăng ký subscriber thay vì chờ response
+    private SseClient connect(Long lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products/stream"))
+                .header("Cookie", "token=" + jwtUtil.generateToken(UUID.randomUUID(), "sse-client"));
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", String.valueOf(lastEventId));
+        }
+        int subscribers = productStreamService.getSubscriberCount();
+        SseClient client = new SseClient(HttpClient.newHttpClient()
+                .sendAsync(request.build(), HttpResponse.BodyHandlers.ofInputStream()));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (productStreamService.getSubscriberCount() <= subscribers) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+        return client;
+    }
+
+    private record SseEvent(long id, UUID productId) {
+    }
+
+    // Đọc stream SSE trên virtual thread, mỗi event (id + data) vào một hàng đợi
+    private class SseClient implements AutoCloseable {
+        private final CompletableFuture<HttpResponse<InputStream>> response;
+        private final BlockingQueue<SseEvent> events = new LinkedBlockingQueue<>();
+
+        SseClient(CompletableFuture<HttpResponse<InputStream>> response) {
+            this.response = response;
+            Thread.ofVirtual().start(this::read);
+        }
+
+        private void read() {
+            InputStream body = response.join().body();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                String id = null;
+                String data = null;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith("id:")) {
+                        id = line.substring(3).trim();
+                    } else if (line.startsWith("data:")) {
+                        data = line.substring(5);
+                    } else if (line.isEmpty() && id != null && data != null) {
+                        UUID productId = UUID.fromString(objectMapper.readTree(data).get("productId").asText());
+                        events.add(new SseEvent(Long.parseLong(id), productId));
+                        id = null;
+                        data = null;
+                    }
+                }
+            } catch (IOException e) {
+                // client đã đóng kết nối
+            }
+        }
+
+        SseEvent next() throws InterruptedException {
+            SseEvent event = events.poll(10, TimeUnit.SECONDS);
+            assertNotNull(event);
+            return event;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!response.cancel(true)) {
+                response.join().body().close();
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Transaction bắt đầu trước nhưng commit sau high-water mark client đã đọc → seq lớn hơn, vẫn có trong lần đọc sau")
+    void getChanges_LateCommit_AfterClientHighWaterMark() throws Exception {
+        UUID lateProduct = newProductId();
+        UUID earlyProduct = newProductId();
+        CountDownLatch lateStarted = new CountDownLatch(1);
+        CountDownLatch clientPolled = new CountDownLatch(1);
+        AtomicLong lateSeq = new AtomicLong();
+
+        Thread lateWriter = Thread.ofVirtual().start(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    lateStarted.countDown();
+                    await(clientPolled);
+                    lateSeq.set(productChangeService.record(lateProduct, ChangeType.DELETED, null, null));
+                }));
+        await(lateStarted);
+        long earlySeq = record(earlyProduct);
+        long clientHighWaterMark = productChangeService.getChanges(earlySeq - 1, 1000).getHighWaterMark();
+        clientPolled.countDown();
+        lateWriter.join();
+
+        assertEquals(earlySeq, clientHighWaterMark);
+        assertTrue(lateSeq.get() > clientHighWaterMark);
+        assertEquals(List.of(lateProduct), changesAfter(clientHighWaterMark));
+    }
+
+    @Test
+    @DisplayName("Đã cấp vị trí nhưng chưa commit → transaction sau chờ tới commit, seq theo thứ tự commit")
+    void record_EarlierPositionUncommitted_NextWriterWaits() throws Exception {
+        UUID firstProduct = newProductId();
+        UUID secondProduct = newProductId();
+        CountDownLatch firstRecorded = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CountDownLatch secondCommitted = new CountDownLatch(1);
+        AtomicLong firstSeq = new AtomicLong();
+        AtomicLong secondSeq = new AtomicLong();
+
+        Thread firstWriter = Thread.ofVirtual().start(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    firstSeq.set(productChangeService.record(firstProduct, ChangeType.DELETED, null, null));
+                    firstRecorded.countDown();
+                    await(releaseFirst);
+                }));
+        await(firstRecorded);
+        Thread secondWriter = Thread.ofVirtual().start(() -> {
+            secondSeq.set(record(secondProduct));
+            secondCommitted.countDown();
+        });
+
+        assertFalse(secondCommitted.await(300, TimeUnit.MILLISECONDS));
+        assertTrue(changesAfter(firstSeq.get() - 1).isEmpty());
+        releaseFirst.countDown();
+        firstWriter.join();
+        secondWriter.join();
+
+        assertEquals(firstSeq.get() + 1, secondSeq.get());
+        assertEquals(List.of(firstProduct, secondProduct), changesAfter(firstSeq.get() - 1));
+    }
+
+    @Test
+    @DisplayName("Replay sau Last-Event-ID → chỉ các change có seq lớn hơn")
+    void resume_ChangesUpToLastEventId_NotReplayed() {
+        UUID oldProduct = newProductId();
+        record(oldProduct);
+        UUID seenProduct = newProductId();
+        long lastEventId = record(seenProduct);
+        UUID nextProduct = newProductId();
+        record(nextProduct);
+
+        assertEquals(List.of(nextProduct), changesAfter(lastEventId));
+    }
+
+    @Test
+    @DisplayName("SSE: transaction đã cấp vị trí lúc client mất kết nối, commit sau khi client kết nối lại → vẫn nhận được")
+    void stream_CommitAfterReconnect_Delivered() throws Exception {
+        UUID seenProduct = newProductId();
+        UUID lateProduct = newProductId();
+        SseEvent seen;
+        try (SseClient client = connect(null)) {
+            long seq = record(seenProduct);
+            seen = client.next();
+            assertEquals(new SseEvent(seq, seenProduct), seen);
+        }
+
+        CountDownLatch lateRecorded = new CountDownLatch(1);
+        CountDownLatch reconnected = new CountDownLatch(1);
+        AtomicLong lateSeq = new AtomicLong();
+        Thread lateWriter = Thread.ofVirtual().start(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    lateSeq.set(productChangeService.record(lateProduct, ChangeType.DELETED, null, null));
+                    lateRecorded.countDown();
+                    await(reconnected);
+                }));
+        await(lateRecorded);
+        try (SseClient client = connect(seen.id())) {
+            reconnected.countDown();
+            lateWriter.join();
+
+            assertEquals(new SseEvent(lateSeq.get(), lateProduct), client.next());
+        }
+    }
+
+    @Test
+    @DisplayName("SSE: nhiều transaction commit song song → id event tăng dần, không thiếu change nào")
+    void stream_ConcurrentCommits_DeliveredInSeqOrder() throws Exception {
+        List<UUID> written = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            written.add(newProductId());
+        }
+        try (SseClient client = connect(null)) {
+            List<Thread> writers = written.stream()
+                    .map(productId -> Thread.ofVirtual().start(() -> record(productId)))
+                    .toList();
+            for (Thread writer : writers) {
+                writer.join();
+            }
+
+            List<UUID> received = new ArrayList<>();
+            long lastId = 0;
+            while (received.size() < written.size()) {
+                SseEvent event = client.next();
+                assertTrue(event.id() > lastId);
+                lastId = event.id();
+                received.add(event.productId());
+            }
+            assertTrue(received.containsAll(written));
+        }
+    }
+}
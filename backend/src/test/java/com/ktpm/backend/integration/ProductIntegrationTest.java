@@ -9,6 +9,7 @@ import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -19,7 +20,9 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.Matchers.*;
 
+// Ngân sách SQL mỗi request: tránh count(*) thừa, N+1 hay findById thừa trước save lọt vào ProductService
 @SpringBootTest
+@Import(SqlRecorderConfig.class)
 @AutoConfigureMockMvc(addFilters = false)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 class ProductIntegrationTest {
@@ -27,6 +30,7 @@ class ProductIntegrationTest {
     @Autowired private MockMvc mockMvc;
     @Autowired private ObjectMapper objectMapper;
     @Autowired private ProductRepository productRepository;
+    @Autowired private SqlRecorder sqlRecorder;
 
     private static UUID createdId;
 
@@ -42,18 +46,21 @@ class ProductIntegrationTest {
                 .category(Category.SMARTPHONE)
                 .build();
 
-        String response = mockMvc.perform(post("/api/products")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(newProduct)))
-                .andExpect(status().isOk())
-                .andReturn()
-                .getResponse()
-                .getContentAsString();
-
-        // Lấy ID từ response
-        createdId = UUID.fromString(
-                objectMapper.readTree(response).get("id").asText()
-        );
+        // insert product, cấp vị trí change feed (update + select), xóa change cũ của sản phẩm, insert change mới
+        sqlRecorder.measure("POST /api/products", () -> {
+            String response = mockMvc.perform(post("/api/products")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(newProduct)))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+
+            // Lấy ID từ response
+            createdId = UUID.fromString(
+                    objectMapper.readTree(response).get("id").asText()
+            );
+        }).assertStatementsAtMost(5).assertRoundTripsAtMost(5);
 
         assertNotNull(createdId);
     }
@@ -62,18 +69,23 @@ class ProductIntegrationTest {
     @Order(2)
     @DisplayName("INTEGRATION - Lấy sản phẩm vừa tạo")
     void getProductById_AfterCreate() throws Exception {
-        mockMvc.perform(get("/api/products/{id}", createdId))
+        // product + description (LAZY), 0 nếu đã có trong cache cấp 2
+        sqlRecorder.measure("GET /api/products/{id}", () -> mockMvc.perform(get("/api/products/{id}", createdId))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.productName").value("Test Integration Product"));
+                .andExpect(jsonPath("$.productName").value("Test Integration Product")))
+                .assertStatementsAtMost(2);
     }
 
     @Test
     @Order(3)
     @DisplayName("INTEGRATION - Lấy tất cả sản phẩm")
     void getAllProducts_ContainsCreatedProduct() throws Exception {
-        mockMvc.perform(get("/api/products"))
+        // trang + count; trần cấp phát rộng, chỉ để bắt việc nạp cả bảng vào bộ nhớ
+        sqlRecorder.measure("GET /api/products", () -> mockMvc.perform(get("/api/products"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", not(empty())));
+                .andExpect(jsonPath("$", not(empty()))))
+                .assertStatementsAtMost(2)
+                .assertAllocatedBytesAtMost(16L * 1024 * 1024);
     }
 
     @Test
@@ -89,7 +101,8 @@ class ProductIntegrationTest {
                 .category(Category.LAPTOPS)
                 .build();
 
-        mockMvc.perform(put("/api/products/{id}", createdId)
+        // product + description (nếu chưa có trong cache), update, cấp vị trí change feed, xóa change cũ, insert change mới
+        sqlRecorder.measure("PUT /api/products/{id}", () -> mockMvc.perform(put("/api/products/{id}", createdId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updateProduct)))
                 .andExpect(status().isOk())
@@ -97,25 +110,29 @@ class ProductIntegrationTest {
                 .andExpect(jsonPath("$.price").value(1999))
                 .andExpect(jsonPath("$.quantity").value(199))
                 .andExpect(jsonPath("$.description").value("This product has been updated"))
-                .andExpect(jsonPath("$.category").value("LAPTOPS"));
+                .andExpect(jsonPath("$.category").value("LAPTOPS")))
+                .assertStatementsAtMost(7);
     }
 
     @Test
     @Order(5)
     @DisplayName("INTEGRATION - Xác nhận sản phẩm đã được cập nhật")
     void getProductById_AfterUpdate() throws Exception {
-        mockMvc.perform(get("/api/products/{id}", createdId))
+        sqlRecorder.measure("GET /api/products/{id}", () -> mockMvc.perform(get("/api/products/{id}", createdId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.productName").value("Updated Integration Product"))
-                .andExpect(jsonPath("$.price").value(1999));
+                .andExpect(jsonPath("$.price").value(1999)))
+                .assertStatementsAtMost(2);
     }
 
     @Test
     @Order(6)
     @DisplayName("INTEGRATION - Xóa sản phẩm")
     void deleteProduct_AfterCreate() throws Exception {
-        mockMvc.perform(delete("/api/products/{id}", createdId))
-                .andExpect(status().isOk());
+        // product + description (nếu chưa có trong cache), delete, cấp vị trí change feed, xóa change cũ, insert tombstone
+        sqlRecorder.measure("DELETE /api/products/{id}", () -> mockMvc.perform(delete("/api/products/{id}", createdId))
+                .andExpect(status().isOk()))
+                .assertStatementsAtMost(7);
 
         mockMvc.perform(get("/api/products/{id}", createdId))
                 .andExpect(status().isNotFound());
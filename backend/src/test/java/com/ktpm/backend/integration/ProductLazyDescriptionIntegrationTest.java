@@ -0,0 +1,138 @@
+package com.ktpm.backend.integration;
+
+import com.ktpm.backend.entity.Product;
+import com.ktpm.backend.entity.enums.Category;
+import com.ktpm.backend.repository.ProductRepository;
+import com.ktpm.backend.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Số câu SQL mỗi endpoint khi cache cấp 2 trống: danh sách không được nạp description (không N+1),
+// chi tiết nạp description ngay trong service, cập nhật/xóa không nạp description
+@SpringBootTest
+@Import(SqlRecorderConfig.class)
+@AutoConfigureMockMvc(addFilters = false)
+@DisplayName("INTEGRATION - Product.description LAZY và số câu SQL mỗi endpoint")
+class ProductLazyDescriptionIntegrationTest {
+
+    private static final int BASE_PRICE = 765_430_000;
+    // cột description là varchar(255)
+    private static final String DESCRIPTION = "Mô tả rất dài ".repeat(15);
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ProductService productService;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private SqlRecorder sqlRecorder;
+
+    private final List<Product> products = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            products.add(productService.createProduct(Product.builder()
+                    .productName("Máy ảnh lazy " + i)
+                    .price(BASE_PRICE + i)
+                    .quantity(1)
+                    .description(DESCRIPTION)
+                    .category(Category.CAMERAS)
+                    .build()));
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Product product : products) {
+            if (productRepository.existsById(product.getId())) {
+                productService.deleteProduct(product.getId());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/products - Một câu SQL cho cả trang, không có description")
+    void listing_OneStatement_NoDescription() throws Exception {
+        sqlRecorder.measure("GET /api/products", () -> mockMvc.perform(get("/api/products")
+                        .param("category", "CAMERAS")
+                        .param("minPrice", String.valueOf(BASE_PRICE))
+                        .param("maxPrice", String.valueOf(BASE_PRICE + 100))
+                        .param("sortBy", "price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3))
+                .andExpect(jsonPath("$.content[0].productName").value("Máy ảnh lazy 0"))
+                .andExpect(jsonPath("$.content[0].description").doesNotExist()))
+                .assertStatements(1);
+    }
+
+    @Test
+    @DisplayName("GET /api/products/scroll - Một câu SQL, không có description")
+    void scroll_OneStatement_NoDescription() throws Exception {
+        sqlRecorder.measure("GET /api/products/scroll", () -> mockMvc.perform(get("/api/products/scroll")
+                        .param("category", "CAMERAS")
+                        .param("minPrice", String.valueOf(BASE_PRICE))
+                        .param("maxPrice", String.valueOf(BASE_PRICE + 100))
+                        .param("sortBy", "price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3))
+                .andExpect(jsonPath("$.content[2].description").doesNotExist()))
+                .assertStatements(1);
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id} - Có description: 2 câu SQL lần đầu, 0 khi lấy lại từ cache")
+    void detail_LoadsDescription() throws Exception {
+        Product product = products.get(0);
+
+        sqlRecorder.measure("GET /api/products/{id} lần đầu", () -> mockMvc.perform(get("/api/products/{id}", product.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value(DESCRIPTION)))
+                .assertStatements(2);
+
+        sqlRecorder.measure("GET /api/products/{id} lần hai", () -> mockMvc.perform(get("/api/products/{id}", product.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").exists()))
+                .assertStatements(0);
+    }
+
+    @Test
+    @DisplayName("updateProduct() - Không có câu SELECT riêng cho description")
+    void update_DoesNotLoadDescription() throws Exception {
+        Product product = products.get(1);
+        Product changes = Product.builder()
+                .productName("Máy ảnh lazy 1 mới")
+                .price(BASE_PRICE + 1)
+                .quantity(2)
+                .description("Mô tả mới")
+                .category(Category.CAMERAS)
+                .build();
+
+        sqlRecorder.measure("updateProduct", () -> productService.updateProduct(product.getId(), changes))
+                .assertStatements(6);
+    }
+
+    @Test
+    @DisplayName("deleteProduct() - Không có câu SELECT riêng cho description")
+    void delete_DoesNotLoadDescription() throws Exception {
+        Product product = products.get(2);
+
+        sqlRecorder.measure("deleteProduct", () -> productService.deleteProduct(product.getId()))
+                .assertStatements(6);
+    }
+}
@@ -0,0 +1,76 @@
+package com.ktpm.backend.integration;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// Báo cho SqlRecorder mỗi lần statement được gửi tới database: execute*() là một round trip với một câu SQL,
+// executeBatch() là một round trip với tất cả câu đã addBatch()
+public class RecordingDataSource extends DelegatingDataSource {
+
+    public RecordingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return recording(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return recording(super.getConnection(username, password));
+    }
+
+    // prepareStatement/prepareCall(sql, ...) trả về statement đã biết câu SQL, createStatement() thì câu SQL nằm ở execute
+    private static Connection recording(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement) {
+                        return recording(statement, method.getReturnType(), firstString(args));
+                    }
+                    return result;
+                });
+    }
+
+    private static Object recording(Statement statement, Class<?> type, String preparedSql) {
+        List<String> batch = new ArrayList<>();
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    String sql = firstString(args) != null ? firstString(args) : preparedSql;
+                    if (name.equals("addBatch")) {
+                        batch.add(sql);
+                    } else if (name.equals("clearBatch")) {
+                        batch.clear();
+                    } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                        SqlRecorder.onRoundTrip(List.copyOf(batch));
+                        batch.clear();
+                    } else if (name.startsWith("execute")) {
+                        SqlRecorder.onRoundTrip(List.of(String.valueOf(sql)));
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static String firstString(Object[] args) {
+        return args != null && args.length > 0 && args[0] instanceof String sql ? sql : null;
+    }
+}
@@ -0,0 +1,148 @@
+package com.ktpm.backend.integration;
+
+import org.hibernate.stat.Statistics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Ngân sách truy vấn cho test: ghi lại câu SQL, số round trip (qua RecordingDataSource) và số byte cấp phát
+// trong lúc chạy một đoạn code, vd GET /api/products/{id} chỉ được 1 câu SQL. Vượt ngân sách thì in từng câu SQL.
+// Chỉ tính thread gọi measure() (MockMvc xử lý request ngay trên thread của test) nên không lẫn job nền.
+// Thống kê Hibernate là của cả SessionFactory, chỉ in ra để dễ đoán nguyên nhân (N+1 = entity/collection fetch)
+public class SqlRecorder {
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // null: không in thống kê Hibernate (vd test chỉ dùng JDBC)
+    private final Statistics statistics;
+
+    public SqlRecorder(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    static void onRoundTrip(List<String> statements) {
+        Recording recording = CURRENT.get();
+        if (recording != null) {
+            recording.statements.addAll(statements);
+            recording.roundTrips++;
+        }
+    }
+
+    public Recording measure(String label, Action action) throws Exception {
+        Recording recording = new Recording(label);
+        HibernateCounts before = HibernateCounts.of(statistics);
+        CURRENT.set(recording);
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        try {
+            action.run();
+        } finally {
+            recording.allocatedBytes = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            CURRENT.remove();
+            recording.hibernate = before == null ? null : HibernateCounts.of(statistics).minus(before);
+        }
+        return recording;
+    }
+
+    public record HibernateCounts(long entityLoads, long entityFetches, long collectionFetches, long queries,
+                                  long cacheHits, long cacheMisses) {
+
+        static HibernateCounts of(Statistics statistics) {
+            if (statistics == null) {
+                return null;
+            }
+            return new HibernateCounts(statistics.getEntityLoadCount(), statistics.getEntityFetchCount(),
+                    statistics.getCollectionFetchCount(), statistics.getQueryExecutionCount(),
+                    statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount());
+        }
+
+        HibernateCounts minus(HibernateCounts before) {
+            return new HibernateCounts(entityLoads - before.entityLoads, entityFetches - before.entityFetches,
+                    collectionFetches - before.collectionFetches, queries - before.queries,
+                    cacheHits - before.cacheHits, cacheMisses - before.cacheMisses);
+        }
+    }
+
+    public static class Recording {
+        private final String label;
+        private final List<String> statements = new ArrayList<>();
+        private int roundTrips;
+        private long allocatedBytes;
+        private HibernateCounts hibernate;
+
+        private Recording(String label) {
+            this.label = label;
+        }
+
+        public List<String> getStatements() {
+            return statements;
+        }
+
+        public int getStatementCount() {
+            return statements.size();
+        }
+
+        public int getRoundTrips() {
+            return roundTrips;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public HibernateCounts getHibernate() {
+            return hibernate;
+        }
+
+        public Recording assertStatements(int expected) {
+            if (statements.size() != expected) {
+                fail(describe(statements.size() + " câu SQL, ngân sách đúng " + expected));
+            }
+            return this;
+        }
+
+        public Recording assertStatementsAtMost(int max) {
+            if (statements.size() > max) {
+                fail(describe(statements.size() + " câu SQL, ngân sách tối đa " + max));
+            }
+            return this;
+        }
+
+        public Recording assertRoundTripsAtMost(int max) {
+            if (roundTrips > max) {
+                fail(describe(roundTrips + " round trip, ngân sách tối đa " + max));
+            }
+            return this;
+        }
+
+        public Recording assertAllocatedBytesAtMost(long max) {
+            if (allocatedBytes > max) {
+                fail(describe(String.format(Locale.ROOT, "cấp phát %,d byte, ngân sách tối đa %,d", allocatedBytes, max)));
+            }
+            return this;
+        }
+
+        private String describe(String problem) {
+            StringBuilder message = new StringBuilder(label).append(": ").append(problem)
+                    .append(String.format(Locale.ROOT, " (%d round trip, %,d byte)", roundTrips, allocatedBytes));
+            for (int i = 0; i < statements.size(); i++) {
+                message.append(String.format("%n  %d. %s", i + 1, statements.get(i)));
+            }
+            if (hibernate != null) {
+                message.append(String.format("%n  Hibernate: entity load %d, entity fetch %d, collection fetch %d, "
+                                + "query %d, cache cấp 2 hit/miss %d/%d", hibernate.entityLoads(), hibernate.entityFetches(),
+                        hibernate.collectionFetches(), hibernate.queries(), hibernate.cacheHits(), hibernate.cacheMisses()));
+            }
+            return message.toString();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.ktpm.backend.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+// @Import(SqlRecorderConfig.class) trong @SpringBootTest: bọc DataSource chính bằng RecordingDataSource
+// và cung cấp SqlRecorder để test khẳng định ngân sách truy vấn
+@TestConfiguration
+public class SqlRecorderConfig {
+
+    @Bean
+    public static BeanPostProcessor recordingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                    return new RecordingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlRecorder sqlRecorder(EntityManagerFactory entityManagerFactory) {
+        return new SqlRecorder(entityManagerFactory.unwrap(SessionFactory.class).getStatistics());
+    }
+}
@@ -0,0 +1,92 @@
+package com.ktpm.backend.integration;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SqlRecorder - Ngân sách SQL qua RecordingDataSource Tests")
+class SqlRecorderTest {
+
+    private RecordingDataSource dataSource;
+    private final SqlRecorder sqlRecorder = new SqlRecorder(null);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:recorder-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource = new RecordingDataSource(h2);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table item (id int primary key, name varchar(50))");
+        }
+    }
+
+    @Test
+    @DisplayName("measure() - Mỗi execute là một round trip, executeBatch gộp các câu đã addBatch")
+    void measure_CountsStatementsAndRoundTrips() throws Exception {
+        SqlRecorder.Recording recording = sqlRecorder.measure("batch insert + select", () -> {
+            try (Connection connection = dataSource.getConnection()) {
+                try (PreparedStatement insert = connection.prepareStatement("insert into item values (?, ?)")) {
+                    for (int i = 0; i < 3; i++) {
+                        insert.setInt(1, i);
+                        insert.setString(2, "item " + i);
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+                try (Statement select = connection.createStatement()) {
+                    select.executeQuery("select count(*) from item").close();
+                }
+            }
+        });
+
+        assertEquals(4, recording.getStatementCount());
+        assertEquals(2, recording.getRoundTrips());
+        assertEquals("select count(*) from item", recording.getStatements().get(3));
+        assertTrue(recording.getAllocatedBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("assertStatements() - Vượt ngân sách thì thông báo lỗi liệt kê từng câu SQL")
+    void assertStatements_OverBudget_PrintsStatements() throws Exception {
+        SqlRecorder.Recording recording = sqlRecorder.measure("GET /api/items/{id}", () -> {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement select = connection.prepareStatement("select name from item where id = ?")) {
+                select.setInt(1, 1);
+                select.executeQuery().close();
+                select.executeQuery().close();
+            }
+        });
+
+        AssertionFailedError error = assertThrows(AssertionFailedError.class, () -> recording.assertStatements(1));
+        assertTrue(error.getMessage().startsWith("GET /api/items/{id}: 2 câu SQL, ngân sách đúng 1"));
+        assertTrue(error.getMessage().contains("2. select name from item where id = ?"));
+        assertSame(recording, recording.assertStatementsAtMost(2).assertRoundTripsAtMost(2));
+    }
+
+    @Test
+    @DisplayName("measure() - Câu SQL của thread khác và ngoài measure() không được tính")
+    void measure_OnlyCurrentThread() throws Exception {
+        SqlRecorder.Recording recording = sqlRecorder.measure("thread khác", () -> {
+            Thread other = Thread.ofVirtual().start(() -> {
+                try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                    statement.execute("select 1");
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            other.join();
+        });
+
+        assertEquals(List.of(), recording.getStatements());
+    }
+}
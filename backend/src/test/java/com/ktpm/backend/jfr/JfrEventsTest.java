@@ -0,0 +1,82 @@
+package com.ktpm.backend.jfr;
+
+import com.ktpm.backend.entity.Product;
+import com.ktpm.backend.repository.ProductRepository;
+import com.ktpm.backend.service.ProductChangeService;
+import com.ktpm.backend.service.ProductService;
+import com.ktpm.backend.utils.JwtUtil;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("JFR events - Event nghiệp vụ chỉ ghi khi được bật Tests")
+class JfrEventsTest {
+    private static final String SECRET = "VGhpcy1pcy1hLXNlY3JldC1rZXktZm9yLUpXVC0yNTYtYml0IQ==";
+
+    @TempDir
+    Path tempDir;
+
+    private List<RecordedEvent> record(Class<? extends jdk.jfr.Event> eventType, Runnable action) throws Exception {
+        try (Recording recording = new Recording()) {
+            recording.enable(eventType).withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            Path file = tempDir.resolve(eventType.getSimpleName() + ".jfr");
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        }
+    }
+
+    @Test
+    @DisplayName("JwtVerification - Mỗi lần validateToken() ghi một event kèm kết quả")
+    void jwtVerification_RecordsOutcome() throws Exception {
+        JwtUtil jwtUtil = new JwtUtil(SECRET);
+        String token = jwtUtil.generateToken(UUID.randomUUID(), "mindang1");
+
+        List<RecordedEvent> events = record(JwtVerificationEvent.class, () -> {
+            jwtUtil.validateToken(token);
+            jwtUtil.validateToken("not-a-jwt");
+        });
+
+        assertEquals(List.of(true, false), events.stream().map(e -> e.getBoolean("valid")).toList());
+    }
+
+    @Test
+    @DisplayName("ProductOperation - Ghi tên thao tác, id sản phẩm và số dòng; event tắt thì không ghi")
+    void productOperation_RecordsOperation() throws Exception {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        UUID id = UUID.randomUUID();
+        Product product = Product.builder().id(id).productName("Laptop").description("Mô tả").build();
+        when(productRepository.findById(id)).thenReturn(Optional.of(product));
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new ProductService(productRepository, mock(ProductChangeService.class)));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ProductOperationRecorder());
+        ProductService productService = factory.getProxy();
+
+        productService.getProduct(id);
+        List<RecordedEvent> events = record(ProductOperationEvent.class, () -> productService.getProduct(id));
+
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("getProduct", event.getString("operation"));
+        assertEquals(id.toString(), event.getString("productId"));
+        assertEquals(1, event.getLong("rows"));
+        assertNull(event.getString("error"));
+    }
+}
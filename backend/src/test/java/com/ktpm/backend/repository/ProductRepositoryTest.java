@@ -0,0 +1,180 @@
+package com.ktpm.backend.repository;
+
+import com.ktpm.backend.dto.CategoryAggregateDTO;
+import com.ktpm.backend.dto.ProductFilterDTO;
+import com.ktpm.backend.dto.ProductWindowDTO;
+import com.ktpm.backend.entity.Product;
+import com.ktpm.backend.entity.enums.Category;
+import com.ktpm.backend.service.ProductService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("ProductRepository - Bộ lọc, keyset và index Tests")
+class ProductRepositoryTest {
+
+    // Khoảng giá riêng để không lẫn với dữ liệu của các test khác trên cùng database
+    private static final int BASE_PRICE = 987_650_000;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        productService = new ProductService(productRepository, null);
+        int[] prices = {3, 1, 2, 2, 5, 4};
+        for (int i = 0; i < prices.length; i++) {
+            productRepository.save(Product.builder()
+                    .productName("Camera " + i)
+                    .price(BASE_PRICE + prices[i])
+                    .quantity(i % 3)
+                    .description("Máy ảnh")
+                    .category(i < 5 ? Category.CAMERAS : Category.LAPTOPS)
+                    .build());
+        }
+        entityManager.flush();
+    }
+
+    private ProductFilterDTO cameras(Boolean inStock) {
+        return new ProductFilterDTO(Category.CAMERAS, BASE_PRICE, BASE_PRICE + 100, inStock);
+    }
+
+    @Test
+    @DisplayName("findAll(spec) - Lọc theo category, khoảng giá và còn hàng")
+    void findAll_FiltersByCategoryPriceAndStock() {
+        assertEquals(5, productRepository.findAll(ProductSpecifications.matches(cameras(false))).size());
+
+        List<Product> inStock = productRepository.findAll(ProductSpecifications.matches(cameras(true)));
+        assertEquals(3, inStock.size());
+        assertTrue(inStock.stream().allMatch(p -> p.getQuantity() > 0 && p.getCategory() == Category.CAMERAS));
+
+        ProductFilterDTO narrow = new ProductFilterDTO(Category.CAMERAS, BASE_PRICE + 2, BASE_PRICE + 3, false);
+        assertEquals(3, productService.getAll(narrow, PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("aggregateByCategory() - GROUP BY category trả về DTO: đếm, tổng tồn kho, min/max giá")
+    void aggregateByCategory_ReturnsPerCategoryDTOs() {
+        CategoryAggregateDTO cameras = productRepository.aggregateByCategory().stream()
+                .filter(aggregate -> aggregate.getCategory() == Category.CAMERAS)
+                .findFirst()
+                .orElseThrow();
+
+        assertTrue(cameras.getCount() >= 5);
+        assertTrue(cameras.getTotalQuantity() >= 4);
+        assertTrue(cameras.getPriceSum() >= 5L * BASE_PRICE);
+        assertEquals(BASE_PRICE + 5, cameras.getMaxPrice());
+    }
+
+    @Test
+    @DisplayName("scroll() - Duyệt keyset theo giá (kể cả giá trùng) khớp với phân trang offset")
+    void scroll_WalksAllPagesInOrder() {
+        List<Product> expected = productRepository.findAll(ProductSpecifications.matches(cameras(false)),
+                Sort.by("price", "id"));
+
+        List<Product> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            ProductWindowDTO window = productService.scroll(cameras(false), "price", Sort.Direction.ASC, cursor, 2);
+            walked.addAll(window.getContent());
+            cursor = window.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expected.stream().map(Product::getId).toList(), walked.stream().map(Product::getId).toList());
+    }
+
+    @Test
+    @DisplayName("scroll() - Sắp xếp giảm dần theo giá")
+    void scroll_Descending() {
+        ProductWindowDTO window = productService.scroll(cameras(false), "price", Sort.Direction.DESC, null, 2);
+
+        assertEquals(List.of(BASE_PRICE + 5, BASE_PRICE + 3), window.getContent().stream().map(Product::getPrice).toList());
+        assertTrue(window.isHasNext());
+
+        ProductWindowDTO next = productService.scroll(cameras(false), "price", Sort.Direction.DESC, window.getNextCursor(), 10);
+        assertEquals(List.of(BASE_PRICE + 2, BASE_PRICE + 2, BASE_PRICE + 1), next.getContent().stream().map(Product::getPrice).toList());
+        assertFalse(next.isHasNext());
+    }
+
+    @Test
+    @DisplayName("findProjected() - Chỉ SELECT các cột được yêu cầu (luôn kèm id), giữ bộ lọc và sort")
+    void findProjected_SelectsRequestedColumnsOnly() {
+        Page<Map<String, Object>> page = productRepository.findProjected(ProductSpecifications.matches(cameras(false)),
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "price")), List.of("productName", "price"));
+
+        assertEquals(5, page.getTotalElements());
+        assertEquals(List.of("id", "productName", "price"), List.copyOf(page.getContent().get(0).keySet()));
+        assertEquals(BASE_PRICE + 5, page.getContent().get(0).get("price"));
+        assertEquals(BASE_PRICE + 3, page.getContent().get(1).get("price"));
+    }
+
+    @Test
+    @DisplayName("findAllByIdOrdered() - Một truy vấn IN, trả về theo thứ tự id, null cho id không tồn tại")
+    void findAllByIdOrdered_KeepsOrderAndMarksMissing() {
+        List<Product> cameras = productRepository.findAll(ProductSpecifications.matches(cameras(false)),
+                Sort.by("price", "id"));
+        entityManager.clear();
+        UUID missingId = UUID.randomUUID();
+
+        List<Product> loaded = productRepository.findAllByIdOrdered(
+                List.of(cameras.get(4).getId(), missingId, cameras.get(0).getId()));
+
+        assertEquals(3, loaded.size());
+        assertEquals(cameras.get(4).getId(), loaded.get(0).getId());
+        assertNull(loaded.get(1));
+        assertEquals(cameras.get(0).getId(), loaded.get(2).getId());
+        assertEquals(Arrays.asList("Camera 4", null, "Camera 1"),
+                loaded.stream().map(p -> p == null ? null : p.getProductName()).toList());
+    }
+
+    @Test
+    @DisplayName("EXPLAIN - Truy vấn lọc category + giá và keyset dùng index composite (PostgreSQL)")
+    void explain_FilterQueriesUseCompositeIndexes() {
+        String database = entityManager.unwrap(Session.class)
+                .doReturningWork(connection -> connection.getMetaData().getDatabaseProductName());
+        assumeTrue("PostgreSQL".equals(database), "EXPLAIN chỉ kiểm tra trên PostgreSQL");
+
+        // Bảng test nhỏ nên planner luôn thích seq scan; tắt đi để xem planner chọn index nào
+        entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+
+        String categoryPlan = explain("SELECT * FROM products WHERE category = 'CAMERAS' "
+                + "AND price >= 100 AND price <= 500 AND quantity > 0 ORDER BY price, id LIMIT 11");
+        assertTrue(categoryPlan.contains("idx_products_category_price"), categoryPlan);
+        assertFalse(categoryPlan.contains("Sort"), categoryPlan);
+
+        String keysetPlan = explain("SELECT * FROM products WHERE price >= 100 "
+                + "AND (price > 100 OR id > '00000000-0000-0000-0000-000000000000') ORDER BY price, id LIMIT 11");
+        assertTrue(keysetPlan.contains("idx_products_price"), keysetPlan);
+        assertFalse(keysetPlan.contains("Sort"), keysetPlan);
+    }
+
+    @SuppressWarnings("unchecked")
+    private String explain(String sql) {
+        List<String> lines = entityManager.createNativeQuery("EXPLAIN " + sql).getResultList();
+        return String.join("\n", lines);
+    }
+}
@@ -0,0 +1,69 @@
+package com.ktpm.backend.seed;
+
+import com.ktpm.backend.dto.ProductRowDTO;
+import com.ktpm.backend.entity.Product;
+import com.ktpm.backend.entity.enums.Category;
+import com.ktpm.backend.utils.Validator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CatalogueGenerator Unit Tests")
+class CatalogueGeneratorTest {
+
+    private List<ProductRowDTO> chunk(long seed, int chunk, long total) {
+        List<ProductRowDTO> rows = new ArrayList<>();
+        CatalogueGenerator.products(seed, chunk, total, rows::add);
+        return rows;
+    }
+
+    @Test
+    @DisplayName("Cùng seed → cùng dữ liệu, khác seed → khác dữ liệu")
+    void sameSeedSameRows() {
+        assertEquals(chunk(42, 3, 100_000), chunk(42, 3, 100_000));
+        assertNotEquals(chunk(42, 3, 100_000), chunk(7, 3, 100_000));
+        assertEquals(CatalogueGenerator.userId(42, 5), CatalogueGenerator.userId(42, 5));
+        assertNotEquals(CatalogueGenerator.userId(42, 5), CatalogueGenerator.userId(42, 6));
+    }
+
+    @Test
+    @DisplayName("Chunk không phụ thuộc thứ tự sinh; chunk cuối chỉ chứa phần còn lại")
+    void chunksAreIndependent() {
+        long total = 2L * CatalogueGenerator.CHUNK_SIZE + 123;
+        List<ProductRowDTO> last = chunk(42, 2, total);
+        List<ProductRowDTO> first = chunk(42, 0, total);
+
+        assertEquals(3, CatalogueGenerator.chunkCount(total));
+        assertEquals(CatalogueGenerator.CHUNK_SIZE, first.size());
+        assertEquals(123, last.size());
+        assertEquals(first, chunk(42, 0, CatalogueGenerator.CHUNK_SIZE));
+    }
+
+    @Test
+    @DisplayName("Sản phẩm sinh ra hợp lệ, id không trùng, đủ mọi danh mục")
+    void rowsAreValidProducts() {
+        Set<UUID> ids = new HashSet<>();
+        Set<Category> categories = EnumSet.noneOf(Category.class);
+        for (ProductRowDTO row : chunk(42, 0, CatalogueGenerator.CHUNK_SIZE)) {
+            Product product = Product.builder()
+                    .productName(row.getProductName())
+                    .price(row.getPrice())
+                    .quantity(row.getQuantity())
+                    .description(row.getDescription())
+                    .category(row.getCategory())
+                    .build();
+            assertTrue(Validator.isValidProduct(product), row.getProductName());
+            assertTrue(ids.add(row.getId()));
+            categories.add(row.getCategory());
+        }
+        assertEquals(EnumSet.allOf(Category.class), categories);
+    }
+}
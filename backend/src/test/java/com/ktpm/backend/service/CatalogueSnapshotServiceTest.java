@@ -0,0 +1,139 @@
+package com.ktpm.backend.service;
+
+import com.ktpm.backend.dto.ProductRowDTO;
+import com.ktpm.backend.entity.enums.Category;
+import com.ktpm.backend.entity.enums.ChangeType;
+import com.ktpm.backend.event.ProductChangedEvent;
+import com.ktpm.backend.utils.ChangeSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CatalogueSnapshotService - Khung dựng lại dùng chung Tests")
+class CatalogueSnapshotServiceTest {
+
+    @Mock
+    private ProductChangeService productChangeService;
+
+    private CatalogueSnapshotService catalogue;
+    private RecordingIndex search;
+    private RecordingIndex facets;
+
+    @BeforeEach
+    void setUp() {
+        catalogue = new CatalogueSnapshotService(productChangeService);
+        search = new RecordingIndex();
+        facets = new RecordingIndex();
+        catalogue.register(search);
+        catalogue.register(facets);
+    }
+
+    private ProductRowDTO row(UUID id) {
+        return new ProductRowDTO(id, "Laptop", 1000, 1, null, Category.LAPTOPS);
+    }
+
+    private ProductChangedEvent created(long seq) {
+        UUID id = UUID.randomUUID();
+        return new ProductChangedEvent(seq, ChangeType.CREATED, id, row(id), null);
+    }
+
+    // Ghi lại các lần gọi: bản đang phục vụ (live) và bản vừa swap vào (installed)
+    private static class RecordingIndex implements CatalogueIndex {
+        private final List<Long> live = new ArrayList<>();
+        private final List<Long> committed = new ArrayList<>();
+        private List<Object> installed;
+
+        @Override
+        public Builder newBuilder() {
+            List<Object> rebuilt = new ArrayList<>();
+            return new Builder() {
+                @Override
+                public void add(ProductRowDTO row) {
+                    rebuilt.add(row.getId());
+                }
+
+                @Override
+                public void apply(ProductChangedEvent event) {
+                    rebuilt.add(event.getSeq());
+                }
+
+                @Override
+                public void install() {
+                    installed = rebuilt;
+                }
+            };
+        }
+
+        @Override
+        public void apply(ProductChangedEvent event) {
+            live.add(event.getSeq());
+        }
+
+        @Override
+        public void onCommitted(ProductChangedEvent event) {
+            committed.add(event.getSeq());
+        }
+    }
+
+    @Test
+    @DisplayName("rebuild() - Mọi index đọc chung một snapshot, event trong lúc đọc chỉ áp nếu snapshot chưa có")
+    @SuppressWarnings("unchecked")
+    void rebuild_SharedSnapshot_EventsDuringLoadAppliedOnce() {
+        UUID existingId = UUID.randomUUID();
+        when(productChangeService.exportSnapshot(any(Consumer.class))).thenAnswer(invocation -> {
+            Consumer<ProductRowDTO> consumer = invocation.getArgument(0);
+            consumer.accept(row(existingId));
+            // listener của hai transaction chạy trong lúc đang đọc
+            catalogue.onProductChanged(created(11));
+            catalogue.onProductChanged(created(12));
+            return new ChangeSnapshot(11);
+        });
+
+        catalogue.rebuild();
+
+        verify(productChangeService, times(1)).exportSnapshot(any());
+        assertEquals(List.of(existingId, 12L), search.installed);
+        assertEquals(List.of(existingId, 12L), facets.installed);
+        assertEquals(List.of(11L, 12L), search.live);
+    }
+
+    @Test
+    @DisplayName("onProductChanged() - Event đã nằm trong snapshot → không áp lại, onCommitted vẫn nhận mọi event")
+    @SuppressWarnings("unchecked")
+    void onProductChanged_AlreadyInSnapshot_SkippedButCommittedSeen() {
+        when(productChangeService.exportSnapshot(any(Consumer.class))).thenReturn(new ChangeSnapshot(7));
+        catalogue.rebuild();
+
+        catalogue.onProductChanged(created(7));
+        catalogue.onProductChanged(created(8));
+
+        assertEquals(List.of(8L), facets.live);
+        assertEquals(List.of(7L, 8L), facets.committed);
+    }
+
+    @Test
+    @DisplayName("rebuild() - Đọc snapshot lỗi → giữ bản cũ, event sau đó vẫn được áp")
+    @SuppressWarnings("unchecked")
+    void rebuild_ExportFails_KeepsServing() {
+        when(productChangeService.exportSnapshot(any(Consumer.class))).thenThrow(new IllegalStateException("db down"));
+
+        catalogue.rebuild();
+        catalogue.onProductChanged(created(3));
+
+        assertNull(search.installed);
+        assertEquals(List.of(3L), search.live);
+    }
+}
@@ -0,0 +1,165 @@
+package com.ktpm.backend.service;
+
+import com.ktpm.backend.dto.ProductChangesDTO;
+import com.ktpm.backend.dto.ProductRowDTO;
+import com.ktpm.backend.entity.ProductChange;
+import com.ktpm.backend.entity.ProductChangePosition;
+import com.ktpm.backend.entity.enums.ChangeType;
+import com.ktpm.backend.event.ProductChangedEvent;
+import com.ktpm.backend.repository.ProductChangePositionRepository;
+import com.ktpm.backend.repository.ProductChangeRepository;
+import com.ktpm.backend.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductChangeService - Change feed Tests")
+class ProductChangeServiceTest {
+
+    @Mock
+    private ProductChangeRepository productChangeRepository;
+
+    @Mock
+    private ProductChangePositionRepository productChangePositionRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ProductChangeService productChangeService;
+
+    @BeforeEach
+    void setUp() {
+        productChangeService = new ProductChangeService(productChangeRepository, productChangePositionRepository, productRepository, eventPublisher);
+    }
+
+    private ProductChange change(long seq, UUID productId, ChangeType changeType) {
+        return new ProductChange(seq, productId, changeType, Instant.now());
+    }
+
+    @Test
+    @DisplayName("record() - Cấp vị trí sau khi flush, xóa change cũ của sản phẩm, ghi change mới, publish event với seq")
+    void record_ReplacesPreviousChange() {
+        UUID productId = UUID.randomUUID();
+        when(productChangePositionRepository.findLastSeq()).thenReturn(42L);
+
+        long seq = productChangeService.record(productId, ChangeType.UPDATED, null, null);
+
+        assertEquals(42L, seq);
+        InOrder inOrder = inOrder(productChangeRepository, productChangePositionRepository);
+        inOrder.verify(productChangeRepository).flush();
+        inOrder.verify(productChangePositionRepository).increment();
+        inOrder.verify(productChangePositionRepository).findLastSeq();
+        inOrder.verify(productChangeRepository).deleteByProductId(productId);
+        inOrder.verify(productChangeRepository).insert(eq(42L), eq(productId), eq(ChangeType.UPDATED), any());
+        inOrder.verifyNoMoreInteractions();
+
+        ArgumentCaptor<ProductChangedEvent> eventCaptor = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals(42L, eventCaptor.getValue().getSeq());
+        assertEquals(ChangeType.UPDATED, eventCaptor.getValue().getChangeType());
+    }
+
+    @Test
+    @DisplayName("initPosition() - Chưa có dòng vị trí → tạo, tiếp nối seq lớn nhất")
+    void initPosition_Missing_StartsFromLatestSeq() {
+        when(productChangePositionRepository.existsById(ProductChangePosition.ID)).thenReturn(false);
+        when(productChangeRepository.findLatestSeq()).thenReturn(17L);
+
+        productChangeService.initPosition();
+
+        ArgumentCaptor<ProductChangePosition> captor = ArgumentCaptor.forClass(ProductChangePosition.class);
+        verify(productChangePositionRepository).save(captor.capture());
+        assertEquals(17L, captor.getValue().getLastSeq());
+    }
+
+    @Test
+    @DisplayName("initPosition() - Đã có dòng vị trí → giữ nguyên")
+    void initPosition_Exists_Unchanged() {
+        when(productChangePositionRepository.existsById(ProductChangePosition.ID)).thenReturn(true);
+
+        productChangeService.initPosition();
+
+        verify(productChangePositionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("getChanges() - Trả về sản phẩm hiện tại, tombstone và high-water mark")
+    void getChanges_ReturnsProductsAndTombstones() {
+        UUID liveId = UUID.randomUUID();
+        UUID deletedId = UUID.randomUUID();
+        when(productChangeRepository.findBySeqGreaterThanOrderBySeqAsc(eq(10L), argThat(limit -> limit.max() == 11)))
+                .thenReturn(List.of(change(11, liveId, ChangeType.CREATED), change(12, deletedId, ChangeType.DELETED)));
+        when(productRepository.findRowsByIdIn(any()))
+                .thenReturn(List.of(new ProductRowDTO(liveId, "Laptop", 100, 1, "Mô tả", null)));
+
+        ProductChangesDTO result = productChangeService.getChanges(10, 10);
+
+        assertEquals(2, result.getChanges().size());
+        assertEquals("Laptop", result.getChanges().get(0).getProduct().getProductName());
+        assertEquals(ChangeType.DELETED, result.getChanges().get(1).getChangeType());
+        assertNull(result.getChanges().get(1).getProduct());
+        assertEquals(12, result.getHighWaterMark());
+        assertFalse(result.isHasMore());
+    }
+
+    @Test
+    @DisplayName("getChanges() - Vượt limit → hasMore = true, high-water mark dừng ở phần tử cuối trả về")
+    void getChanges_MoreThanLimit_HasMore() {
+        List<ProductChange> changes = new ArrayList<>();
+        for (long seq = 1; seq <= 3; seq++) {
+            changes.add(change(seq, UUID.randomUUID(), ChangeType.DELETED));
+        }
+        when(productChangeRepository.findBySeqGreaterThanOrderBySeqAsc(eq(0L), argThat(limit -> limit.max() == 3)))
+                .thenReturn(changes);
+
+        ProductChangesDTO result = productChangeService.getChanges(0, 2);
+
+        assertEquals(2, result.getChanges().size());
+        assertEquals(2, result.getHighWaterMark());
+        assertTrue(result.isHasMore());
+    }
+
+    @Test
+    @DisplayName("getChanges() - Không có thay đổi → high-water mark giữ nguyên")
+    void getChanges_NoChanges_KeepsHighWaterMark() {
+        when(productChangeRepository.findBySeqGreaterThanOrderBySeqAsc(eq(5L), any()))
+                .thenReturn(List.of());
+
+        ProductChangesDTO result = productChangeService.getChanges(5, 100);
+
+        assertTrue(result.getChanges().isEmpty());
+        assertEquals(5, result.getHighWaterMark());
+    }
+
+    @Test
+    @DisplayName("getChanges() - Sản phẩm đã bị xóa sau khi ghi change → coi như tombstone")
+    void getChanges_ProductMissing_ReportedAsDeleted() {
+        UUID productId = UUID.randomUUID();
+        when(productChangeRepository.findBySeqGreaterThanOrderBySeqAsc(anyLong(), any()))
+                .thenReturn(List.of(change(3, productId, ChangeType.UPDATED)));
+        when(productRepository.findRowsByIdIn(any())).thenReturn(List.of());
+
+        ProductChangesDTO result = productChangeService.getChanges(0, 100);
+
+        assertEquals(ChangeType.DELETED, result.getChanges().get(0).getChangeType());
+    }
+}
@@ -0,0 +1,97 @@
+package com.ktpm.backend.service;
+
+import com.ktpm.backend.dto.CategoryFacetDTO;
+import com.ktpm.backend.dto.ProductRowDTO;
+import com.ktpm.backend.entity.enums.Category;
+import com.ktpm.backend.entity.enums.ChangeType;
+import com.ktpm.backend.event.ProductChangedEvent;
+import com.ktpm.backend.repository.ProductRepository;
+import com.ktpm.backend.utils.ChangeSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductFacetService - Dựng lại facet không đếm trùng Tests")
+class ProductFacetServiceTest {
+
+    @Mock
+    private ProductChangeService productChangeService;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private CatalogueSnapshotService catalogue;
+    private ProductFacetService productFacetService;
+    private UUID existingId;
+
+    @BeforeEach
+    void setUp() {
+        catalogue = new CatalogueSnapshotService(productChangeService);
+        productFacetService = new ProductFacetService(catalogue, productRepository);
+        existingId = UUID.randomUUID();
+    }
+
+    private ProductRowDTO row(UUID id, int price) {
+        return new ProductRowDTO(id, "Laptop", price, 1, null, Category.LAPTOPS);
+    }
+
+    private ProductChangedEvent created(long seq, UUID id, int price) {
+        return new ProductChangedEvent(seq, ChangeType.CREATED, id, row(id, price), null);
+    }
+
+    private CategoryFacetDTO laptops() {
+        return productFacetService.getFacets().get(Category.LAPTOPS.ordinal());
+    }
+
+    @Test
+    @DisplayName("rebuild() - Event nhận trong lúc đọc snapshot: đã có trong snapshot thì bỏ qua, chưa có thì áp lên facet mới")
+    @SuppressWarnings("unchecked")
+    void rebuild_EventsDuringLoad_AppliedOnce() {
+        UUID inSnapshot = UUID.randomUUID();
+        UUID afterSnapshot = UUID.randomUUID();
+        when(productChangeService.exportSnapshot(any(Consumer.class))).thenAnswer(invocation -> {
+            Consumer<ProductRowDTO> consumer = invocation.getArgument(0);
+            consumer.accept(row(existingId, 100));
+            consumer.accept(row(inSnapshot, 200));
+            // listener của hai transaction chạy trong lúc đang đọc
+            catalogue.onProductChanged(created(11, inSnapshot, 200));
+            catalogue.onProductChanged(created(12, afterSnapshot, 300));
+            return new ChangeSnapshot(11);
+        });
+
+        catalogue.rebuild();
+
+        assertEquals(3, laptops().getCount());
+        assertEquals(100, laptops().getMinPrice());
+        assertEquals(300, laptops().getMaxPrice());
+    }
+
+    @Test
+    @DisplayName("onProductChanged() - Event đến muộn sau khi dựng xong nhưng đã nằm trong snapshot → bỏ qua")
+    @SuppressWarnings("unchecked")
+    void onProductChanged_AlreadyInSnapshot_Skipped() {
+        when(productChangeService.exportSnapshot(any(Consumer.class))).thenAnswer(invocation -> {
+            Consumer<ProductRowDTO> consumer = invocation.getArgument(0);
+            consumer.accept(row(existingId, 100));
+            return new ChangeSnapshot(7);
+        });
+        catalogue.rebuild();
+
+        catalogue.onProductChanged(created(7, existingId, 100));
+        catalogue.onProductChanged(created(8, UUID.randomUUID(), 400));
+
+        assertEquals(2, laptops().getCount());
+        assertEquals(400, laptops().getMaxPrice());
+    }
+}
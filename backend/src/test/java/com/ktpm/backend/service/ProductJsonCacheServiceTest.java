@@ -0,0 +1,82 @@
+package com.ktpm.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktpm.backend.dto.ProductRowDTO;
+import com.ktpm.backend.entity.Product;
+import com.ktpm.backend.entity.enums.ChangeType;
+import com.ktpm.backend.event.ProductChangedEvent;
+import com.ktpm.backend.exception.ProductNotFoundException;
+import com.ktpm.backend.utils.CachedJson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductJsonCacheService - Cache byte JSON Tests")
+class ProductJsonCacheServiceTest {
+
+    @Mock
+    private ProductService productService;
+
+    private ProductJsonCacheService productJsonCacheService;
+    private UUID id;
+
+    @BeforeEach
+    void setUp() {
+        productJsonCacheService = new ProductJsonCacheService(productService, new ObjectMapper(), 1 << 20);
+        id = UUID.randomUUID();
+    }
+
+    private Product product(String name) {
+        return Product.builder().id(id).productName(name).price(100).quantity(1).build();
+    }
+
+    @Test
+    @DisplayName("get() - Lần sau dùng lại đúng mảng byte đã serialize, không đọc lại sản phẩm")
+    void get_SecondCall_ReturnsCachedBytes() {
+        when(productService.getProduct(id)).thenReturn(Optional.of(product("Laptop")));
+
+        CachedJson first = productJsonCacheService.get(id);
+        CachedJson second = productJsonCacheService.get(id);
+
+        assertSame(first, second);
+        assertTrue(new String(first.getJson(), StandardCharsets.UTF_8).contains("\"productName\":\"Laptop\""));
+        verify(productService, times(1)).getProduct(id);
+    }
+
+    @Test
+    @DisplayName("onProductChanged() - Thay đổi commit → bỏ bản cũ, lần đọc sau serialize lại với ETag mới")
+    void onProductChanged_InvalidatesEntry() {
+        when(productService.getProduct(id))
+                .thenReturn(Optional.of(product("Laptop")))
+                .thenReturn(Optional.of(product("Laptop mới")));
+        CachedJson before = productJsonCacheService.get(id);
+
+        productJsonCacheService.onProductChanged(new ProductChangedEvent(1, ChangeType.UPDATED, id,
+                ProductRowDTO.from(product("Laptop mới")), null));
+        CachedJson after = productJsonCacheService.get(id);
+
+        assertNotEquals(before.getEtag(), after.getEtag());
+        assertTrue(new String(after.getJson(), StandardCharsets.UTF_8).contains("Laptop mới"));
+    }
+
+    @Test
+    @DisplayName("get() - Sản phẩm không tồn tại → ProductNotFoundException, không lưu gì vào cache")
+    void get_Missing_Throws() {
+        when(productService.getProduct(id)).thenThrow(new ProductNotFoundException("Không tìm thấy sản phẩm"));
+
+        assertThrows(ProductNotFoundException.class, () -> productJsonCacheService.get(id));
+        assertThrows(ProductNotFoundException.class, () -> productJsonCacheService.get(id));
+        verify(productService, times(2)).getProduct(id);
+    }
+}
@@ -0,0 +1,105 @@
+package com.ktpm.backend.service;
+
+import com.ktpm.backend.dto.ProductRankingDTO;
+import com.ktpm.backend.dto.ProductRowDTO;
+import com.ktpm.backend.entity.enums.Category;
+import com.ktpm.backend.entity.enums.ChangeType;
+import com.ktpm.backend.event.ProductChangedEvent;
+import com.ktpm.backend.utils.ChangeSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductRankingService - Bán chạy / sắp hết hàng Tests")
+class ProductRankingServiceTest {
+
+    @Mock
+    private ProductChangeService productChangeService;
+
+    private CatalogueSnapshotService catalogue;
+
+    private ProductRankingService productRankingService;
+    private UUID laptopId;
+    private UUID phoneId;
+    private UUID cameraId;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        catalogue = new CatalogueSnapshotService(productChangeService);
+        productRankingService = new ProductRankingService(catalogue, 10, 1024, 4);
+        laptopId = UUID.randomUUID();
+        phoneId = UUID.randomUUID();
+        cameraId = UUID.randomUUID();
+        doAnswer(invocation -> {
+            Consumer<ProductRowDTO> consumer = invocation.getArgument(0);
+            consumer.accept(row(laptopId, "Laptop Dell", 50));
+            consumer.accept(row(phoneId, "Điện thoại Samsung", 5));
+            consumer.accept(row(cameraId, "Máy ảnh Canon", 20));
+            return ChangeSnapshot.EMPTY;
+        }).when(productChangeService).exportSnapshot(any(Consumer.class));
+        catalogue.rebuild();
+    }
+
+    private ProductRowDTO row(UUID id, String productName, Integer quantity) {
+        return new ProductRowDTO(id, productName, 1000, quantity, "Mô tả", Category.LAPTOPS);
+    }
+
+    private ProductChangedEvent updated(long seq, UUID id, String productName, int before, int after) {
+        return new ProductChangedEvent(seq, ChangeType.UPDATED, id, row(id, productName, after), row(id, productName, before));
+    }
+
+    private List<String> names(List<ProductRankingDTO> rankings) {
+        return rankings.stream().map(ProductRankingDTO::getProductName).toList();
+    }
+
+    @Test
+    @DisplayName("getLowStock() - Build từ export, quantity tăng dần, không giữ description")
+    void getLowStock_AfterRebuild_OrdersByQuantity() {
+        List<ProductRankingDTO> lowStock = productRankingService.getLowStock(2);
+
+        assertEquals(List.of("Điện thoại Samsung", "Máy ảnh Canon"), names(lowStock));
+        assertEquals(5, lowStock.get(0).getQuantity());
+        assertTrue(productRankingService.getTopSellers(10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("onProductChanged() - Giảm quantity được tính là bán, cập nhật cả hai danh sách")
+    void onProductChanged_QuantityReduction_CountsAsSale() {
+        catalogue.onProductChanged(updated(1, laptopId, "Laptop Dell", 50, 2));
+        catalogue.onProductChanged(updated(2, cameraId, "Máy ảnh Canon", 20, 10));
+        catalogue.onProductChanged(updated(3, cameraId, "Máy ảnh Canon", 10, 30));
+
+        List<ProductRankingDTO> topSellers = productRankingService.getTopSellers(10);
+        assertEquals(List.of("Laptop Dell", "Máy ảnh Canon"), names(topSellers));
+        assertEquals(48, topSellers.get(0).getEstimatedSold());
+        assertEquals(10, topSellers.get(1).getEstimatedSold());
+        assertEquals(List.of("Laptop Dell", "Điện thoại Samsung", "Máy ảnh Canon"),
+                names(productRankingService.getLowStock(10)));
+    }
+
+    @Test
+    @DisplayName("onProductChanged() - Thêm/xóa sản phẩm có hiệu lực ngay, không cần build lại")
+    void onProductChanged_CreateAndDelete() {
+        UUID newId = UUID.randomUUID();
+        catalogue.onProductChanged(new ProductChangedEvent(1, ChangeType.CREATED, newId, row(newId, "Tai nghe Sony", 1), null));
+        catalogue.onProductChanged(updated(2, phoneId, "Điện thoại Samsung", 5, 4));
+        catalogue.onProductChanged(new ProductChangedEvent(3, ChangeType.DELETED, phoneId, null, row(phoneId, "Điện thoại Samsung", 4)));
+
+        assertEquals(List.of("Tai nghe Sony", "Máy ảnh Canon"), names(productRankingService.getLowStock(2)));
+        assertTrue(productRankingService.getTopSellers(10).isEmpty());
+        verify(productChangeService, times(1)).exportSnapshot(any());
+    }
+}
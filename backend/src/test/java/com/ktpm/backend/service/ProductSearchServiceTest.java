@@ -0,0 +1,49 @@
+package com.ktpm.backend.service;
+
+import com.ktpm.backend.dto.ProductRowDTO;
+import com.ktpm.backend.entity.enums.Category;
+import com.ktpm.backend.entity.enums.ChangeType;
+import com.ktpm.backend.event.ProductChangedEvent;
+import com.ktpm.backend.repository.ProductRepository;
+import com.ktpm.backend.utils.ChangeSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductSearchService - Chỉ mục tìm kiếm Tests")
+class ProductSearchServiceTest {
+
+    @Mock
+    private ProductChangeService productChangeService;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Test
+    @DisplayName("onProductChanged() - Quá nhiều doc đã xóa → dựng lại chỉ mục ở background, không compact trên thread commit")
+    @SuppressWarnings("unchecked")
+    void onProductChanged_ManyDeletes_RebuildsInBackground() {
+        CatalogueSnapshotService catalogue = new CatalogueSnapshotService(productChangeService);
+        new ProductSearchService(productRepository, catalogue);
+        when(productChangeService.exportSnapshot(any(Consumer.class))).thenReturn(new ChangeSnapshot(4000));
+
+        long seq = 0;
+        for (int i = 0; i < 2000; i++) {
+            UUID id = UUID.randomUUID();
+            ProductRowDTO row = new ProductRowDTO(id, "Ốp lưng " + i, 1000, 1, "Phụ kiện", Category.HEADPHONES);
+            catalogue.onProductChanged(new ProductChangedEvent(++seq, ChangeType.CREATED, id, row, null));
+            catalogue.onProductChanged(new ProductChangedEvent(++seq, ChangeType.DELETED, id, null, row));
+        }
+
+        verify(productChangeService, timeout(5000).times(1)).exportSnapshot(any());
+    }
+}
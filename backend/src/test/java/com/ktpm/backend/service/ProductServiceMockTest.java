@@ -1,7 +1,10 @@
 package com.ktpm.backend.service;
 
+import com.ktpm.backend.dto.ProductMultiGetDTO;
+import com.ktpm.backend.dto.ProductRowDTO;
 import com.ktpm.backend.entity.Product;
 import com.ktpm.backend.entity.enums.Category;
+import com.ktpm.backend.entity.enums.ChangeType;
 import com.ktpm.backend.repository.ProductRepository;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,9 +12,13 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,6 +30,9 @@ class ProductServiceMockTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductChangeService productChangeService;
+
     @InjectMocks
     private ProductService productService;
 
@@ -102,7 +112,7 @@ class ProductServiceMockTest {
         productService.deleteProduct(validId);
 
         verify(productRepository).findById(validId);
-        verify(productRepository).delete(any());
+        verify(productRepository).delete(any(Product.class));
         verifyNoMoreInteractions(productRepository);
     }
 
@@ -140,7 +150,63 @@ class ProductServiceMockTest {
 
         verify(productRepository).findById(validId);
         verify(productRepository, never()).save(any());
-        verify(productRepository, never()).delete(any());
+        verify(productRepository, never()).delete(any(Product.class));
         verifyNoMoreInteractions(productRepository);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("exportProducts → đọc từng dòng từ stream và đóng stream")
+    void exportProducts_StreamsRowsAndClosesStream() {
+        AtomicBoolean closed = new AtomicBoolean(false);
+        Stream<ProductRowDTO> rows = Stream.of(
+                new ProductRowDTO(UUID.randomUUID(), "Product 1", 100, 1, "Desc 1", Category.LAPTOPS),
+                new ProductRowDTO(UUID.randomUUID(), "Product 2", 200, 2, "Desc 2", Category.CAMERAS)
+        ).onClose(() -> closed.set(true));
+        when(productRepository.streamAllRows()).thenReturn(rows);
+
+        List<ProductRowDTO> exported = new ArrayList<>();
+        productService.exportProducts(exported::add);
+
+        assertEquals(2, exported.size());
+        assertEquals("Product 2", exported.get(1).getProductName());
+        assertTrue(closed.get());
+        verify(productRepository).streamAllRows();
+        verifyNoMoreInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("create/update/delete → ghi change log với đúng loại thay đổi và trạng thái trước khi ghi")
+    void writes_RecordChanges() {
+        Product existing = Product.builder().id(validId).productName("Old").build();
+        when(productRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+        when(productRepository.findById(validId)).thenReturn(Optional.of(existing));
+
+        productService.createProduct(Product.builder().id(validId).productName("New").build());
+        productService.updateProduct(validId, Product.builder().productName("Updated").build());
+        productService.deleteProduct(validId);
+
+        InOrder inOrder = inOrder(productChangeService);
+        inOrder.verify(productChangeService).record(eq(validId), eq(ChangeType.CREATED), any(), isNull());
+        inOrder.verify(productChangeService).record(eq(validId), eq(ChangeType.UPDATED),
+                argThat(row -> "Updated".equals(row.getProductName())), argThat(row -> "Old".equals(row.getProductName())));
+        inOrder.verify(productChangeService).record(eq(validId), eq(ChangeType.DELETED), isNull(),
+                argThat(row -> "Updated".equals(row.getProductName())));
+        verifyNoMoreInteractions(productChangeService);
+    }
+
+    @Test
+    @DisplayName("getProducts - Bỏ id trùng, giữ thứ tự yêu cầu, id không tồn tại vào missing")
+    void getProducts_KeepsRequestOrderAndReportsMissing() {
+        UUID otherId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        Product first = Product.builder().id(validId).productName("Laptop").build();
+        Product second = Product.builder().id(otherId).productName("Camera").build();
+        when(productRepository.findAllByIdOrdered(List.of(otherId, missingId, validId)))
+                .thenReturn(Arrays.asList(second, null, first));
+
+        ProductMultiGetDTO result = productService.getProducts(List.of(otherId, missingId, validId, otherId));
+
+        assertEquals(List.of(second, first), result.getProducts());
+        assertEquals(List.of(missingId), result.getMissing());
+    }
+}
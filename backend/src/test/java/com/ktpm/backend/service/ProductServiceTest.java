@@ -32,6 +32,9 @@ public class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductChangeService productChangeService;
+
     @InjectMocks
     private ProductService productService;
 
@@ -162,7 +165,7 @@ public class ProductServiceTest {
 
         assertThrows(ProductNotFoundException.class,
                 () -> productService.deleteProduct(invalidId));
-        verify(productRepository, never()).delete(any());
+        verify(productRepository, never()).delete(any(Product.class));
     }
 
     @Test
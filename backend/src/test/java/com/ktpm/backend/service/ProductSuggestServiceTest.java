@@ -0,0 +1,80 @@
+package com.ktpm.backend.service;
+
+import com.ktpm.backend.dto.ProductRowDTO;
+import com.ktpm.backend.dto.ProductSuggestionDTO;
+import com.ktpm.backend.entity.enums.Category;
+import com.ktpm.backend.entity.enums.ChangeType;
+import com.ktpm.backend.event.ProductChangedEvent;
+import com.ktpm.backend.utils.ChangeSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductSuggestService - Gợi ý sản phẩm Tests")
+class ProductSuggestServiceTest {
+
+    @Mock
+    private ProductChangeService productChangeService;
+
+    private CatalogueSnapshotService catalogue;
+
+    private ProductSuggestService productSuggestService;
+    private UUID sonyId;
+    private UUID samsungId;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        catalogue = new CatalogueSnapshotService(productChangeService);
+        productSuggestService = new ProductSuggestService(catalogue, 1024);
+        sonyId = UUID.randomUUID();
+        samsungId = UUID.randomUUID();
+        doAnswer(invocation -> {
+            Consumer<ProductRowDTO> consumer = invocation.getArgument(0);
+            consumer.accept(row(sonyId, "Tai nghe Sony", 5));
+            consumer.accept(row(samsungId, "Tai nghe Samsung", 20));
+            return ChangeSnapshot.EMPTY;
+        }).when(productChangeService).exportSnapshot(any(Consumer.class));
+        catalogue.rebuild();
+    }
+
+    private ProductRowDTO row(UUID id, String productName, int quantity) {
+        return new ProductRowDTO(id, productName, 1000, quantity, "Mô tả", Category.HEADPHONES);
+    }
+
+    private List<String> names(List<ProductSuggestionDTO> suggestions) {
+        return suggestions.stream().map(ProductSuggestionDTO::getProductName).toList();
+    }
+
+    @Test
+    @DisplayName("suggest() - Build từ export, sản phẩm tồn kho nhiều đứng trước")
+    void suggest_AfterRebuild_RanksByStock() {
+        assertEquals(List.of("Tai nghe Samsung", "Tai nghe Sony"), names(productSuggestService.suggest("tai", 10)));
+        assertTrue(productSuggestService.suggest("   ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("onProductChanged() - Thêm/sửa/xóa có hiệu lực ngay, không cần build lại")
+    void onProductChanged_AppliesUpdatesBeforeRebuild() {
+        UUID newId = UUID.randomUUID();
+        catalogue.onProductChanged(new ProductChangedEvent(1, ChangeType.CREATED, newId, row(newId, "Tai nghe JBL", 50), null));
+        catalogue.onProductChanged(new ProductChangedEvent(2, ChangeType.UPDATED, sonyId, row(sonyId, "Loa Sony", 5), row(sonyId, "Tai nghe Sony", 5)));
+        catalogue.onProductChanged(new ProductChangedEvent(3, ChangeType.DELETED, samsungId, null, row(samsungId, "Tai nghe Samsung", 20)));
+
+        assertEquals(List.of("Tai nghe JBL"), names(productSuggestService.suggest("tai nghe", 10)));
+        assertEquals(List.of("Loa Sony"), names(productSuggestService.suggest("sony", 10)));
+        verify(productChangeService, times(1)).exportSnapshot(any());
+    }
+}
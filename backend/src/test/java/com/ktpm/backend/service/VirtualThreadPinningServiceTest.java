@@ -0,0 +1,42 @@
+package com.ktpm.backend.service;
+
+import com.ktpm.backend.dto.PinningSiteDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("VirtualThreadPinningService - Gom event VirtualThreadPinned Tests")
+class VirtualThreadPinningServiceTest {
+
+    @Test
+    @DisplayName("record() - Gom theo site, sắp xếp theo tổng thời gian bị ghim")
+    void record_AggregatesBySite() {
+        VirtualThreadPinningService service = new VirtualThreadPinningService(false, 20);
+
+        assertTrue(service.record("com.ktpm.backend.service.AuthService.login:42", Duration.ofMillis(30)));
+        assertFalse(service.record("com.ktpm.backend.service.AuthService.login:42", Duration.ofMillis(50)));
+        assertTrue(service.record("org.postgresql.core.v3.QueryExecutorImpl.execute:330", Duration.ofMillis(25)));
+
+        List<PinningSiteDTO> sites = service.getSites();
+        assertEquals(2, sites.size());
+        assertEquals("com.ktpm.backend.service.AuthService.login:42", sites.get(0).getSite());
+        assertEquals(2, sites.get(0).getCount());
+        assertEquals(80.0, sites.get(0).getTotalMillis(), 0.001);
+        assertEquals(50.0, sites.get(0).getMaxMillis(), 0.001);
+    }
+
+    @Test
+    @DisplayName("onApplicationReady() - Không bật virtual thread thì không mở JFR stream")
+    void onApplicationReady_Disabled_NoRecording() {
+        VirtualThreadPinningService service = new VirtualThreadPinningService(false, 20);
+
+        service.onApplicationReady();
+        service.stop();
+
+        assertTrue(service.getSites().isEmpty());
+    }
+}
@@ -0,0 +1,71 @@
+package com.ktpm.backend.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Bulkhead Unit Tests")
+class BulkheadTest {
+
+    @Test
+    @DisplayName("tryAcquire() - Hết lượt và không cho chờ → từ chối ngay")
+    void tryAcquire_NoQueue_RejectsImmediately() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(1, 0, 5000);
+
+        assertTrue(bulkhead.tryAcquire());
+        long start = System.nanoTime();
+        assertFalse(bulkhead.tryAcquire());
+
+        assertTrue(System.nanoTime() - start < 1_000_000_000L);
+        assertEquals(1, bulkhead.getActive());
+        assertEquals(1, bulkhead.getRejected());
+        bulkhead.release();
+        assertEquals(0, bulkhead.getActive());
+    }
+
+    @Test
+    @DisplayName("tryAcquire() - Chờ quá maxWaitMillis → từ chối")
+    void tryAcquire_WaitTimeout_Rejects() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(1, 1, 50);
+        assertTrue(bulkhead.tryAcquire());
+
+        assertFalse(bulkhead.tryAcquire());
+
+        assertEquals(0, bulkhead.getWaiting());
+        assertEquals(1, bulkhead.getRejected());
+    }
+
+    @Test
+    @DisplayName("tryAcquire() - Request đang chờ được chạy khi có lượt trả lại, hàng đợi đầy thì từ chối")
+    void tryAcquire_QueuedRequest_RunsAfterRelease() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(1, 1, 5000);
+        assertTrue(bulkhead.tryAcquire());
+
+        AtomicBoolean queuedAcquired = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(1);
+        Thread queued = Thread.ofVirtual().start(() -> {
+            try {
+                queuedAcquired.set(bulkhead.tryAcquire());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        });
+        while (bulkhead.getWaiting() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertFalse(bulkhead.tryAcquire());
+        bulkhead.release();
+        done.await();
+        queued.join();
+
+        assertTrue(queuedAcquired.get());
+        assertEquals(1, bulkhead.getActive());
+        assertEquals(1, bulkhead.getRejected());
+    }
+}
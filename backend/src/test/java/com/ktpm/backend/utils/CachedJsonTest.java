@@ -0,0 +1,50 @@
+package com.ktpm.backend.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CachedJson Unit Tests")
+class CachedJsonTest {
+
+    @Test
+    @DisplayName("of() - Bản gzip giải nén ra đúng JSON, ETag yếu theo nội dung")
+    void of_GzipRoundTripsAndEtagIsStable() throws IOException {
+        byte[] json = ("{\"description\":\"" + "Laptop văn phòng ".repeat(20) + "\"}").getBytes(StandardCharsets.UTF_8);
+
+        CachedJson cached = CachedJson.of(json);
+
+        assertNotNull(cached.getGzip());
+        assertTrue(cached.getGzip().length < json.length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(cached.getGzip()))) {
+            assertArrayEquals(json, in.readAllBytes());
+        }
+        assertTrue(cached.getEtag().startsWith("W/\""));
+        assertEquals(cached.getEtag(), CachedJson.of(json.clone()).getEtag());
+    }
+
+    @Test
+    @DisplayName("of() - Body quá ngắn, nén không nhỏ hơn → không giữ bản gzip")
+    void of_TinyBody_NoGzip() {
+        CachedJson cached = CachedJson.of("{}".getBytes(StandardCharsets.UTF_8));
+
+        assertNull(cached.getGzip());
+        assertEquals(2, cached.weight());
+    }
+
+    @Test
+    @DisplayName("acceptsGzip() - Đọc Accept-Encoding, bỏ qua gzip;q=0")
+    void acceptsGzip_ParsesAcceptEncoding() {
+        assertTrue(CachedJson.acceptsGzip("gzip, deflate, br"));
+        assertTrue(CachedJson.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertFalse(CachedJson.acceptsGzip("gzip;q=0"));
+        assertFalse(CachedJson.acceptsGzip("deflate"));
+        assertFalse(CachedJson.acceptsGzip(null));
+    }
+}
@@ -0,0 +1,119 @@
+package com.ktpm.backend.utils;
+
+import com.ktpm.backend.dto.CategoryAggregateDTO;
+import com.ktpm.backend.dto.CategoryFacetDTO;
+import com.ktpm.backend.dto.ProductRowDTO;
+import com.ktpm.backend.entity.enums.Category;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CategoryFacets Unit Tests")
+class CategoryFacetsTest {
+
+    private ProductRowDTO row(int price, int quantity, Category category) {
+        return new ProductRowDTO(UUID.randomUUID(), "Product", price, quantity, "Desc", category);
+    }
+
+    private CategoryFacetDTO facet(CategoryFacets facets, Category category) {
+        return facets.toDTOs().get(category.ordinal());
+    }
+
+    @Test
+    @DisplayName("add() - Đếm, tổng tồn kho, min/max/avg giá theo category")
+    void add_AggregatesPerCategory() {
+        CategoryFacets facets = new CategoryFacets();
+        facets.add(row(300, 5, Category.LAPTOPS));
+        facets.add(row(100, 2, Category.LAPTOPS));
+        facets.add(row(200, 0, Category.LAPTOPS));
+        facets.add(row(999, 1, Category.CAMERAS));
+
+        CategoryFacetDTO laptops = facet(facets, Category.LAPTOPS);
+        assertEquals(3, laptops.getCount());
+        assertEquals(7, laptops.getTotalQuantity());
+        assertEquals(100, laptops.getMinPrice());
+        assertEquals(300, laptops.getMaxPrice());
+        assertEquals(200.0, laptops.getAvgPrice());
+        assertEquals(0, facet(facets, Category.HEADPHONES).getCount());
+        assertNull(facet(facets, Category.HEADPHONES).getMinPrice());
+    }
+
+    @Test
+    @DisplayName("remove() - Xóa sản phẩm đang giữ min/max thì min/max mới vẫn chính xác")
+    void remove_KeepsExactMinMax() {
+        CategoryFacets facets = new CategoryFacets();
+        ProductRowDTO cheapest = row(100, 1, Category.SMARTPHONE);
+        ProductRowDTO dearest = row(900, 1, Category.SMARTPHONE);
+        facets.add(cheapest);
+        facets.add(row(500, 1, Category.SMARTPHONE));
+        facets.add(row(500, 1, Category.SMARTPHONE));
+        facets.add(dearest);
+
+        facets.remove(cheapest);
+        facets.remove(dearest);
+
+        CategoryFacetDTO phones = facet(facets, Category.SMARTPHONE);
+        assertEquals(2, phones.getCount());
+        assertEquals(500, phones.getMinPrice());
+        assertEquals(500, phones.getMaxPrice());
+    }
+
+    @Test
+    @DisplayName("add()/remove() - Giá không theo thứ tự, min/max/avg vẫn đúng")
+    void addRemove_UnorderedPrices() {
+        CategoryFacets facets = new CategoryFacets();
+        for (int price : new int[]{50, 10, 40, 20, 30}) {
+            facets.add(row(price, 1, Category.HEADPHONES));
+        }
+        facets.remove(row(10, 1, Category.HEADPHONES));
+        facets.add(row(5, 1, Category.HEADPHONES));
+
+        CategoryFacetDTO headphones = facet(facets, Category.HEADPHONES);
+        assertEquals(5, headphones.getCount());
+        assertEquals(5, headphones.getMinPrice());
+        assertEquals(50, headphones.getMaxPrice());
+        assertEquals(29.0, headphones.getAvgPrice());
+    }
+
+    @Test
+    @DisplayName("add()/remove() - Nhiều mức giá (vượt dung lượng ban đầu), xóa hết một mức giá thì min/max dịch theo")
+    void addRemove_ManyPriceLevels() {
+        CategoryFacets facets = new CategoryFacets();
+        for (int price = 100; price >= 1; price--) {
+            facets.add(row(price * 10, 1, Category.CAMERAS));
+            facets.add(row(price * 10, 1, Category.CAMERAS));
+        }
+        facets.remove(row(10, 1, Category.CAMERAS));
+        assertEquals(10, facet(facets, Category.CAMERAS).getMinPrice());
+
+        facets.remove(row(10, 1, Category.CAMERAS));
+        facets.remove(row(1000, 1, Category.CAMERAS));
+        facets.remove(row(1000, 1, Category.CAMERAS));
+
+        CategoryFacetDTO cameras = facet(facets, Category.CAMERAS);
+        assertEquals(196, cameras.getCount());
+        assertEquals(20, cameras.getMinPrice());
+        assertEquals(990, cameras.getMaxPrice());
+    }
+
+    @Test
+    @DisplayName("matches() - So khớp với kết quả GROUP BY, phát hiện lệch")
+    void matches_ComparesWithDatabaseAggregates() {
+        CategoryFacets facets = new CategoryFacets();
+        facets.add(row(100, 2, Category.CAMERAS));
+        facets.add(row(300, 3, Category.CAMERAS));
+
+        assertTrue(facets.matches(List.of(aggregate(Category.CAMERAS, 2, 5, 400, 100, 300))));
+        assertFalse(facets.matches(List.of(aggregate(Category.CAMERAS, 2, 5, 400, 100, 350))));
+        assertFalse(facets.matches(List.of()));
+    }
+
+    private CategoryAggregateDTO aggregate(Category category, long count, long quantity,
+                                           long priceSum, Integer min, Integer max) {
+        return new CategoryAggregateDTO(category, count, quantity, priceSum, min, max);
+    }
+}
@@ -0,0 +1,26 @@
+package com.ktpm.backend.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ChangeSnapshot Unit Tests")
+class ChangeSnapshotTest {
+
+    @Test
+    @DisplayName("includes() - Tới high-water mark: đã có; sau high-water mark: chưa có")
+    void includes_UpToHighWaterMark() {
+        ChangeSnapshot snapshot = new ChangeSnapshot(100);
+
+        assertTrue(snapshot.includes(1));
+        assertTrue(snapshot.includes(100));
+        assertFalse(snapshot.includes(101));
+    }
+
+    @Test
+    @DisplayName("EMPTY - Không bỏ qua event nào")
+    void empty_IncludesNothing() {
+        assertFalse(ChangeSnapshot.EMPTY.includes(1));
+    }
+}
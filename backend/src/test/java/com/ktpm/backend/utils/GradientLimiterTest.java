@@ -0,0 +1,79 @@
+package com.ktpm.backend.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GradientLimiter Unit Tests")
+class GradientLimiterTest {
+
+    private static final long WINDOW = 100_000_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private GradientLimiter limiter(int initialLimit) {
+        return new GradientLimiter(initialLimit, 2, 100, 2.0, 1.0, WINDOW, clock::get);
+    }
+
+    // concurrency request chạy song song rồi cùng xong sau rttMillis, hết một cửa sổ
+    private void window(GradientLimiter limiter, int concurrency, long rttMillis) {
+        for (int i = 0; i < concurrency; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        clock.addAndGet(WINDOW);
+        for (int i = 0; i < concurrency; i++) {
+            limiter.onComplete(rttMillis * 1_000_000L);
+        }
+    }
+
+    @Test
+    @DisplayName("tryAcquire() - Vượt giới hạn → từ chối ngay, đếm số lần từ chối")
+    void tryAcquire_OverLimit_Rejects() {
+        GradientLimiter limiter = limiter(2);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(1, limiter.getRejected());
+        limiter.onDropped();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("onComplete() - Độ trễ ổn định khi dùng hết giới hạn → tăng giới hạn; độ trễ tăng vọt → giảm")
+    void onComplete_AdjustsLimitFromLatency() {
+        GradientLimiter limiter = limiter(10);
+
+        window(limiter, 10, 10);
+        assertEquals(13, limiter.getLimit());
+        assertEquals(10.0, limiter.getShortRttMillis(), 0.001);
+
+        window(limiter, 13, 100);
+        assertEquals(10, limiter.getLimit());
+        assertEquals(100.0, limiter.getShortRttMillis(), 0.001);
+        assertTrue(limiter.getLongRttMillis() < 20);
+    }
+
+    @Test
+    @DisplayName("onComplete() - Ít request (dưới nửa giới hạn) → giữ nguyên giới hạn")
+    void onComplete_AppLimited_KeepsLimit() {
+        GradientLimiter limiter = limiter(40);
+
+        window(limiter, 10, 10);
+        window(limiter, 10, 500);
+
+        assertEquals(40, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Constructor - Cấu hình sai → IllegalArgumentException")
+    void constructor_InvalidSettings_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new GradientLimiter(1, 2, 100, 2.0, 0.2, WINDOW, clock::get));
+        assertThrows(IllegalArgumentException.class, () -> new GradientLimiter(10, 2, 100, 0.5, 0.2, WINDOW, clock::get));
+    }
+}
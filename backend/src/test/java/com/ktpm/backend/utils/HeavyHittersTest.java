@@ -0,0 +1,98 @@
+package com.ktpm.backend.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HeavyHitters / CountMinSketch / IndexedMinHeap Unit Tests")
+class HeavyHittersTest {
+
+    private List<UUID> ids(List<IndexedMinHeap.Entry> entries) {
+        return entries.stream().map(IndexedMinHeap.Entry::getId).toList();
+    }
+
+    @Test
+    @DisplayName("IndexedMinHeap - Đổi priority/xóa giữa heap vẫn giữ đúng thứ tự")
+    void indexedMinHeap_UpdateAndRemove_KeepsOrder() {
+        IndexedMinHeap heap = new IndexedMinHeap();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            heap.set(id, 1000 - i);
+        }
+
+        heap.set(ids.get(0), 5);
+        heap.set(ids.get(99), 2000);
+        assertTrue(heap.remove(ids.get(98)));
+        assertFalse(heap.remove(UUID.randomUUID()));
+
+        assertEquals(99, heap.size());
+        assertEquals(ids.get(0), heap.peekId());
+        assertEquals(List.of(ids.get(0), ids.get(97), ids.get(96)), ids(heap.smallest(3)));
+        assertEquals(2000L, heap.priority(ids.get(99)));
+        assertNull(heap.priority(ids.get(98)));
+    }
+
+    @Test
+    @DisplayName("IndexedMinHeap.smallest() - Khớp với sắp xếp toàn bộ, không làm thay đổi heap")
+    void indexedMinHeap_Smallest_MatchesFullSort() {
+        IndexedMinHeap heap = new IndexedMinHeap();
+        Random random = new Random(7);
+        for (int i = 0; i < 1000; i++) {
+            heap.set(UUID.randomUUID(), random.nextInt(50));
+        }
+
+        List<Long> expected = heap.entries().stream().map(IndexedMinHeap.Entry::getPriority).sorted().limit(20).toList();
+        List<Long> actual = heap.smallest(20).stream().map(IndexedMinHeap.Entry::getPriority).toList();
+
+        assertEquals(expected, actual);
+        assertEquals(1000, heap.size());
+    }
+
+    @Test
+    @DisplayName("CountMinSketch - Ước lượng không thấp hơn số thật, sai số nhỏ")
+    void countMinSketch_NeverUnderestimates() {
+        CountMinSketch sketch = new CountMinSketch(1024, 5);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            sketch.add(id, i % 10 + 1);
+        }
+
+        for (int i = 0; i < ids.size(); i++) {
+            long estimate = sketch.estimate(ids.get(i));
+            assertTrue(estimate >= i % 10 + 1);
+            assertTrue(estimate <= i % 10 + 1 + sketch.getTotal() * Math.E / 1024);
+        }
+        assertEquals(0, new CountMinSketch(16, 2).estimate(ids.get(0)));
+    }
+
+    @Test
+    @DisplayName("HeavyHitters - Tìm đúng các sản phẩm bán nhiều nhất giữa nhiều sản phẩm bán lẻ tẻ")
+    void heavyHitters_FindsTopSellers() {
+        HeavyHitters heavyHitters = new HeavyHitters(10, 2048, 5);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        for (int round = 0; round < 50; round++) {
+            heavyHitters.add(first, 20);
+            heavyHitters.add(second, 10);
+            for (int i = 0; i < 100; i++) {
+                heavyHitters.add(UUID.randomUUID(), 1);
+            }
+        }
+
+        assertEquals(List.of(first, second), ids(heavyHitters.top(2)));
+        assertTrue(heavyHitters.estimate(first) >= 1000);
+
+        heavyHitters.remove(first);
+        assertEquals(second, heavyHitters.top(1).get(0).getId());
+    }
+}
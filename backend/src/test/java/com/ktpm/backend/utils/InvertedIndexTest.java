@@ -0,0 +1,117 @@
+package com.ktpm.backend.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InvertedIndex Unit Tests")
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+    private UUID phone;
+    private UUID laptop;
+    private UUID headphones;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        phone = UUID.randomUUID();
+        laptop = UUID.randomUUID();
+        headphones = UUID.randomUUID();
+        index.upsert(phone, "Điện thoại Samsung", "Màn hình lớn, pin trâu");
+        index.upsert(laptop, "Laptop Dell", "Laptop văn phòng, màn hình 15 inch");
+        index.upsert(headphones, "Tai nghe Sony", "Chống ồn, pin 30 giờ");
+    }
+
+    private List<UUID> ids(InvertedIndex.SearchResult result) {
+        return result.getHits().stream().map(InvertedIndex.Hit::getProductId).toList();
+    }
+
+    @Test
+    @DisplayName("tokenize() - Bỏ dấu tiếng Việt, chữ thường, bỏ entity HTML")
+    void tokenize_FoldsVietnameseDiacritics() {
+        assertEquals(List.of("dien", "thoai", "dd"), TextNormalizer.tokenize("ĐIỆN thoại, Đđ"));
+        assertEquals(List.of("iphone", "s", "pro"), TextNormalizer.tokenize("iPhone&#x27;s Pro"));
+    }
+
+    @Test
+    @DisplayName("search() - Tìm không dấu vẫn khớp tên có dấu")
+    void search_WithoutDiacritics_Matches() {
+        InvertedIndex.SearchResult result = index.search("dien thoai", 10);
+
+        assertEquals(List.of(phone), ids(result));
+        assertEquals(1, result.getTotal());
+    }
+
+    @Test
+    @DisplayName("search() - Khớp trong tên được xếp trên khớp trong mô tả")
+    void search_NameMatchRanksHigher() {
+        index.upsert(UUID.randomUUID(), "Sạc dự phòng", "Dùng cho laptop");
+
+        InvertedIndex.SearchResult result = index.search("laptop", 10);
+
+        assertEquals(2, result.getTotal());
+        assertEquals(laptop, result.getHits().get(0).getProductId());
+        assertTrue(result.getHits().get(0).getScore() > result.getHits().get(1).getScore());
+    }
+
+    @Test
+    @DisplayName("search() - Nhiều từ khóa: sản phẩm khớp nhiều từ hơn đứng đầu, limit cắt kết quả")
+    void search_MultipleTerms_RanksByBm25AndLimits() {
+        InvertedIndex.SearchResult result = index.search("màn hình pin", 1);
+
+        assertEquals(3, result.getTotal());
+        assertEquals(List.of(phone), ids(result));
+    }
+
+    @Test
+    @DisplayName("upsert()/remove() - Cập nhật thay nội dung cũ, xóa thì không còn khớp")
+    void upsertAndRemove_UpdateIndex() {
+        index.upsert(phone, "Máy tính bảng Samsung", "Màn hình lớn");
+        assertTrue(index.search("dien thoai", 10).getHits().isEmpty());
+        assertEquals(List.of(phone), ids(index.search("may tinh bang", 10)));
+
+        assertTrue(index.remove(phone));
+        assertEquals(0, index.search("samsung", 10).getTotal());
+        assertEquals(2, index.getDocumentCount());
+    }
+
+    @Test
+    @DisplayName("needsCompaction() - Nhiều doc đã xóa so với doc còn sống → cần dựng lại, kết quả tìm kiếm không đổi")
+    void needsCompaction_ManyDeletedDocs() {
+        assertFalse(index.needsCompaction());
+        for (int i = 0; i < 2000; i++) {
+            UUID id = UUID.randomUUID();
+            index.upsert(id, "Ốp lưng " + i, "Phụ kiện");
+            index.remove(id);
+        }
+
+        assertTrue(index.needsCompaction());
+        assertEquals(List.of(headphones), ids(index.search("tai nghe", 10)));
+        assertEquals(0, index.search("op lung", 10).getTotal());
+    }
+
+    @Test
+    @DisplayName("PostingList - Mã hóa varint giải mã đúng docId lớn")
+    void postingList_RoundTripsLargeDocIds() {
+        PostingList postingList = new PostingList();
+        int[] docIds = {0, 1, 130, 20_000, 3_000_000};
+        for (int docId : docIds) {
+            postingList.add(docId, docId % 7 + 1);
+        }
+
+        PostingList.Cursor cursor = postingList.cursor();
+        for (int docId : docIds) {
+            assertTrue(cursor.next());
+            assertEquals(docId, cursor.docId());
+            assertEquals(docId % 7 + 1, cursor.termFrequency());
+        }
+        assertFalse(cursor.next());
+        assertThrows(IllegalArgumentException.class, () -> postingList.add(5, 1));
+    }
+}
@@ -0,0 +1,60 @@
+package com.ktpm.backend.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ServerTiming Unit Tests")
+class ServerTimingTest {
+
+    @Test
+    @DisplayName("start() - Ngoài request (chưa begin() hoặc đã finish()) → Span.NOOP, không ghi nhận gì")
+    void start_NoRequest_ReturnsNoop() {
+        assertNull(ServerTiming.current());
+        assertSame(ServerTiming.Span.NOOP, ServerTiming.start(ServerTiming.Stage.DB));
+
+        ServerTiming timing = ServerTiming.begin();
+        assertSame(timing, ServerTiming.current());
+        timing.finish();
+
+        assertNull(ServerTiming.current());
+        assertSame(ServerTiming.Span.NOOP, ServerTiming.start(ServerTiming.Stage.DB));
+        assertEquals(0, timing.getCount(ServerTiming.Stage.DB));
+    }
+
+    @Test
+    @DisplayName("start() - Lồng nhau chỉ tính lượt ngoài cùng, header có số lần gọi db")
+    void start_Nested_CountsOutermostOnly() {
+        ServerTiming timing = ServerTiming.begin();
+
+        try (ServerTiming.Span outer = ServerTiming.start(ServerTiming.Stage.DB)) {
+            try (ServerTiming.Span inner = ServerTiming.start(ServerTiming.Stage.DB)) {
+                assertNotSame(ServerTiming.Span.NOOP, inner);
+            }
+        }
+        try (ServerTiming.Span jwt = ServerTiming.start(ServerTiming.Stage.JWT)) {
+            assertNotSame(ServerTiming.Span.NOOP, jwt);
+        }
+        long total = timing.finish();
+
+        assertEquals(1, timing.getCount(ServerTiming.Stage.DB));
+        assertEquals(1, timing.getCount(ServerTiming.Stage.JWT));
+        assertTrue(total >= timing.getNanos(ServerTiming.Stage.DB) + timing.getNanos(ServerTiming.Stage.JWT));
+        String header = timing.toHeader(total);
+        assertTrue(header.matches("jwt;dur=\\d+\\.\\d{3}, db;dur=\\d+\\.\\d{3};desc=\"1\", total;dur=\\d+\\.\\d{3}"), header);
+    }
+
+    @Test
+    @DisplayName("startPending()/finish() - Giai đoạn ser được đóng khi kết thúc request")
+    void startPending_ClosedByFinish() {
+        ServerTiming timing = ServerTiming.begin();
+
+        ServerTiming.startPending(ServerTiming.Stage.SERIALIZE);
+        ServerTiming.startPending(ServerTiming.Stage.SERIALIZE);
+        timing.finish();
+
+        assertEquals(1, timing.getCount(ServerTiming.Stage.SERIALIZE));
+        assertSame(ServerTiming.Span.NOOP, ServerTiming.start(ServerTiming.Stage.DB));
+    }
+}
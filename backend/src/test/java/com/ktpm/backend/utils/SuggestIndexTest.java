@@ -0,0 +1,87 @@
+package com.ktpm.backend.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SuggestIndex Unit Tests")
+class SuggestIndexTest {
+
+    private UUID headphones;
+    private UUID account;
+    private UUID phone;
+    private SuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        headphones = UUID.randomUUID();
+        account = UUID.randomUUID();
+        phone = UUID.randomUUID();
+        index = SuggestIndex.builder()
+                .add(headphones, "Tai nghe Sony", 5)
+                .add(account, "Tài khoản Premium", 50)
+                .add(phone, "Điện thoại Samsung", 10)
+                .build();
+    }
+
+    private List<UUID> suggest(SuggestIndex target, String prefix, int limit) {
+        return target.suggest(SuggestIndex.normalizePrefix(prefix), limit, id -> false).stream()
+                .map(SuggestIndex.Entry::getId)
+                .toList();
+    }
+
+    @Test
+    @DisplayName("suggest() - Khớp tiền tố không dấu, xếp theo điểm giảm dần")
+    void suggest_MatchesFoldedPrefixByScore() {
+        assertEquals(List.of(account, headphones), suggest(index, "ta", 10));
+        assertEquals(List.of(phone), suggest(index, "ĐIỆN TH", 10));
+    }
+
+    @Test
+    @DisplayName("suggest() - Khớp từ đầu của từ bất kỳ trong tên")
+    void suggest_MatchesWordStart() {
+        assertEquals(List.of(phone), suggest(index, "sam", 10));
+        assertEquals(List.of(headphones), suggest(index, "nghe so", 10));
+        assertTrue(suggest(index, "amsung", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("suggest() - Dấu cách cuối chỉ khớp nguyên từ")
+    void suggest_TrailingSpaceMatchesWholeWord() {
+        assertEquals(List.of(account, headphones), suggest(index, "tai ", 10));
+        assertEquals(List.of(headphones), suggest(index, "tai n", 10));
+        assertTrue(suggest(index, "tai  x", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("suggest() - Bỏ qua sản phẩm bị loại trừ và tôn trọng limit")
+    void suggest_ExcludesAndLimits() {
+        assertEquals(List.of(account), suggest(index, "ta", 1));
+        List<SuggestIndex.Entry> result = index.suggest("ta", 10, account::equals);
+        assertEquals(1, result.size());
+        assertEquals(headphones, result.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("suggest() - Nút lớn (top-K tính sẵn) cho cùng kết quả với quét trực tiếp")
+    void suggest_PrecomputedTopKMatchesScan() {
+        SuggestIndex.Builder builder = SuggestIndex.builder();
+        for (int i = 0; i < SuggestIndex.SCAN_LIMIT * 4; i++) {
+            builder.add(UUID.randomUUID(), "iPhone " + i, i);
+        }
+        UUID best = UUID.randomUUID();
+        builder.add(best, "iPad Pro", 100_000);
+        SuggestIndex large = builder.build();
+
+        List<SuggestIndex.Entry> result = large.suggest("ip", 3, id -> false);
+        assertEquals(best, result.get(0).getId());
+        assertEquals(SuggestIndex.SCAN_LIMIT * 4 - 1, result.get(1).getScore());
+        assertEquals(SuggestIndex.SCAN_LIMIT * 4 - 2, result.get(2).getScore());
+        assertEquals(List.of(best), suggest(large, "ipad", 10));
+    }
+}
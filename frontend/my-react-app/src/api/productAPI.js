@@ -35,3 +35,19 @@ export async function deleteProduct(id) {
     const res = await axiosClient.delete(`/products/${id}`);
     return res.data;
 }
+
+// Nhận thay đổi sản phẩm realtime qua SSE thay vì polling.
+// EventSource tự kết nối lại và gửi Last-Event-ID nên không bỏ lỡ thay đổi nào.
+export function subscribeProductChanges(onChange) {
+    if (typeof EventSource === "undefined") {
+        return () => {};
+    }
+    const source = new EventSource(`${axiosClient.defaults.baseURL}/products/stream`, {
+        withCredentials: true,
+    });
+    const handler = (event) => onChange(JSON.parse(event.data));
+    ["created", "updated", "deleted"].forEach((type) => source.addEventListener(type, handler));
+    // Server báo client bị tụt quá xa → tải lại toàn bộ
+    source.addEventListener("reset", () => onChange(null));
+    return () => source.close();
+}
@@ -1,6 +1,6 @@
-import { useEffect, useState } from "react";
+import { useEffect, useRef, useState } from "react";
 import { useNavigate } from "react-router-dom";
-import { getProducts, createProduct, updateProduct, deleteProduct } from "../../api/productAPI.js";
+import { getProducts, getProductById, createProduct, updateProduct, deleteProduct, subscribeProductChanges } from "../../api/productAPI.js";
 import { getCurrentUser, logout } from "../../api/authApi";
 import Form from "../../components/Forms/Forms.jsx";
 import Header from "../../components/Headers/Header.jsx";
@@ -28,13 +28,22 @@ export default function ProductManagementPage() {
 
     const navigate = useNavigate();
     // const isE2E = process.env.REACT_APP_E2E === "true";
-    const handleEdit = (p)=>{
+    // Danh sách không trả về description: lấy chi tiết sản phẩm trước khi xem/sửa
+    const fetchProductDetail = async (p) => {
+        try {
+            return await getProductById(p.id);
+        } catch (err) {
+            console.error("Failed to fetch product detail:", err);
+            return p;
+        }
+    };
+    const handleEdit = async (p)=>{
+        setCurrProduct(await fetchProductDetail(p));
         setEditing(true);
-        setCurrProduct(p);
 
     }
-    const handleCheck= (p)=>{
-        setCurrProduct(p);
+    const handleCheck= async (p)=>{
+        setCurrProduct(await fetchProductDetail(p));
         setDisplayBoard(true)
     }
     // Lấy danh sách sản phẩm từ API
@@ -63,6 +72,19 @@ export default function ProductManagementPage() {
         fetchUser();
     }, [page, limit, sortBy, sortDir]); // 🔹 load lại khi thay đổi
 
+    // 🔹 Nghe thay đổi từ server (SSE), gộp các event trong 500ms thành một lần tải lại
+    const refreshTimer = useRef(null);
+    useEffect(() => {
+        const unsubscribe = subscribeProductChanges(() => {
+            clearTimeout(refreshTimer.current);
+            refreshTimer.current = setTimeout(fetchProducts, 500);
+        });
+        return () => {
+            clearTimeout(refreshTimer.current);
+            if (unsubscribe) unsubscribe();
+        };
+    }, [page, limit, sortBy, sortDir]);
+
     const handleAdd = async (data) => {
         await createProduct(data);
         setShowForm(false);
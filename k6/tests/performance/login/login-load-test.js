@@ -36,6 +36,8 @@ export const options = {
         },
     },
 
+    summaryTrendStats: ['avg', 'min', 'med', 'max', 'p(90)', 'p(95)', 'p(99)'],
+
     thresholds: {
         'http_req_duration{scenario_name:load_100_users}': ['p(95)<1000'],
         'http_req_duration{scenario_name:load_500_users}': ['p(95)<2000'],
@@ -137,7 +139,12 @@ export function teardown(data) {
 }
 
 export function handleSummary(data) {
-    return {
+    const summary = {
         'stdout': textSummary(data, { indent: ' ', enableColors: true }),
     };
+    // SUMMARY_JSON=platform.json: lưu kết quả để so sánh giữa các lần chạy (vd platform vs virtual thread)
+    if (__ENV.SUMMARY_JSON) {
+        summary[__ENV.SUMMARY_JSON] = JSON.stringify(data, null, 2);
+    }
+    return summary;
 }
\ No newline at end of file
@@ -4,6 +4,10 @@ import {Counter, Gauge, Rate, Trend} from 'k6/metrics';
 import {textSummary} from "https://jslib.k6.io/k6-summary/0.0.1/index.js";
 
 const totalRequests = new Counter('total_requests');
+// goodput: số login thành công (rate = login/s); shed: tỉ lệ bị AdaptiveConcurrencyFilter trả 503 ngay
+const successfulLogins = new Counter('successful_logins');
+const shedRate = new Rate('shed');
+const successfulLoginTime = new Trend('successful_login_duration', true);
 
 export const options = {
     scenarios: {
@@ -23,8 +27,11 @@ export const options = {
         },
     },
 
+    summaryTrendStats: ['avg', 'min', 'med', 'max', 'p(90)', 'p(95)', 'p(99)'],
+
     thresholds: {
         'http_req_duration{scenario_name:stress_test}': ['p(95)<5000'],
+        'successful_login_duration': ['p(95)<2000'],
         'http_req_failed{scenario_name:stress_test}': ['rate<0.05'],
         'http_req_waiting{scenario_name:stress_test}': ['p(95)<4000'],
         'total_requests': ['count>0'],
@@ -89,6 +96,11 @@ export default function (data) {
     totalRequests.add(1);
 
     const success = response.status === 200;
+    shedRate.add(response.status === 503);
+    if (success) {
+        successfulLogins.add(1);
+        successfulLoginTime.add(response.timings.duration);
+    }
 
     if (!success) {
         if (duration > 10000) {
@@ -114,7 +126,11 @@ export function teardown(data) {
 }
 
 export function handleSummary(data) {
-    return {
+    const summary = {
         'stdout': textSummary(data, { indent: ' ', enableColors: true }),
     };
+    if (__ENV.SUMMARY_JSON) {
+        summary[__ENV.SUMMARY_JSON] = JSON.stringify(data, null, 2);
+    }
+    return summary;
 }
\ No newline at end of file
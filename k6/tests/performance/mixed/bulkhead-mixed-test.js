@@ -0,0 +1,130 @@
+import http from 'k6/http';
+import {check, sleep} from 'k6';
+import {Rate} from 'k6/metrics';
+import {textSummary} from "https://jslib.k6.io/k6-summary/0.0.1/index.js";
+
+// Phút đầu: chỉ có đọc sản phẩm (baseline). Phút sau: cùng lượng đọc đó nhưng có login storm (BCrypt)
+// và ghi sản phẩm chạy song song. Nhờ bulkhead, p95 của lane đọc không được tăng đáng kể so với baseline;
+// lane auth được phép trả 503 cho phần vượt giới hạn
+const authRejected = new Rate('auth_rejected');
+
+const READ_VUS = 50;
+
+export const options = {
+    scenarios: {
+        reads_baseline: {
+            executor: 'constant-vus',
+            exec: 'readProducts',
+            vus: READ_VUS,
+            duration: '1m',
+            startTime: '0s',
+        },
+        reads_under_storm: {
+            executor: 'constant-vus',
+            exec: 'readProducts',
+            vus: READ_VUS,
+            duration: '1m',
+            startTime: '1m',
+        },
+        login_storm: {
+            executor: 'constant-vus',
+            exec: 'loginStorm',
+            vus: 300,
+            duration: '1m',
+            startTime: '1m',
+        },
+        writes: {
+            executor: 'constant-vus',
+            exec: 'writeProducts',
+            vus: 20,
+            duration: '1m',
+            startTime: '1m',
+        },
+    },
+
+    summaryTrendStats: ['avg', 'min', 'med', 'max', 'p(90)', 'p(95)', 'p(99)'],
+
+    thresholds: {
+        'http_req_duration{scenario:reads_baseline}': ['p(95)<500'],
+        'http_req_duration{scenario:reads_under_storm}': ['p(95)<500'],
+        'http_req_failed{scenario:reads_under_storm}': ['rate<0.01'],
+        'checks{scenario:reads_under_storm}': ['rate>0.99'],
+    },
+};
+
+const BASE_URL = 'http://localhost:8080';
+const USER = { username: 'bulkhead1', password: 'bulkhead1' };
+const categories = ['SMARTPHONE', 'LAPTOPS', 'HEADPHONES', 'CAMERAS'];
+// 503 từ bulkhead là kết quả mong đợi của login storm, không tính là lỗi
+const loginResponses = http.expectedStatuses({ min: 200, max: 299 }, 503);
+
+export function setup() {
+    const jsonHeaders = { headers: { 'Content-Type': 'application/json' }, timeout: '30s' };
+    http.post(`${BASE_URL}/api/auth/register`,
+        JSON.stringify({ ...USER, verifyPassword: USER.password }), jsonHeaders);
+    const res = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify(USER), jsonHeaders);
+    const token = res.cookies.token && res.cookies.token.length > 0 ? res.cookies.token[0].value : null;
+    if (!token) {
+        throw new Error('Không đăng nhập được để lấy token');
+    }
+    return { token };
+}
+
+function authHeaders(token) {
+    return {
+        'Content-Type': 'application/json',
+        'Cookie': `token=${token}`
+    };
+}
+
+export function readProducts(data) {
+    const page = Math.floor(Math.random() * 5);
+    const res = http.get(`${BASE_URL}/api/products?page=${page}&limit=20`, { headers: authHeaders(data.token) });
+    check(res, { 'read 200': (r) => r.status === 200 });
+    sleep(0.2);
+}
+
+export function loginStorm() {
+    const res = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify(USER), {
+        headers: { 'Content-Type': 'application/json' },
+        responseCallback: loginResponses,
+        timeout: '30s',
+    });
+    authRejected.add(res.status === 503);
+}
+
+export function writeProducts(data) {
+    const random = Math.floor(Math.random() * 100000);
+    const product = {
+        productName: `Bulkhead Product ${random}`,
+        price: Math.floor(Math.random() * 10000) + 100,
+        quantity: Math.floor(Math.random() * 100) + 1,
+        description: `Description for product ${random}`,
+        category: categories[Math.floor(Math.random() * categories.length)]
+    };
+    const headers = { headers: authHeaders(data.token) };
+    const created = http.post(`${BASE_URL}/api/products`, JSON.stringify(product), headers);
+    if (created.status === 200) {
+        http.del(`${BASE_URL}/api/products/${created.json('id')}`, null, headers);
+    }
+    sleep(0.5);
+}
+
+export function handleSummary(data) {
+    const baseline = data.metrics['http_req_duration{scenario:reads_baseline}'];
+    const storm = data.metrics['http_req_duration{scenario:reads_under_storm}'];
+    let comparison = '';
+    if (baseline && storm) {
+        const before = baseline.values['p(95)'];
+        const after = storm.values['p(95)'];
+        comparison = `\nRead p95: baseline ${before.toFixed(1)} ms, dưới login storm ${after.toFixed(1)} ms `
+            + `(x${(after / before).toFixed(2)})\n`;
+    }
+    const summary = {
+        'stdout': textSummary(data, { indent: ' ', enableColors: true }) + comparison,
+    };
+    if (__ENV.SUMMARY_JSON) {
+        summary[__ENV.SUMMARY_JSON] = JSON.stringify(data, null, 2);
+    }
+    return summary;
+}
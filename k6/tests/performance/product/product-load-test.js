@@ -8,6 +8,13 @@ const productCreationTime = new Trend('product_creation_duration');
 const productUpdateTime = new Trend('product_update_duration');
 const productDeleteTime = new Trend('product_delete_duration');
 const productGetTime = new Trend('product_get_duration');
+// Tách theo giai đoạn từ header Server-Timing (backend chạy với SERVER_TIMING=true)
+const serverTimings = {
+    jwt: new Trend('server_timing_jwt'),
+    bcrypt: new Trend('server_timing_bcrypt'),
+    db: new Trend('server_timing_db'),
+    ser: new Trend('server_timing_ser'),
+};
 
 export const options = {
     stages: [
@@ -19,6 +26,8 @@ export const options = {
         { duration: '30s', target: 1000 },
         { duration: '30s', target: 0 },
     ],
+    summaryTrendStats: ['avg', 'min', 'med', 'max', 'p(90)', 'p(95)', 'p(99)'],
+
     thresholds: {
         http_req_duration: ['p(95)<1000'],
         http_req_waiting: ['p(95)<900'],
@@ -70,6 +79,7 @@ function login() {
     };
 
     const loginRes = http.post(`${BASE_URL}/api/auth/login`, loginPayload, params);
+    recordServerTiming(loginRes);
 
     if (loginRes.status === 200) {
         const cookies = loginRes.cookies;
@@ -81,6 +91,21 @@ function login() {
     return null;
 }
 
+// "jwt;dur=0.210, db;dur=3.400;desc=\"2\", total;dur=5.100"
+function recordServerTiming(res) {
+    const header = res.headers['Server-Timing'];
+    if (!header) {
+        return;
+    }
+    for (const metric of header.split(',')) {
+        const [name, ...params] = metric.trim().split(';');
+        const duration = params.find(param => param.startsWith('dur='));
+        if (serverTimings[name] && duration) {
+            serverTimings[name].add(parseFloat(duration.substring(4)));
+        }
+    }
+}
+
 function getAuthHeaders(token) {
     return {
         'Content-Type': 'application/json',
@@ -116,6 +141,7 @@ export default function(data) {
             errorRate.add(1);
         }
 
+        recordServerTiming(res);
         productGetTime.add(res.timings.duration);
     });
 
@@ -147,6 +173,7 @@ export default function(data) {
             }
         }
 
+        recordServerTiming(res);
         productCreationTime.add(res.timings.duration);
     });
 
@@ -165,6 +192,7 @@ export default function(data) {
                 errorRate.add(1);
             }
 
+            recordServerTiming(res);
             productGetTime.add(res.timings.duration);
         });
 
@@ -186,6 +214,7 @@ export default function(data) {
                 errorRate.add(1);
             }
 
+            recordServerTiming(res);
             productUpdateTime.add(res.timings.duration);
         });
 
@@ -204,6 +233,7 @@ export default function(data) {
                 errorRate.add(1);
             }
 
+            recordServerTiming(res);
             productDeleteTime.add(res.timings.duration);
         });
     }
@@ -212,7 +242,12 @@ export default function(data) {
 }
 
 export function handleSummary(data) {
-    return {
+    const summary = {
         'stdout': textSummary(data, { indent: ' ', enableColors: true }),
     };
+    // SUMMARY_JSON=platform.json: lưu kết quả để so sánh giữa các lần chạy (vd platform vs virtual thread)
+    if (__ENV.SUMMARY_JSON) {
+        summary[__ENV.SUMMARY_JSON] = JSON.stringify(data, null, 2);
+    }
+    return summary;
 }
\ No newline at end of file